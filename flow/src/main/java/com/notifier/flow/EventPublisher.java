@@ -0,0 +1,332 @@
+package com.notifier.flow;
+
+import com.notifier.Event;
+import com.notifier.EventController;
+import com.notifier.Listener;
+import com.notifier.PooledEvent;
+import com.notifier.RegisteredListener;
+import com.notifier.Subscribe;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *     A {@link Flow.Publisher} of the events of one type fired to an {@link EventController}.
+ *     Each {@link Flow.Subscriber} receives events through a listener of its own, which is registered
+ *     when it subscribes, and unregistered when it cancels.
+ * </p>
+ * <p>
+ *     Events are delivered according to the demand of each subscriber. Events fired while there is no demand
+ *     are buffered, up to the given buffer size, after which the {@link OverflowStrategy} decides which are
+ *     lost. Firing never waits for subscribers, and subscribers are called from the dispatching threads of the
+ *     controller, one at a time.
+ * </p>
+ * <p>
+ *     Subscriptions never complete, unless the publisher is {@link #close() closed}. Buffered
+ *     {@link PooledEvent}s are retained until delivered or dropped, so subscribers which keep events after
+ *     <code>onNext</code> returns must retain them.
+ * </p>
+ */
+public class EventPublisher<E extends Event> implements Flow.Publisher<E>, AutoCloseable {
+
+    private final Class<E> mEventType;
+    private final Function<Consumer<E>, RegisteredListener> mRegistration;
+    private final int mBufferSize;
+    private final OverflowStrategy mOverflowStrategy;
+    private final Set<EventSubscription> mSubscriptions;
+    private final LongAdder mDroppedCount;
+
+    private volatile boolean mClosed;
+
+    private EventPublisher(Class<E> eventType, Function<Consumer<E>, RegisteredListener> registration,
+                           int bufferSize, OverflowStrategy overflowStrategy) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("buffer size must be positive");
+        }
+
+        mEventType = eventType;
+        mRegistration = registration;
+        mBufferSize = bufferSize;
+        mOverflowStrategy = Objects.requireNonNull(overflowStrategy, "overflowStrategy");
+        mSubscriptions = new CopyOnWriteArraySet<>();
+        mDroppedCount = new LongAdder();
+        mClosed = false;
+    }
+
+    /**
+     * Creates a publisher of events fired to subscribers, with {@link EventController#fire(Event, Class)}.
+     */
+    public EventPublisher(EventController controller, Class<E> eventType, int bufferSize, OverflowStrategy overflowStrategy) {
+        this(eventType,
+                (consumer)-> controller.registerSubscriber(new ForwardingSubscriber<>(eventType, consumer)),
+                bufferSize, overflowStrategy);
+    }
+
+    /**
+     * Creates a publisher of events fired to listeners, with
+     * {@link EventController#fire(Event, Class, Class, java.util.function.BiConsumer)}.
+     *
+     * @param listenerFactory creates a listener of the fired listener type, which passes the events it
+     *                        receives to the given consumer. For example,
+     *                        <code>(consumer) -&gt; (PriceListener) consumer::accept</code>.
+     */
+    public EventPublisher(EventController controller, Class<E> eventType,
+                          Function<? super Consumer<E>, ? extends Listener> listenerFactory,
+                          int bufferSize, OverflowStrategy overflowStrategy) {
+        this(eventType,
+                (consumer)-> controller.registerListenerForEvent(listenerFactory.apply(consumer), eventType),
+                bufferSize, overflowStrategy);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super E> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+
+        EventSubscription subscription = new EventSubscription(subscriber);
+        mSubscriptions.add(subscription);
+        subscription.mRegisteredListener = mRegistration.apply(subscription::onEvent);
+
+        subscriber.onSubscribe(subscription);
+        if (mClosed) {
+            subscription.complete();
+        }
+        subscription.start();
+    }
+
+    /**
+     * @return amount of events which were lost by all subscribers, because their buffers were full.
+     */
+    public long getDroppedCount() {
+        return mDroppedCount.sum();
+    }
+
+    /**
+     * @return amount of active subscriptions.
+     */
+    public int getSubscriberCount() {
+        return mSubscriptions.size();
+    }
+
+    /**
+     * Completes all subscriptions, once their buffered events are delivered.
+     */
+    @Override
+    public void close() {
+        mClosed = true;
+        for (EventSubscription subscription : mSubscriptions) {
+            subscription.complete();
+        }
+    }
+
+    private class EventSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super E> mSubscriber;
+        private final Queue<E> mBuffer;
+        private final AtomicInteger mDrainers;
+
+        private volatile RegisteredListener mRegisteredListener;
+        private long mRequested;
+        private boolean mCompleting;
+        private Throwable mError;
+        private boolean mTerminated;
+
+        private EventSubscription(Flow.Subscriber<? super E> subscriber) {
+            mSubscriber = subscriber;
+            mBuffer = new ArrayDeque<>();
+            // held until the subscriber was given the subscription, so it is not signalled before
+            mDrainers = new AtomicInteger(1);
+            mRequested = 0;
+            mCompleting = false;
+            mError = null;
+            mTerminated = false;
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (mTerminated || mCompleting && mError != null) {
+                    return;
+                }
+
+                if (n <= 0) {
+                    mError = new IllegalArgumentException("requested amount must be positive: " + n);
+                    mCompleting = true;
+                    clearBuffer();
+                } else {
+                    mRequested = mRequested + n < 0 ? Long.MAX_VALUE : mRequested + n;
+                }
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                mTerminated = true;
+                clearBuffer();
+            }
+
+            terminate();
+        }
+
+        void onEvent(E event) {
+            synchronized (this) {
+                if (mTerminated || mCompleting) {
+                    return;
+                }
+
+                if (mBuffer.size() >= mBufferSize) {
+                    switch (mOverflowStrategy) {
+                        case DROP_NEWEST:
+                            mDroppedCount.increment();
+                            return;
+                        case DROP_OLDEST:
+                            PooledEvent.releaseIfPooled(mBuffer.poll());
+                            mDroppedCount.increment();
+                            break;
+                        case FAIL:
+                            mDroppedCount.add(mBuffer.size() + 1);
+                            clearBuffer();
+                            mError = new IllegalStateException("subscriber buffer overflow, " + mBufferSize + " events");
+                            mCompleting = true;
+                            break;
+                    }
+                }
+
+                if (!mCompleting) {
+                    // buffered events outlive the listener call, pooled events are released once delivered
+                    PooledEvent.retainIfPooled(event);
+                    mBuffer.add(event);
+                }
+            }
+
+            drain();
+        }
+
+        void complete() {
+            synchronized (this) {
+                mCompleting = true;
+            }
+
+            drain();
+        }
+
+        private void drain() {
+            // only one thread delivers at a time, others leave their work to it
+            if (mDrainers.getAndIncrement() != 0) {
+                return;
+            }
+
+            drainLoop();
+        }
+
+        void start() {
+            drainLoop();
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            do {
+                while (deliverNext()) {
+                    // keep delivering while there is demand
+                }
+
+                missed = mDrainers.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private boolean deliverNext() {
+            E event = null;
+            Throwable error = null;
+            boolean complete = false;
+
+            synchronized (this) {
+                if (mTerminated) {
+                    return false;
+                }
+
+                if (mError != null) {
+                    error = mError;
+                    mTerminated = true;
+                } else if (mRequested > 0 && !mBuffer.isEmpty()) {
+                    event = mBuffer.poll();
+                    if (mRequested != Long.MAX_VALUE) {
+                        mRequested--;
+                    }
+                } else if (mCompleting && mBuffer.isEmpty()) {
+                    complete = true;
+                    mTerminated = true;
+                } else {
+                    return false;
+                }
+            }
+
+            if (event != null) {
+                try {
+                    mSubscriber.onNext(event);
+                } catch (RuntimeException e) {
+                    // subscribers must not throw, consider it cancelled
+                    cancel();
+                    return false;
+                } finally {
+                    PooledEvent.releaseIfPooled(event);
+                }
+                return true;
+            }
+
+            terminate();
+            if (error != null) {
+                mSubscriber.onError(error);
+            } else if (complete) {
+                mSubscriber.onComplete();
+            }
+
+            return false;
+        }
+
+        private void clearBuffer() {
+            // lock must be held
+            E event;
+            while ((event = mBuffer.poll()) != null) {
+                PooledEvent.releaseIfPooled(event);
+            }
+        }
+
+        private void terminate() {
+            mSubscriptions.remove(this);
+
+            RegisteredListener registeredListener = mRegisteredListener;
+            if (registeredListener != null) {
+                registeredListener.unregister();
+            }
+        }
+    }
+
+    static class ForwardingSubscriber<E extends Event> implements Listener {
+
+        private final Class<E> mEventType;
+        private final Consumer<E> mConsumer;
+
+        ForwardingSubscriber(Class<E> eventType, Consumer<E> consumer) {
+            mEventType = eventType;
+            mConsumer = consumer;
+        }
+
+        @Subscribe
+        public void onEvent(Event event) {
+            if (mEventType.isInstance(event)) {
+                mConsumer.accept(mEventType.cast(event));
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.notifier.flow;
+
+import com.notifier.Event;
+import com.notifier.EventController;
+import com.notifier.Listener;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ *     A {@link Flow.Subscriber} which fires the events it receives to an {@link EventController}.
+ * </p>
+ * <p>
+ *     Events are requested in batches, and more are requested as the batch is fired. As firing returns
+ *     once the controller has dispatched the event, the rate of the publisher is bound by the dispatcher
+ *     of the controller: synchronous dispatchers request more only after the listeners were called, while
+ *     queued dispatchers request more once the event was queued.
+ * </p>
+ */
+public class FiringSubscriber<E extends Event> implements Flow.Subscriber<E> {
+
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final Consumer<E> mFire;
+    private final int mBatchSize;
+    private final int mReplenishThreshold;
+
+    private volatile Flow.Subscription mSubscription;
+    private int mReceivedInBatch;
+    private volatile boolean mDone;
+    private volatile Throwable mError;
+
+    private FiringSubscriber(Consumer<E> fire, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batch size must be positive");
+        }
+
+        mFire = fire;
+        mBatchSize = batchSize;
+        mReplenishThreshold = Math.max(1, batchSize - batchSize / 4);
+        mSubscription = null;
+        mReceivedInBatch = 0;
+        mDone = false;
+        mError = null;
+    }
+
+    /**
+     * Creates a subscriber which fires events to subscribers, with {@link EventController#fire(Event, Class)}.
+     */
+    public FiringSubscriber(EventController controller, Class<E> eventType, int batchSize) {
+        this((event)-> controller.fire(event, eventType), batchSize);
+    }
+
+    public FiringSubscriber(EventController controller, Class<E> eventType) {
+        this(controller, eventType, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a subscriber which fires events to listeners, with
+     * {@link EventController#fire(Event, Class, Class, BiConsumer)}.
+     */
+    public <L extends Listener> FiringSubscriber(EventController controller, Class<E> eventType,
+                                                 Class<L> listenerType, BiConsumer<L, E> listenerCall,
+                                                 int batchSize) {
+        this((event)-> controller.fire(event, eventType, listenerType, listenerCall), batchSize);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+
+        if (mSubscription != null || mDone) {
+            // a subscriber may only be subscribed once
+            subscription.cancel();
+            return;
+        }
+
+        mSubscription = subscription;
+        subscription.request(mBatchSize);
+    }
+
+    @Override
+    public void onNext(E item) {
+        Objects.requireNonNull(item, "item");
+        if (mDone) {
+            return;
+        }
+
+        try {
+            mFire.accept(item);
+        } catch (RuntimeException e) {
+            // onNext must not throw, the failure ends the subscription instead
+            mError = e;
+            cancel();
+            return;
+        }
+
+        // replenish before the batch runs out, so the publisher does not stall waiting for demand
+        if (++mReceivedInBatch == mReplenishThreshold) {
+            mReceivedInBatch = 0;
+            mSubscription.request(mReplenishThreshold);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable, "throwable");
+        if (mError == null) {
+            mError = throwable;
+        }
+        mDone = true;
+    }
+
+    @Override
+    public void onComplete() {
+        mDone = true;
+    }
+
+    /**
+     * Stops firing, and cancels the subscription.
+     */
+    public void cancel() {
+        mDone = true;
+
+        Flow.Subscription subscription = mSubscription;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * @return whether the publisher completed or failed, or the subscription was cancelled.
+     */
+    public boolean isDone() {
+        return mDone;
+    }
+
+    /**
+     * @return the error signalled by the publisher, or thrown by firing, or <code>null</code> if none.
+     */
+    public Throwable getError() {
+        return mError;
+    }
+}
@@ -0,0 +1,20 @@
+package com.notifier.flow;
+
+/**
+ * What an {@link EventPublisher} does with an event for a subscriber whose buffer is full, because it
+ * has not requested events fast enough.
+ */
+public enum OverflowStrategy {
+    /**
+     * The new event is dropped.
+     */
+    DROP_NEWEST,
+    /**
+     * The oldest buffered event is dropped, to make room for the new event.
+     */
+    DROP_OLDEST,
+    /**
+     * The subscription is cancelled, and the subscriber is signalled with an error.
+     */
+    FAIL
+}
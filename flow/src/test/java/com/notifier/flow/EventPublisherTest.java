@@ -0,0 +1,253 @@
+package com.notifier.flow;
+
+import com.notifier.Controllers;
+import com.notifier.Event;
+import com.notifier.EventController;
+import com.notifier.Listener;
+import com.notifier.PooledEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+public class EventPublisherTest {
+
+    @Test
+    public void subscribe_eventsFiredBeforeRequest_deliversOnlyRequested() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        EventPublisher<FakeEvent> publisher = new EventPublisher<>(controller, FakeEvent.class, 16, OverflowStrategy.DROP_NEWEST);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        fireAll(controller, 1, 2, 3);
+        assertThat(subscriber.mValues, empty());
+
+        subscriber.mSubscription.request(2);
+        assertThat(subscriber.mValues, contains(1, 2));
+
+        subscriber.mSubscription.request(5);
+        fireAll(controller, 4);
+        assertThat(subscriber.mValues, contains(1, 2, 3, 4));
+    }
+
+    @Test
+    public void subscribe_listenerFires_deliversEvents() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        EventPublisher<FakeEvent> publisher = new EventPublisher<>(controller, FakeEvent.class,
+                (consumer)-> (FakeListener) consumer::accept, 16, OverflowStrategy.DROP_NEWEST);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.mSubscription.request(Long.MAX_VALUE);
+
+        controller.fire(new FakeEvent(7), FakeEvent.class, FakeListener.class, FakeListener::onEvent);
+
+        assertThat(subscriber.mValues, contains(7));
+    }
+
+    @Test
+    public void onEvent_bufferFullDropNewest_keepsOldestEvents() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        EventPublisher<FakeEvent> publisher = new EventPublisher<>(controller, FakeEvent.class, 2, OverflowStrategy.DROP_NEWEST);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        fireAll(controller, 1, 2, 3, 4);
+        subscriber.mSubscription.request(10);
+
+        assertThat(subscriber.mValues, contains(1, 2));
+        assertThat(publisher.getDroppedCount(), equalTo(2L));
+    }
+
+    @Test
+    public void onEvent_bufferFullDropOldest_keepsNewestEvents() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        EventPublisher<FakeEvent> publisher = new EventPublisher<>(controller, FakeEvent.class, 2, OverflowStrategy.DROP_OLDEST);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        fireAll(controller, 1, 2, 3, 4);
+        subscriber.mSubscription.request(10);
+
+        assertThat(subscriber.mValues, contains(3, 4));
+    }
+
+    @Test
+    public void onEvent_bufferFullFail_signalsErrorAndUnregisters() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        EventPublisher<FakeEvent> publisher = new EventPublisher<>(controller, FakeEvent.class, 2, OverflowStrategy.FAIL);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        fireAll(controller, 1, 2, 3);
+
+        assertThat(subscriber.mError, instanceOf(IllegalStateException.class));
+        assertThat(publisher.getSubscriberCount(), equalTo(0));
+    }
+
+    @Test
+    public void cancel_afterSubscribe_stopsDelivery() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        EventPublisher<FakeEvent> publisher = new EventPublisher<>(controller, FakeEvent.class, 16, OverflowStrategy.DROP_NEWEST);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.mSubscription.request(10);
+
+        fireAll(controller, 1);
+        subscriber.mSubscription.cancel();
+        fireAll(controller, 2);
+
+        assertThat(subscriber.mValues, contains(1));
+        assertThat(publisher.getSubscriberCount(), equalTo(0));
+    }
+
+    @Test
+    public void request_nonPositive_signalsError() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        EventPublisher<FakeEvent> publisher = new EventPublisher<>(controller, FakeEvent.class, 16, OverflowStrategy.DROP_NEWEST);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        subscriber.mSubscription.request(0);
+
+        assertThat(subscriber.mError, instanceOf(IllegalArgumentException.class));
+    }
+
+    @Test
+    public void close_withBufferedEvents_completesAfterDelivery() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        EventPublisher<FakeEvent> publisher = new EventPublisher<>(controller, FakeEvent.class, 16, OverflowStrategy.DROP_NEWEST);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        fireAll(controller, 1);
+        publisher.close();
+        assertThat(subscriber.mCompleted, is(false));
+
+        subscriber.mSubscription.request(1);
+        assertThat(subscriber.mValues, contains(1));
+        assertThat(subscriber.mCompleted, is(true));
+    }
+
+    @Test
+    public void onEvent_pooledEventBuffered_retainsUntilDelivered() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        EventPublisher<PooledFakeEvent> publisher = new EventPublisher<>(controller, PooledFakeEvent.class, 16, OverflowStrategy.DROP_NEWEST);
+        PooledSubscriber subscriber = new PooledSubscriber();
+        publisher.subscribe(subscriber);
+
+        PooledFakeEvent event = new PooledFakeEvent();
+        controller.fire(event, PooledFakeEvent.class);
+        event.release();
+        assertThat(event.getReferenceCount(), equalTo(1));
+
+        subscriber.mSubscription.request(1);
+        assertThat(subscriber.mReferenceCountOnNext, equalTo(1));
+        assertThat(event.getReferenceCount(), equalTo(0));
+    }
+
+    @Test
+    public void cancel_withBufferedPooledEvents_releasesThem() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        EventPublisher<PooledFakeEvent> publisher = new EventPublisher<>(controller, PooledFakeEvent.class, 1, OverflowStrategy.DROP_OLDEST);
+        PooledSubscriber subscriber = new PooledSubscriber();
+        publisher.subscribe(subscriber);
+
+        PooledFakeEvent dropped = new PooledFakeEvent();
+        PooledFakeEvent buffered = new PooledFakeEvent();
+        controller.fire(dropped, PooledFakeEvent.class);
+        dropped.release();
+        controller.fire(buffered, PooledFakeEvent.class);
+        buffered.release();
+        assertThat(dropped.getReferenceCount(), equalTo(0));
+
+        subscriber.mSubscription.cancel();
+        assertThat(buffered.getReferenceCount(), equalTo(0));
+    }
+
+    private static void fireAll(EventController controller, int... values) {
+        for (int value : values) {
+            controller.fire(new FakeEvent(value), FakeEvent.class);
+        }
+    }
+
+    public interface FakeListener extends Listener {
+
+        void onEvent(FakeEvent event);
+    }
+
+    public static class FakeEvent implements Event {
+
+        final int mValue;
+
+        FakeEvent(int value) {
+            mValue = value;
+        }
+    }
+
+    public static class PooledFakeEvent extends PooledEvent {
+
+        @Override
+        protected void reset() {
+        }
+    }
+
+    private static class PooledSubscriber implements Flow.Subscriber<PooledFakeEvent> {
+
+        private Flow.Subscription mSubscription;
+        private int mReferenceCountOnNext;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            mSubscription = subscription;
+        }
+
+        @Override
+        public void onNext(PooledFakeEvent item) {
+            mReferenceCountOnNext = item.getReferenceCount();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<FakeEvent> {
+
+        private final List<Integer> mValues = new ArrayList<>();
+        private Flow.Subscription mSubscription;
+        private Throwable mError;
+        private boolean mCompleted;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            mSubscription = subscription;
+        }
+
+        @Override
+        public void onNext(FakeEvent item) {
+            mValues.add(item.mValue);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            mError = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            mCompleted = true;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.notifier.flow;
+
+import com.notifier.Controllers;
+import com.notifier.DispatchingController;
+import com.notifier.EventController;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class FiringSubscriberTest {
+
+    @Test
+    public void onNext_fromPublisher_firesEventsToListeners() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        controller.registerListener((EventPublisherTest.FakeListener) (e)-> received.add(e.mValue));
+
+        FiringSubscriber<EventPublisherTest.FakeEvent> subscriber = new FiringSubscriber<>(controller,
+                EventPublisherTest.FakeEvent.class, EventPublisherTest.FakeListener.class,
+                EventPublisherTest.FakeListener::onEvent, 4);
+
+        try (SubmissionPublisher<EventPublisherTest.FakeEvent> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(subscriber);
+            for (int i = 0; i < 100; i++) {
+                publisher.submit(new EventPublisherTest.FakeEvent(i));
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!subscriber.isDone() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(subscriber.isDone(), is(true));
+        assertThat(received.size(), equalTo(100));
+        for (int i = 0; i < 100; i++) {
+            assertThat(received.get(i), equalTo(i));
+        }
+    }
+
+    @Test
+    public void onNext_fireThrows_cancelsAndKeepsError() throws Exception {
+        IllegalStateException failure = new IllegalStateException();
+        EventController controller = new DispatchingController((listeners, filter, event, call)-> {
+            throw failure;
+        });
+        FiringSubscriber<EventPublisherTest.FakeEvent> subscriber = new FiringSubscriber<>(controller,
+                EventPublisherTest.FakeEvent.class);
+        boolean[] cancelled = new boolean[1];
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelled[0] = true;
+            }
+        });
+
+        subscriber.onNext(new EventPublisherTest.FakeEvent(1));
+
+        assertThat(cancelled[0], is(true));
+        assertThat(subscriber.isDone(), is(true));
+        assertThat(subscriber.getError(), sameInstance(failure));
+    }
+}
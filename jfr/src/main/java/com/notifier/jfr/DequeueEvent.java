@@ -0,0 +1,30 @@
+package com.notifier.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.notifier.Dequeue")
+@Label("Dequeue")
+@Category("Notifier")
+@Description("A listener call was taken for handling, after waiting since its event was fired")
+@StackTrace(false)
+class DequeueEvent extends Event {
+
+    @Label("Event Type")
+    Class<?> eventType;
+
+    @Label("Listener Type")
+    Class<?> listenerType;
+
+    @Label("Dispatcher")
+    Class<?> dispatcher;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueWait;
+}
@@ -0,0 +1,25 @@
+package com.notifier.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.notifier.Enqueue")
+@Label("Enqueue")
+@Category("Notifier")
+@Description("A listener call was passed to the dispatcher, to be made now or later")
+@StackTrace(false)
+class EnqueueEvent extends Event {
+
+    @Label("Event Type")
+    Class<?> eventType;
+
+    @Label("Listener Type")
+    Class<?> listenerType;
+
+    @Label("Dispatcher")
+    Class<?> dispatcher;
+}
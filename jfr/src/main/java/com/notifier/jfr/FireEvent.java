@@ -0,0 +1,20 @@
+package com.notifier.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.notifier.Fire")
+@Label("Fire")
+@Category("Notifier")
+@Description("Dispatching of a fired event, on the firing thread")
+class FireEvent extends Event {
+
+    @Label("Event Type")
+    Class<?> eventType;
+
+    @Label("Dispatcher")
+    Class<?> dispatcher;
+}
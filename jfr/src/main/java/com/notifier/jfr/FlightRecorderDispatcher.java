@@ -0,0 +1,138 @@
+package com.notifier.jfr;
+
+import com.notifier.DispatchingController;
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.dispatchers.EventDispatcher;
+import jdk.jfr.EventType;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     An {@link EventDispatcher} which passes dispatching to another dispatcher, while emitting
+ *     JDK Flight Recorder events for each fire, and for each listener call as it is passed to the dispatcher,
+ *     taken for handling and made. Events carry the type of the fired event, the class of the registered listener
+ *     and the class of the wrapped dispatcher, so recordings can attribute dispatch time to them.
+ * </p>
+ * <p>
+ *     Queue wait is measured from the fire, so for dispatchers which make several calls in one task,
+ *     it includes the calls made before. While no recording has the events enabled, events are passed
+ *     to the wrapped dispatcher as they are.
+ * </p>
+ */
+public class FlightRecorderDispatcher implements EventDispatcher {
+
+    private static final EventType FIRE = EventType.getEventType(FireEvent.class);
+    private static final EventType ENQUEUE = EventType.getEventType(EnqueueEvent.class);
+    private static final EventType DEQUEUE = EventType.getEventType(DequeueEvent.class);
+    private static final EventType LISTENER_INVOCATION = EventType.getEventType(ListenerInvocationEvent.class);
+
+    private final EventDispatcher mEventDispatcher;
+    private final Class<?> mDispatcherType;
+
+    public FlightRecorderDispatcher(EventDispatcher eventDispatcher) {
+        mEventDispatcher = eventDispatcher;
+        mDispatcherType = eventDispatcher.getClass();
+    }
+
+    @Override
+    public void dispatch(Collection<Listener> listeners, Predicate<Listener> listenerFilter, Event event, BiConsumer<Listener, Event> listenerCall) {
+        boolean traceCalls = ENQUEUE.isEnabled() || DEQUEUE.isEnabled() || LISTENER_INVOCATION.isEnabled();
+        if (!traceCalls && !FIRE.isEnabled()) {
+            mEventDispatcher.dispatch(listeners, listenerFilter, event, listenerCall);
+            return;
+        }
+
+        FireEvent fireEvent = new FireEvent();
+        fireEvent.begin();
+        try {
+            if (traceCalls) {
+                mEventDispatcher.dispatch(listeners,
+                        new TracedFilter(listenerFilter, event, mDispatcherType),
+                        event,
+                        new TracedCall(listenerCall, mDispatcherType, System.nanoTime()));
+            } else {
+                mEventDispatcher.dispatch(listeners, listenerFilter, event, listenerCall);
+            }
+        } finally {
+            fireEvent.end();
+            if (fireEvent.shouldCommit()) {
+                fireEvent.eventType = event.getClass();
+                fireEvent.dispatcher = mDispatcherType;
+                fireEvent.commit();
+            }
+        }
+    }
+
+    private static class TracedFilter implements Predicate<Listener> {
+
+        private final Predicate<Listener> mListenerFilter;
+        private final Event mEvent;
+        private final Class<?> mDispatcherType;
+
+        private TracedFilter(Predicate<Listener> listenerFilter, Event event, Class<?> dispatcherType) {
+            mListenerFilter = listenerFilter;
+            mEvent = event;
+            mDispatcherType = dispatcherType;
+        }
+
+        @Override
+        public boolean test(Listener listener) {
+            // dispatchers pass on the listeners which pass the filter, right after testing them
+            boolean passed = mListenerFilter.test(listener);
+            if (passed) {
+                EnqueueEvent enqueueEvent = new EnqueueEvent();
+                if (enqueueEvent.shouldCommit()) {
+                    enqueueEvent.eventType = mEvent.getClass();
+                    enqueueEvent.listenerType = DispatchingController.registeredClassOf(listener);
+                    enqueueEvent.dispatcher = mDispatcherType;
+                    enqueueEvent.commit();
+                }
+            }
+
+            return passed;
+        }
+    }
+
+    private static class TracedCall implements BiConsumer<Listener, Event> {
+
+        private final BiConsumer<Listener, Event> mListenerCall;
+        private final Class<?> mDispatcherType;
+        private final long mFireNanos;
+
+        private TracedCall(BiConsumer<Listener, Event> listenerCall, Class<?> dispatcherType, long fireNanos) {
+            mListenerCall = listenerCall;
+            mDispatcherType = dispatcherType;
+            mFireNanos = fireNanos;
+        }
+
+        @Override
+        public void accept(Listener listener, Event event) {
+            DequeueEvent dequeueEvent = new DequeueEvent();
+            if (dequeueEvent.shouldCommit()) {
+                dequeueEvent.eventType = event.getClass();
+                dequeueEvent.listenerType = DispatchingController.registeredClassOf(listener);
+                dequeueEvent.dispatcher = mDispatcherType;
+                dequeueEvent.queueWait = System.nanoTime() - mFireNanos;
+                dequeueEvent.commit();
+            }
+
+            ListenerInvocationEvent invocationEvent = new ListenerInvocationEvent();
+            invocationEvent.begin();
+            try {
+                mListenerCall.accept(listener, event);
+            } finally {
+                invocationEvent.end();
+                if (invocationEvent.shouldCommit()) {
+                    invocationEvent.eventType = event.getClass();
+                    invocationEvent.listenerType = DispatchingController.registeredClassOf(listener);
+                    invocationEvent.dispatcher = mDispatcherType;
+                    invocationEvent.commit();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.notifier.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.notifier.ListenerInvocation")
+@Label("Listener Invocation")
+@Category("Notifier")
+@Description("A call of a listener with an event")
+@StackTrace(false)
+class ListenerInvocationEvent extends Event {
+
+    @Label("Event Type")
+    Class<?> eventType;
+
+    @Label("Listener Type")
+    Class<?> listenerType;
+
+    @Label("Dispatcher")
+    Class<?> dispatcher;
+}
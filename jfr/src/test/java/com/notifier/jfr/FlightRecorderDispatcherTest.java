@@ -0,0 +1,132 @@
+package com.notifier.jfr;
+
+import com.notifier.DispatchingController;
+import com.notifier.Event;
+import com.notifier.EventController;
+import com.notifier.Listener;
+import com.notifier.dispatchers.EventDispatcher;
+import com.notifier.dispatchers.QueuedDispatcher;
+import com.notifier.dispatchers.SyncrounousDispatcher;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class FlightRecorderDispatcherTest {
+
+    @TempDir
+    Path mOutputDir;
+
+    @Test
+    public void dispatch_withRecording_emitsFireAndListenerCallEvents() throws Exception {
+        EventController controller = new DispatchingController(new FlightRecorderDispatcher(new SyncrounousDispatcher()));
+        controller.registerListener(new FakeListenerImpl());
+
+        List<RecordedEvent> events = record(()-> fire(controller));
+
+        assertThat(eventsNamed(events, "com.notifier.Fire"), hasSize(1));
+        assertThat(eventsNamed(events, "com.notifier.Enqueue"), hasSize(1));
+        assertThat(eventsNamed(events, "com.notifier.Dequeue"), hasSize(1));
+
+        List<RecordedEvent> invocations = eventsNamed(events, "com.notifier.ListenerInvocation");
+        assertThat(invocations, hasSize(1));
+        assertThat(invocations.get(0).getClass("eventType").getName(), equalTo(FakeEvent.class.getName()));
+        assertThat(invocations.get(0).getClass("listenerType").getName(), equalTo(FakeListenerImpl.class.getName()));
+        assertThat(invocations.get(0).getClass("dispatcher").getName(), equalTo(SyncrounousDispatcher.class.getName()));
+    }
+
+    @Test
+    public void dispatch_toQueue_recordsQueueWaitUntilHandled() throws Exception {
+        Queue<Runnable> queue = new LinkedList<>();
+        EventController controller = new DispatchingController(new FlightRecorderDispatcher(new QueuedDispatcher(queue)));
+        controller.registerListener(new FakeListenerImpl());
+
+        List<RecordedEvent> events = record(()-> {
+            fire(controller);
+            sleep(20);
+            queue.poll().run();
+        });
+
+        List<RecordedEvent> dequeues = eventsNamed(events, "com.notifier.Dequeue");
+        assertThat(dequeues, hasSize(1));
+        assertThat(dequeues.get(0).getDuration("queueWait").toMillis(), greaterThan(10L));
+        assertThat(dequeues.get(0).getClass("dispatcher").getName(), equalTo(QueuedDispatcher.class.getName()));
+    }
+
+    @Test
+    public void dispatch_withoutRecording_passesCallAsIs() throws Exception {
+        List<BiConsumer<Listener, Event>> calls = new ArrayList<>();
+        EventDispatcher dispatcher = new FlightRecorderDispatcher((listeners, filter, event, call)-> calls.add(call));
+        BiConsumer<Listener, Event> call = (l, e)-> {};
+
+        dispatcher.dispatch(new ArrayList<>(), (l)-> true, new FakeEvent(), call);
+
+        assertThat(calls.get(0), sameInstance(call));
+    }
+
+    private List<RecordedEvent> record(Runnable runnable) throws Exception {
+        Path file = mOutputDir.resolve("recording.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(FireEvent.class);
+            recording.enable(EnqueueEvent.class);
+            recording.enable(DequeueEvent.class);
+            recording.enable(ListenerInvocationEvent.class);
+            recording.start();
+
+            runnable.run();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter((e)-> e.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    private static void fire(EventController controller) {
+        controller.fire(new FakeEvent(), FakeEvent.class, FakeListener.class, FakeListener::onEvent);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class FakeEvent implements Event {
+    }
+
+    public interface FakeListener extends Listener {
+        void onEvent(FakeEvent event);
+    }
+
+    public static class FakeListenerImpl implements FakeListener {
+
+        @Override
+        public void onEvent(FakeEvent event) {
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.notifier.network;
+
+/**
+ * <p>
+ *     Wire format of events sent between a {@link NetworkPublisher} and a {@link NetworkReceiver}.
+ * </p>
+ * <p>
+ *     Events are sent in batches. A batch starts with a header of the size of its body in bytes, and the amount
+ *     of events in it, followed by a frame for each event: the size of the encoded event in bytes, followed by
+ *     the encoded event. A receiver only handles complete batches, so a batch cut by a lost connection is
+ *     discarded, and sent again by the publisher once reconnected.
+ * </p>
+ */
+final class Batches {
+
+    static final int BATCH_HEADER_SIZE = 8;
+    static final int FRAME_HEADER_SIZE = 4;
+
+    private Batches() {
+    }
+}
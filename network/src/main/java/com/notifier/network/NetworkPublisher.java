@@ -0,0 +1,352 @@
+package com.notifier.network;
+
+import com.notifier.Event;
+import com.notifier.codec.EventCodec;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ *     Sends events to a {@link NetworkReceiver} on a remote node, over a non-blocking TCP connection
+ *     managed by a thread of the publisher.
+ * </p>
+ * <p>
+ *     Published events are encoded into a pending batch, which is sent once it reaches the batch size, or once
+ *     the linger time passed since the first event in it was published. This trades a bounded delay for
+ *     fewer, larger writes, like Nagle's algorithm. While a batch is being sent, following events are collected
+ *     into the next batch.
+ * </p>
+ * <p>
+ *     When the connection is lost or cannot be established, the publisher reconnects with an increasing
+ *     delay, and events are kept pending meanwhile, up to a limit. Events published while the limit is reached
+ *     are dropped, and counted.
+ * </p>
+ */
+public class NetworkPublisher implements AutoCloseable {
+
+    public static final int DEFAULT_BATCH_SIZE = 64 * 1024;
+    public static final long DEFAULT_LINGER_MS = 1;
+    public static final int DEFAULT_MAX_PENDING_BYTES = 16 * 1024 * 1024;
+
+    private static final long MIN_RECONNECT_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long MAX_RECONNECT_DELAY_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final InetSocketAddress mAddress;
+    private final EventCodec mCodec;
+    private final int mBatchSize;
+    private final long mLingerNanos;
+    private final int mMaxPendingBytes;
+
+    private final Selector mSelector;
+    private final Thread mThread;
+    private final LongAdder mDroppedCount;
+    private final LongAdder mSentBatchCount;
+    private final LongAdder mReconnectCount;
+
+    private final Object mPendingLock;
+    private ByteBuffer mPending;
+    private int mPendingCount;
+    private long mPendingSinceNanos;
+
+    private ByteBuffer mOutgoing;
+    private SocketChannel mChannel;
+    private boolean mConnected;
+    private long mReconnectDelayNanos;
+    private long mNextConnectNanos;
+    private volatile boolean mClosed;
+
+    public NetworkPublisher(InetSocketAddress address, EventCodec codec, int batchSize, long lingerTime, TimeUnit lingerUnit,
+                            int maxPendingBytes) throws IOException {
+        if (batchSize <= Batches.BATCH_HEADER_SIZE || maxPendingBytes < batchSize) {
+            throw new IllegalArgumentException("batch size must be positive, and not larger than max pending bytes");
+        }
+
+        mAddress = address;
+        mCodec = codec;
+        mBatchSize = batchSize;
+        mLingerNanos = lingerUnit.toNanos(lingerTime);
+        mMaxPendingBytes = maxPendingBytes;
+
+        mSelector = Selector.open();
+        mDroppedCount = new LongAdder();
+        mSentBatchCount = new LongAdder();
+        mReconnectCount = new LongAdder();
+
+        mPendingLock = new Object();
+        mPending = newBatchBuffer(initialCapacity());
+        mPendingCount = 0;
+        mOutgoing = ByteBuffer.allocate(initialCapacity());
+        mOutgoing.limit(0);
+
+        mConnected = false;
+        mReconnectDelayNanos = MIN_RECONNECT_DELAY_NANOS;
+        mNextConnectNanos = System.nanoTime();
+        mClosed = false;
+
+        mThread = new Thread(new IoTask(), "notifier-network-publisher");
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    public NetworkPublisher(InetSocketAddress address, EventCodec codec) throws IOException {
+        this(address, codec, DEFAULT_BATCH_SIZE, DEFAULT_LINGER_MS, TimeUnit.MILLISECONDS, DEFAULT_MAX_PENDING_BYTES);
+    }
+
+    /**
+     * Adds an event to the pending batch. Does not block on the network.
+     *
+     * @return <code>true</code> if the event was added, <code>false</code> if it was dropped since the pending
+     *      events reached the limit.
+     */
+    public boolean publish(Event event) {
+        boolean wakeup;
+
+        synchronized (mPendingLock) {
+            int previousPosition = mPending.position();
+            if (!encodePending(event)) {
+                mDroppedCount.increment();
+                return false;
+            }
+
+            // the thread sleeps without a deadline while no batch is pending, so it is woken up to
+            // start the linger time of a new batch, and for full batches, which should not wait for it
+            wakeup = mPendingCount == 0 || (previousPosition < mBatchSize && mPending.position() >= mBatchSize);
+
+            if (mPendingCount == 0) {
+                mPendingSinceNanos = System.nanoTime();
+            }
+            mPendingCount++;
+        }
+
+        if (wakeup) {
+            mSelector.wakeup();
+        }
+
+        return true;
+    }
+
+    /**
+     * @return amount of events dropped since the limit of pending events was reached.
+     */
+    public long getDroppedCount() {
+        return mDroppedCount.sum();
+    }
+
+    /**
+     * @return amount of batches sent.
+     */
+    public long getSentBatchCount() {
+        return mSentBatchCount.sum();
+    }
+
+    /**
+     * @return amount of times the connection was lost, or could not be established.
+     */
+    public long getReconnectCount() {
+        return mReconnectCount.sum();
+    }
+
+    @Override
+    public void close() {
+        mClosed = true;
+        mSelector.wakeup();
+
+        try {
+            mThread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean encodePending(Event event) {
+        // lock must be held
+        while (true) {
+            int start = mPending.position();
+            try {
+                if (mPending.remaining() < Batches.FRAME_HEADER_SIZE) {
+                    throw new BufferOverflowException();
+                }
+                mPending.position(start + Batches.FRAME_HEADER_SIZE);
+                mCodec.encode(event, mPending);
+                mPending.putInt(start, mPending.position() - start - Batches.FRAME_HEADER_SIZE);
+                return true;
+            } catch (BufferOverflowException e) {
+                mPending.position(start);
+                if (mPending.capacity() >= mMaxPendingBytes) {
+                    return false;
+                }
+
+                ByteBuffer grown = ByteBuffer.allocate(Math.min(mPending.capacity() * 2, mMaxPendingBytes));
+                mPending.flip();
+                grown.put(mPending);
+                mPending = grown;
+            }
+        }
+    }
+
+    private boolean swapPending(long nowNanos) {
+        synchronized (mPendingLock) {
+            if (mPendingCount == 0) {
+                return false;
+            }
+            if (mPending.position() < mBatchSize && nowNanos - mPendingSinceNanos < mLingerNanos) {
+                return false;
+            }
+
+            ByteBuffer batch = mPending;
+            batch.putInt(0, batch.position() - Batches.BATCH_HEADER_SIZE);
+            batch.putInt(4, mPendingCount);
+            batch.flip();
+
+            // reuse the buffer of the previous batch, unless it grew beyond the batch size
+            mOutgoing.clear();
+            mPending = mOutgoing.capacity() > initialCapacity() ? newBatchBuffer(initialCapacity()) : mOutgoing;
+            mPending.position(Batches.BATCH_HEADER_SIZE);
+            mPendingCount = 0;
+            mOutgoing = batch;
+
+            return true;
+        }
+    }
+
+    private long nextLingerDeadline() {
+        synchronized (mPendingLock) {
+            return mPendingCount == 0 ? -1 : mPendingSinceNanos + mLingerNanos;
+        }
+    }
+
+    private int initialCapacity() {
+        return Math.min(mBatchSize * 2, mMaxPendingBytes);
+    }
+
+    private static ByteBuffer newBatchBuffer(int capacity) {
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        buffer.position(Batches.BATCH_HEADER_SIZE);
+        return buffer;
+    }
+
+    private class IoTask implements Runnable {
+
+        @Override
+        public void run() {
+            while (!mClosed) {
+                try {
+                    long nowNanos = System.nanoTime();
+                    if (!mConnected && mChannel == null && nowNanos >= mNextConnectNanos) {
+                        connect();
+                    }
+
+                    if (mConnected && !mOutgoing.hasRemaining() && swapPending(nowNanos)) {
+                        write();
+                    }
+
+                    mSelector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(selectTimeoutNanos(System.nanoTime()))));
+
+                    for (SelectionKey key : mSelector.selectedKeys()) {
+                        if (key.isValid() && key.isConnectable()) {
+                            finishConnect();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            write();
+                        }
+                    }
+                    mSelector.selectedKeys().clear();
+                } catch (IOException e) {
+                    disconnect();
+                }
+            }
+
+            disconnect();
+            try {
+                mSelector.close();
+            } catch (IOException e) {
+            }
+        }
+
+        private long selectTimeoutNanos(long nowNanos) {
+            long timeout = TimeUnit.MILLISECONDS.toNanos(100);
+            if (!mConnected && mChannel == null) {
+                timeout = Math.min(timeout, mNextConnectNanos - nowNanos);
+            }
+
+            long lingerDeadline = nextLingerDeadline();
+            if (lingerDeadline >= 0 && mConnected && !mOutgoing.hasRemaining()) {
+                timeout = Math.min(timeout, lingerDeadline - nowNanos);
+            }
+
+            return timeout;
+        }
+
+        private void connect() throws IOException {
+            mChannel = SocketChannel.open();
+            mChannel.configureBlocking(false);
+            mChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            if (mChannel.connect(mAddress)) {
+                onConnected();
+            } else {
+                mChannel.register(mSelector, SelectionKey.OP_CONNECT);
+            }
+        }
+
+        private void finishConnect() throws IOException {
+            if (mChannel.finishConnect()) {
+                onConnected();
+            }
+        }
+
+        private void onConnected() throws IOException {
+            mConnected = true;
+            mReconnectDelayNanos = MIN_RECONNECT_DELAY_NANOS;
+            if (mOutgoing.hasRemaining()) {
+                // a batch cut by the previous connection is sent again from its start
+                mOutgoing.rewind();
+            }
+            mChannel.register(mSelector, 0);
+            write();
+        }
+
+        private void write() throws IOException {
+            while (mOutgoing.hasRemaining()) {
+                if (mChannel.write(mOutgoing) == 0) {
+                    mChannel.register(mSelector, SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+
+            mSentBatchCount.increment();
+            mChannel.register(mSelector, 0);
+
+            // keep sending while full batches are pending
+            if (swapPending(System.nanoTime())) {
+                write();
+            }
+        }
+
+        private void disconnect() {
+            if (mChannel != null) {
+                try {
+                    mChannel.close();
+                } catch (IOException e) {
+                }
+                mChannel = null;
+                if (!mClosed) {
+                    mReconnectCount.increment();
+                }
+            }
+
+            mConnected = false;
+            mNextConnectNanos = System.nanoTime() + mReconnectDelayNanos;
+            mReconnectDelayNanos = Math.min(mReconnectDelayNanos * 2, MAX_RECONNECT_DELAY_NANOS);
+        }
+    }
+}
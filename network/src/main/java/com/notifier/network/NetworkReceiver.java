@@ -0,0 +1,259 @@
+package com.notifier.network;
+
+import com.notifier.Event;
+import com.notifier.EventController;
+import com.notifier.codec.EventCodec;
+import com.notifier.codec.FlyweightEvent;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ *     Receives events sent by {@link NetworkPublisher}s on remote nodes. The receiver listens on a local address,
+ *     and handles all connections on a single thread, using non-blocking sockets. Events are passed to a consumer,
+ *     or fired to the subscribers of a controller, on that thread, by the order they were received from each
+ *     connection.
+ * </p>
+ * <p>
+ *     Events decoded by a {@link com.notifier.codec.FlyweightEventCodec} view the read buffer, which is reused
+ *     once the consumer returns. Consumers which keep such events, or pass them to other threads, should
+ *     {@link FlyweightEvent#detach() detach} them.
+ * </p>
+ */
+public class NetworkReceiver implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = NetworkPublisher.DEFAULT_MAX_PENDING_BYTES;
+
+    private static final int INITIAL_READ_BUFFER_SIZE = 64 * 1024;
+
+    private final EventCodec mCodec;
+    private final int mMaxBatchSize;
+    private final Consumer<? super Event> mConsumer;
+    private final ServerSocketChannel mServerChannel;
+    private final Selector mSelector;
+    private final Thread mThread;
+    private final LongAdder mReceivedCount;
+
+    private volatile boolean mClosed;
+
+    /**
+     * @param maxBatchSize largest batch accepted, in bytes. Connections which send larger batches are closed.
+     *      Should not be smaller than the max pending bytes of the publishers.
+     */
+    public NetworkReceiver(InetSocketAddress address, EventCodec codec, Consumer<? super Event> consumer,
+                           int maxBatchSize) throws IOException {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("max batch size must be positive");
+        }
+
+        mCodec = codec;
+        mMaxBatchSize = maxBatchSize;
+        mConsumer = consumer;
+        mReceivedCount = new LongAdder();
+        mClosed = false;
+
+        mSelector = Selector.open();
+        mServerChannel = ServerSocketChannel.open();
+        mServerChannel.configureBlocking(false);
+        mServerChannel.bind(address);
+        mServerChannel.register(mSelector, SelectionKey.OP_ACCEPT);
+
+        mThread = new Thread(new IoTask(), "notifier-network-receiver");
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    public NetworkReceiver(InetSocketAddress address, EventCodec codec, Consumer<? super Event> consumer) throws IOException {
+        this(address, codec, consumer, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a receiver which fires received events to the subscribers of the given controller.
+     * See {@link EventController#fire(Event, Class)}. {@link FlyweightEvent}s are
+     * {@link FlyweightEvent#detach() detached} before being fired, as the controller may dispatch them
+     * after the read buffer they view is reused.
+     */
+    @SuppressWarnings("unchecked")
+    public NetworkReceiver(InetSocketAddress address, EventCodec codec, EventController controller,
+                           int maxBatchSize) throws IOException {
+        this(address, codec, (event)-> {
+            if (event instanceof FlyweightEvent) {
+                ((FlyweightEvent) event).detach();
+            }
+            controller.fire(event, (Class<Event>) event.getClass());
+        }, maxBatchSize);
+    }
+
+    public NetworkReceiver(InetSocketAddress address, EventCodec codec, EventController controller) throws IOException {
+        this(address, codec, controller, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * @return the address the receiver listens on, useful when bound to an ephemeral port.
+     */
+    public InetSocketAddress getLocalAddress() throws IOException {
+        return (InetSocketAddress) mServerChannel.getLocalAddress();
+    }
+
+    /**
+     * @return amount of events received.
+     */
+    public long getReceivedCount() {
+        return mReceivedCount.sum();
+    }
+
+    @Override
+    public void close() {
+        mClosed = true;
+        mSelector.wakeup();
+
+        try {
+            mThread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = mServerChannel.accept();
+        if (channel == null) {
+            return;
+        }
+
+        channel.configureBlocking(false);
+        channel.register(mSelector, SelectionKey.OP_READ, new Connection(channel));
+    }
+
+    private class Connection {
+
+        private final SocketChannel mChannel;
+        private ByteBuffer mBuffer;
+
+        private Connection(SocketChannel channel) {
+            mChannel = channel;
+            mBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_SIZE);
+        }
+
+        void read() throws IOException {
+            if (mChannel.read(mBuffer) < 0) {
+                // a batch cut by the disconnection is discarded, the publisher sends it again
+                close();
+                return;
+            }
+
+            mBuffer.flip();
+            while (mBuffer.remaining() >= Batches.BATCH_HEADER_SIZE) {
+                int batchSize = mBuffer.getInt(mBuffer.position());
+                if (batchSize < 0 || batchSize > mMaxBatchSize - Batches.BATCH_HEADER_SIZE) {
+                    throw new IOException("invalid batch size: " + batchSize);
+                }
+                if (mBuffer.remaining() < Batches.BATCH_HEADER_SIZE + batchSize) {
+                    ensureCapacity(Batches.BATCH_HEADER_SIZE + batchSize);
+                    break;
+                }
+
+                readBatch(batchSize);
+            }
+            mBuffer.compact();
+        }
+
+        void close() {
+            try {
+                mChannel.close();
+            } catch (IOException e) {
+            }
+        }
+
+        private void readBatch(int batchSize) throws IOException {
+            int batchEnd = mBuffer.position() + Batches.BATCH_HEADER_SIZE + batchSize;
+            int count = mBuffer.getInt(mBuffer.position() + 4);
+            mBuffer.position(mBuffer.position() + Batches.BATCH_HEADER_SIZE);
+
+            int limit = mBuffer.limit();
+            for (int i = 0; i < count; i++) {
+                if (batchEnd - mBuffer.position() < Batches.FRAME_HEADER_SIZE) {
+                    throw new IOException("malformed batch");
+                }
+                int length = mBuffer.getInt();
+                if (length < 0 || length > batchEnd - mBuffer.position()) {
+                    throw new IOException("malformed batch");
+                }
+                int frameEnd = mBuffer.position() + length;
+
+                mBuffer.limit(frameEnd);
+                try {
+                    mConsumer.accept(mCodec.decode(mBuffer));
+                    mReceivedCount.increment();
+                } catch (RuntimeException e) {
+                    // ignore, to keep receiving other events
+                }
+                mBuffer.limit(limit);
+                mBuffer.position(frameEnd);
+            }
+
+            mBuffer.position(batchEnd);
+        }
+
+        private void ensureCapacity(int size) {
+            if (mBuffer.capacity() >= size) {
+                return;
+            }
+
+            // buffer is flipped, and will be compacted after
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(size, mBuffer.capacity() * 2));
+            grown.put(mBuffer);
+            grown.flip();
+            mBuffer = grown;
+        }
+    }
+
+    private class IoTask implements Runnable {
+
+        @Override
+        public void run() {
+            while (!mClosed) {
+                try {
+                    mSelector.select();
+                } catch (IOException e) {
+                    break;
+                }
+
+                for (SelectionKey key : mSelector.selectedKeys()) {
+                    try {
+                        if (key.isValid() && key.isAcceptable()) {
+                            accept();
+                        }
+                        if (key.isValid() && key.isReadable()) {
+                            ((Connection) key.attachment()).read();
+                        }
+                    } catch (IOException e) {
+                        if (key.attachment() != null) {
+                            ((Connection) key.attachment()).close();
+                        }
+                    }
+                }
+                mSelector.selectedKeys().clear();
+            }
+
+            for (SelectionKey key : mSelector.keys()) {
+                if (key.attachment() != null) {
+                    ((Connection) key.attachment()).close();
+                }
+            }
+            try {
+                mServerChannel.close();
+                mSelector.close();
+            } catch (IOException e) {
+            }
+        }
+    }
+}
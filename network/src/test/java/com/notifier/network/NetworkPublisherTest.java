@@ -0,0 +1,140 @@
+package com.notifier.network;
+
+import com.notifier.Event;
+import com.notifier.codec.EventCodec;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class NetworkPublisherTest {
+
+    @Test
+    public void publish_withReceiver_deliversEventsByOrderInBatches() throws Exception {
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        try (NetworkReceiver receiver = new NetworkReceiver(loopback(0), new FakeEventCodec(),
+                (e)-> received.add(((FakeEvent) e).mValue));
+             NetworkPublisher publisher = new NetworkPublisher(receiver.getLocalAddress(), new FakeEventCodec())) {
+            for (int i = 0; i < 1000; i++) {
+                publisher.publish(new FakeEvent(i));
+            }
+
+            assertThat(waitFor(()-> received.size() == 1000), is(true));
+            assertThat(received.get(0), equalTo(0));
+            assertThat(received.get(999), equalTo(999));
+            assertThat(publisher.getSentBatchCount(), lessThan(1000L));
+        }
+    }
+
+    @Test
+    public void publish_beforeReceiverStarted_deliversOnceConnected() throws Exception {
+        InetSocketAddress address = loopback(freePort());
+        List<Integer> received = new CopyOnWriteArrayList<>();
+
+        try (NetworkPublisher publisher = new NetworkPublisher(address, new FakeEventCodec())) {
+            publisher.publish(new FakeEvent(1));
+            publisher.publish(new FakeEvent(2));
+            assertThat(waitFor(()-> publisher.getReconnectCount() > 0), is(true));
+
+            try (NetworkReceiver receiver = new NetworkReceiver(address, new FakeEventCodec(),
+                    (e)-> received.add(((FakeEvent) e).mValue))) {
+                assertThat(waitFor(()-> received.size() == 2), is(true));
+                assertThat(received, contains(1, 2));
+            }
+        }
+    }
+
+    @Test
+    public void publish_sparseEvents_sendsEachAfterLingerTime() throws Exception {
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        try (NetworkReceiver receiver = new NetworkReceiver(loopback(0), new FakeEventCodec(),
+                (e)-> received.add(((FakeEvent) e).mValue));
+             NetworkPublisher publisher = new NetworkPublisher(receiver.getLocalAddress(), new FakeEventCodec())) {
+            publisher.publish(new FakeEvent(0));
+            assertThat(waitFor(()-> received.size() == 1), is(true));
+
+            long startNanos = System.nanoTime();
+            for (int i = 1; i <= 10; i++) {
+                Thread.sleep(20);
+                publisher.publish(new FakeEvent(i));
+                int expectedSize = i + 1;
+                assertThat(waitFor(()-> received.size() == expectedSize), is(true));
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+            // without waking up for new batches, each event waits for the idle select timeout
+            assertThat(elapsedMillis, lessThan(400L));
+        }
+    }
+
+    @Test
+    public void publish_pendingLimitReached_dropsEvents() throws Exception {
+        InetSocketAddress address = loopback(freePort());
+
+        try (NetworkPublisher publisher = new NetworkPublisher(address, new FakeEventCodec(),
+                64, 1, TimeUnit.MILLISECONDS, 256)) {
+            for (int i = 0; i < 100; i++) {
+                publisher.publish(new FakeEvent(i));
+            }
+
+            assertThat(publisher.getDroppedCount(), greaterThan(0L));
+        }
+    }
+
+    private static InetSocketAddress loopback(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+
+        return true;
+    }
+
+    private static class FakeEvent implements Event {
+
+        private final int mValue;
+
+        private FakeEvent(int value) {
+            mValue = value;
+        }
+    }
+
+    private static class FakeEventCodec implements EventCodec {
+
+        @Override
+        public void encode(Event event, ByteBuffer buffer) {
+            buffer.putInt(((FakeEvent) event).mValue);
+        }
+
+        @Override
+        public Event decode(ByteBuffer buffer) {
+            return new FakeEvent(buffer.getInt());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.notifier.network;
+
+import com.notifier.Controllers;
+import com.notifier.Event;
+import com.notifier.EventController;
+import com.notifier.Listener;
+import com.notifier.Subscribe;
+import com.notifier.codec.EventCodec;
+import com.notifier.codec.FlyweightEvent;
+import com.notifier.codec.FlyweightEventCodec;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class NetworkReceiverTest {
+
+    @Test
+    public void read_batchSplitBetweenWrites_deliversEventsOnceComplete() throws Exception {
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        try (NetworkReceiver receiver = new NetworkReceiver(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                new FakeEventCodec(), (e)-> received.add(((FakeEvent) e).mValue));
+             Socket socket = new Socket()) {
+            socket.connect(receiver.getLocalAddress());
+
+            ByteBuffer batch = ByteBuffer.allocate(Batches.BATCH_HEADER_SIZE + 2 * (Batches.FRAME_HEADER_SIZE + 4));
+            batch.putInt(batch.capacity() - Batches.BATCH_HEADER_SIZE);
+            batch.putInt(2);
+            batch.putInt(4).putInt(7);
+            batch.putInt(4).putInt(8);
+
+            OutputStream outputStream = socket.getOutputStream();
+            outputStream.write(batch.array(), 0, 10);
+            outputStream.flush();
+            Thread.sleep(50);
+            assertThat(received.isEmpty(), is(true));
+
+            outputStream.write(batch.array(), 10, batch.capacity() - 10);
+            outputStream.flush();
+
+            assertThat(waitFor(()-> received.size() == 2), is(true));
+            assertThat(received, contains(7, 8));
+        }
+    }
+
+    @Test
+    public void read_batchLargerThanMax_closesConnection() throws Exception {
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        try (NetworkReceiver receiver = new NetworkReceiver(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                new FakeEventCodec(), (e)-> received.add(((FakeEvent) e).mValue), 1024);
+             Socket socket = new Socket()) {
+            socket.connect(receiver.getLocalAddress());
+            socket.setSoTimeout(10000);
+
+            ByteBuffer header = ByteBuffer.allocate(Batches.BATCH_HEADER_SIZE);
+            header.putInt(Integer.MAX_VALUE);
+            header.putInt(1);
+
+            OutputStream outputStream = socket.getOutputStream();
+            outputStream.write(header.array());
+            outputStream.flush();
+
+            assertThat(socket.getInputStream().read(), is(-1));
+            assertThat(received.isEmpty(), is(true));
+        }
+    }
+
+    @Test
+    public void read_negativeBatchSize_closesConnection() throws Exception {
+        try (NetworkReceiver receiver = new NetworkReceiver(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                new FakeEventCodec(), (e)-> {});
+             Socket socket = new Socket()) {
+            socket.connect(receiver.getLocalAddress());
+            socket.setSoTimeout(10000);
+
+            ByteBuffer header = ByteBuffer.allocate(Batches.BATCH_HEADER_SIZE);
+            header.putInt(-1);
+            header.putInt(1);
+
+            OutputStream outputStream = socket.getOutputStream();
+            outputStream.write(header.array());
+            outputStream.flush();
+
+            assertThat(socket.getInputStream().read(), is(-1));
+        }
+    }
+
+    @Test
+    public void read_flyweightEventsFiredToController_keepsEventsValidAfterBufferReused() throws Exception {
+        EventController controller = Controllers.newSyncExecutionController();
+        FlyweightSubscriber subscriber = new FlyweightSubscriber();
+        controller.registerSubscriber(subscriber);
+
+        try (NetworkReceiver receiver = new NetworkReceiver(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                new FlyweightEventCodec<>(FlyweightFakeEvent.class, FlyweightFakeEvent::new), controller);
+             Socket socket = new Socket()) {
+            socket.connect(receiver.getLocalAddress());
+            OutputStream outputStream = socket.getOutputStream();
+
+            outputStream.write(singleEventBatch(7));
+            outputStream.flush();
+            assertThat(waitFor(()-> subscriber.mReceived.size() == 1), is(true));
+
+            outputStream.write(singleEventBatch(8));
+            outputStream.flush();
+            assertThat(waitFor(()-> subscriber.mReceived.size() == 2), is(true));
+
+            assertThat(subscriber.mReceived.get(0).value(), equalTo(7));
+            assertThat(subscriber.mReceived.get(1).value(), equalTo(8));
+        }
+    }
+
+    private static byte[] singleEventBatch(int value) {
+        ByteBuffer batch = ByteBuffer.allocate(Batches.BATCH_HEADER_SIZE + Batches.FRAME_HEADER_SIZE + 4);
+        batch.putInt(batch.capacity() - Batches.BATCH_HEADER_SIZE);
+        batch.putInt(1);
+        batch.putInt(4).putInt(value);
+
+        return batch.array();
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+
+        return true;
+    }
+
+    public static class FlyweightFakeEvent extends FlyweightEvent {
+
+        @Override
+        public int size() {
+            return 4;
+        }
+
+        int value() {
+            return getInt(0);
+        }
+    }
+
+    public static class FlyweightSubscriber implements Listener {
+
+        private final List<FlyweightFakeEvent> mReceived = new CopyOnWriteArrayList<>();
+
+        @Subscribe
+        public void onEvent(FlyweightFakeEvent event) {
+            mReceived.add(event);
+        }
+    }
+
+    private static class FakeEvent implements Event {
+
+        private final int mValue;
+
+        private FakeEvent(int value) {
+            mValue = value;
+        }
+    }
+
+    private static class FakeEventCodec implements EventCodec {
+
+        @Override
+        public void encode(Event event, ByteBuffer buffer) {
+            buffer.putInt(((FakeEvent) event).mValue);
+        }
+
+        @Override
+        public Event decode(ByteBuffer buffer) {
+            return new FakeEvent(buffer.getInt());
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.notifier.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ *     Generates, at compile time, a {@code com.notifier.SubscriberAdapter} for each class declaring
+ *     {@code com.notifier.Subscribe} methods, and a {@code com.notifier.SubscriberIndex} which maps
+ *     those classes to their adapters. The index is registered as a service, so controllers use it
+ *     instead of scanning the classes at runtime.
+ * </p>
+ * <p>
+ *     The name of the index class may be set with the <code>notifier.subscriberIndex</code> option.
+ *     By default it is <code>NotifierSubscriberIndex</code>, placed in the package of the first subscriber found.
+ *     Each compilation unit (e.g. module) should have an index with a unique name.
+ * </p>
+ */
+@SupportedAnnotationTypes(SubscriberProcessor.SUBSCRIBE_ANNOTATION)
+@SupportedOptions(SubscriberProcessor.INDEX_OPTION)
+public class SubscriberProcessor extends AbstractProcessor {
+
+    static final String SUBSCRIBE_ANNOTATION = "com.notifier.Subscribe";
+    static final String INDEX_OPTION = "notifier.subscriberIndex";
+
+    private static final String EVENT_TYPE = "com.notifier.Event";
+    private static final String ADAPTER_TYPE = "com.notifier.SubscriberAdapter";
+    private static final String INDEX_TYPE = "com.notifier.SubscriberIndex";
+    private static final String ADAPTER_SUFFIX = "_SubscriberAdapter";
+    private static final String DEFAULT_INDEX_NAME = "NotifierSubscriberIndex";
+
+    private boolean mIndexWritten = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement subscribeAnnotation = processingEnv.getElementUtils().getTypeElement(SUBSCRIBE_ANNOTATION);
+        if (subscribeAnnotation == null) {
+            return false;
+        }
+
+        Set<TypeElement> subscriberTypes = new LinkedHashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(subscribeAnnotation)) {
+            if (isValidMethod((ExecutableElement) element)) {
+                subscriberTypes.add((TypeElement) element.getEnclosingElement());
+            }
+        }
+
+        if (subscriberTypes.isEmpty()) {
+            return false;
+        }
+
+        if (mIndexWritten) {
+            // the index of this compilation was already written in an earlier round
+            for (TypeElement type : subscriberTypes) {
+                note(type, "not added to the subscriber index, it will be scanned at runtime");
+            }
+            return false;
+        }
+
+        Map<TypeElement, String> adapters = new LinkedHashMap<>();
+        for (TypeElement type : subscriberTypes) {
+            List<ExecutableElement> methods = collectMethods(type, subscribeAnnotation);
+            if (methods == null) {
+                continue;
+            }
+
+            try {
+                adapters.put(type, writeAdapter(type, methods));
+            } catch (IOException e) {
+                error(type, "failed to write subscriber adapter: " + e.getMessage());
+            }
+        }
+
+        try {
+            writeIndex(adapters);
+        } catch (IOException e) {
+            messager().printMessage(Diagnostic.Kind.ERROR, "failed to write subscriber index: " + e.getMessage());
+        }
+        mIndexWritten = true;
+
+        return false;
+    }
+
+    private boolean isValidMethod(ExecutableElement method) {
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror eventType = processingEnv.getElementUtils().getTypeElement(EVENT_TYPE).asType();
+
+        Set<Modifier> modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.STATIC) ||
+                method.getReturnType().getKind() != TypeKind.VOID ||
+                method.getParameters().size() != 1 ||
+                !types.isAssignable(types.erasure(method.getParameters().get(0).asType()), eventType)) {
+            error(method, "@Subscribe methods must be non-static void methods receiving a single Event");
+            return false;
+        }
+
+        return true;
+    }
+
+    private List<ExecutableElement> collectMethods(TypeElement type, TypeElement subscribeAnnotation) {
+        if (!isAccessibleType(type)) {
+            note(type, "private or local subscriber classes are scanned at runtime");
+            return null;
+        }
+
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        PackageElement adapterPackage = elements.getPackageOf(type);
+
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = superclassOf(current)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (!isAnnotatedWith(method, subscribeAnnotation) || isOverridden(method, methods, type)) {
+                    continue;
+                }
+
+                Set<Modifier> modifiers = method.getModifiers();
+                boolean samePackage = elements.getPackageOf(current).equals(adapterPackage);
+                if (modifiers.contains(Modifier.PRIVATE) ||
+                        (!samePackage && !modifiers.contains(Modifier.PUBLIC))) {
+                    note(method, "not accessible to a generated adapter, " +
+                            types.erasure(type.asType()) + " will be scanned at runtime");
+                    return null;
+                }
+
+                methods.add(method);
+            }
+        }
+
+        return methods;
+    }
+
+    private boolean isOverridden(ExecutableElement method, Collection<ExecutableElement> collected, TypeElement type) {
+        Elements elements = processingEnv.getElementUtils();
+        for (ExecutableElement other : collected) {
+            if (elements.overrides(other, method, type)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private String writeAdapter(TypeElement type, List<ExecutableElement> methods) throws IOException {
+        Types types = processingEnv.getTypeUtils();
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String subscriberName = types.erasure(type.asType()).toString();
+        String adapterSimpleName = binarySimpleName(type).replace('$', '_') + ADAPTER_SUFFIX;
+        String adapterName = packageName.isEmpty() ? adapterSimpleName : packageName + "." + adapterSimpleName;
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(adapterName, type);
+        try (PrintWriter writer = new PrintWriter(file.openWriter())) {
+            if (!packageName.isEmpty()) {
+                writer.printf("package %s;%n%n", packageName);
+            }
+
+            writer.printf("public final class %s implements %s {%n%n", adapterSimpleName, ADAPTER_TYPE);
+
+            writer.printf("    @Override%n");
+            writer.printf("    public boolean handles(Class<? extends %s> eventType) {%n", EVENT_TYPE);
+            for (ExecutableElement method : methods) {
+                writer.printf("        if (%s.class.isAssignableFrom(eventType)) {%n", eventTypeName(method));
+                writer.printf("            return true;%n");
+                writer.printf("        }%n");
+            }
+            writer.printf("        return false;%n");
+            writer.printf("    }%n%n");
+
+            writer.printf("    @Override%n");
+            writer.printf("    public void call(Object subscriber, %s event) {%n", EVENT_TYPE);
+            writer.printf("        %s actual = (%s) subscriber;%n", subscriberName, subscriberName);
+            for (ExecutableElement method : methods) {
+                String eventTypeName = eventTypeName(method);
+                writer.printf("        if (event instanceof %s) {%n", eventTypeName);
+                writer.printf("            actual.%s((%s) event);%n", method.getSimpleName(), eventTypeName);
+                writer.printf("        }%n");
+            }
+            writer.printf("    }%n");
+
+            writer.printf("}%n");
+        }
+
+        return adapterName;
+    }
+
+    private void writeIndex(Map<TypeElement, String> adapters) throws IOException {
+        if (adapters.isEmpty()) {
+            return;
+        }
+
+        String indexName = processingEnv.getOptions().get(INDEX_OPTION);
+        if (indexName == null) {
+            TypeElement first = adapters.keySet().iterator().next();
+            String packageName = processingEnv.getElementUtils().getPackageOf(first).getQualifiedName().toString();
+            indexName = packageName.isEmpty() ? DEFAULT_INDEX_NAME : packageName + "." + DEFAULT_INDEX_NAME;
+        }
+
+        int lastDot = indexName.lastIndexOf('.');
+        String packageName = lastDot < 0 ? "" : indexName.substring(0, lastDot);
+        String simpleName = indexName.substring(lastDot + 1);
+
+        Element[] originatingElements = adapters.keySet().toArray(new Element[0]);
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(indexName, originatingElements);
+        try (PrintWriter writer = new PrintWriter(file.openWriter())) {
+            if (!packageName.isEmpty()) {
+                writer.printf("package %s;%n%n", packageName);
+            }
+
+            writer.printf("public final class %s implements %s {%n%n", simpleName, INDEX_TYPE);
+            writer.printf("    private static final java.util.Map<Class<?>, %s> ADAPTERS = new java.util.HashMap<>();%n%n",
+                    ADAPTER_TYPE);
+            writer.printf("    static {%n");
+            for (Map.Entry<TypeElement, String> entry : adapters.entrySet()) {
+                writer.printf("        ADAPTERS.put(%s.class, new %s());%n",
+                        processingEnv.getTypeUtils().erasure(entry.getKey().asType()), entry.getValue());
+            }
+            writer.printf("    }%n%n");
+
+            writer.printf("    @Override%n");
+            writer.printf("    public %s getAdapter(Class<?> subscriberType) {%n", ADAPTER_TYPE);
+            writer.printf("        return ADAPTERS.get(subscriberType);%n");
+            writer.printf("    }%n");
+            writer.printf("}%n");
+        }
+
+        FileObject serviceFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT,
+                "", "META-INF/services/" + INDEX_TYPE, originatingElements);
+        try (Writer writer = serviceFile.openWriter()) {
+            writer.write(indexName);
+            writer.write(System.lineSeparator());
+        }
+    }
+
+    private boolean isAccessibleType(TypeElement type) {
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            TypeElement currentType = (TypeElement) current;
+            if (currentType.getModifiers().contains(Modifier.PRIVATE) ||
+                    currentType.getNestingKind() == NestingKind.LOCAL ||
+                    currentType.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private String binarySimpleName(TypeElement type) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        return binaryName.substring(binaryName.lastIndexOf('.') + 1);
+    }
+
+    private String eventTypeName(ExecutableElement method) {
+        return processingEnv.getTypeUtils().erasure(method.getParameters().get(0).asType()).toString();
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        if (element.getQualifiedName().contentEquals(Object.class.getName())) {
+            return null;
+        }
+
+        return element;
+    }
+
+    private boolean isAnnotatedWith(Element element, TypeElement annotation) {
+        Types types = processingEnv.getTypeUtils();
+        return element.getAnnotationMirrors().stream()
+                .anyMatch((mirror)->types.isSameType(mirror.getAnnotationType(), annotation.asType()));
+    }
+
+    private void error(Element element, String message) {
+        messager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void note(Element element, String message) {
+        messager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+
+    private Messager messager() {
+        return processingEnv.getMessager();
+    }
+}
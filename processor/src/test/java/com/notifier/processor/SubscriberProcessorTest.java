@@ -0,0 +1,135 @@
+package com.notifier.processor;
+
+import com.notifier.Event;
+import com.notifier.SubscriberAdapter;
+import com.notifier.SubscriberIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SubscriberProcessorTest {
+
+    private static final String SUBSCRIBER_SOURCE = String.join("\n",
+            "package test;",
+            "import com.notifier.Event;",
+            "import com.notifier.Listener;",
+            "import com.notifier.Subscribe;",
+            "import java.util.function.Consumer;",
+            "public class FakeSubscriber implements Listener {",
+            "    public static class FakeEvent implements Event {}",
+            "    public final Consumer<Event> mCallback;",
+            "    public FakeSubscriber(Consumer<Event> callback) { mCallback = callback; }",
+            "    @Subscribe",
+            "    void onFakeEvent(FakeEvent event) { mCallback.accept(event); }",
+            "}");
+
+    private static final String PRIVATE_SUBSCRIBER_SOURCE = String.join("\n",
+            "package test;",
+            "import com.notifier.Event;",
+            "import com.notifier.Listener;",
+            "import com.notifier.Subscribe;",
+            "public class Outer {",
+            "    private static class PrivateSubscriber implements Listener {",
+            "        @Subscribe",
+            "        public void onEvent(Event event) {}",
+            "    }",
+            "}");
+
+    @TempDir
+    Path mOutputDir;
+
+    @Test
+    public void process_forSubscriber_generatesIndexedAdapter() throws Exception {
+        compile(Collections.singletonList(source("test.FakeSubscriber", SUBSCRIBER_SOURCE)));
+
+        Path serviceFile = mOutputDir.resolve("META-INF/services/com.notifier.SubscriberIndex");
+        assertThat(Files.readAllLines(serviceFile), contains("test.NotifierSubscriberIndex"));
+
+        try (URLClassLoader classLoader = newClassLoader()) {
+            Class<?> subscriberType = classLoader.loadClass("test.FakeSubscriber");
+            Class<?> eventType = classLoader.loadClass("test.FakeSubscriber$FakeEvent");
+
+            SubscriberIndex index = (SubscriberIndex) classLoader.loadClass("test.NotifierSubscriberIndex").newInstance();
+            SubscriberAdapter adapter = index.getAdapter(subscriberType);
+            assertThat(adapter, notNullValue());
+            assertThat(adapter.handles(eventType.asSubclass(Event.class)), is(true));
+            assertThat(adapter.handles(Event.class), is(false));
+
+            Event[] received = new Event[1];
+            Object subscriber = subscriberType.getConstructor(Consumer.class)
+                    .newInstance((Consumer<Event>) (e)-> received[0] = e);
+            Event event = (Event) eventType.newInstance();
+            adapter.call(subscriber, event);
+
+            assertThat(received[0], equalTo(event));
+        }
+    }
+
+    @Test
+    public void process_forPrivateSubscriber_doesNotGenerateAdapter() throws Exception {
+        compile(Collections.singletonList(source("test.Outer", PRIVATE_SUBSCRIBER_SOURCE)));
+
+        try (URLClassLoader classLoader = newClassLoader()) {
+            assertThat(classLoader.getResource("test/Outer_PrivateSubscriber_SubscriberAdapter.class"), nullValue());
+        }
+    }
+
+    private void compile(List<JavaFileObject> sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(mOutputDir.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singleton(mOutputDir.toFile()));
+
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    Arrays.asList("-classpath", System.getProperty("java.class.path")), null, sources);
+            task.setProcessors(Collections.singletonList(new SubscriberProcessor()));
+
+            boolean success = task.call();
+            assertThat(diagnostics.getDiagnostics().stream()
+                    .filter((d)-> d.getKind() == Diagnostic.Kind.ERROR)
+                    .toArray(), equalTo(new Object[0]));
+            assertThat(success, is(true));
+        }
+    }
+
+    private URLClassLoader newClassLoader() throws Exception {
+        return new URLClassLoader(new URL[] {mOutputDir.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    private static JavaFileObject source(String className, String content) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+}
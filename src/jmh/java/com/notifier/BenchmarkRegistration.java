@@ -0,0 +1,46 @@
+package com.notifier;
+
+import java.util.function.Predicate;
+
+/**
+ * How listeners are registered to a controller in benchmarks. All registrations accept
+ * {@link BenchmarkEvent.Empty}, so every registered listener is called for it.
+ */
+public enum BenchmarkRegistration {
+    PLAIN {
+        @Override
+        public RegisteredListener register(EventController eventController, Listener listener, int index) {
+            return eventController.registerListener(listener);
+        }
+    },
+    TYPED {
+        @Override
+        public RegisteredListener register(EventController eventController, Listener listener, int index) {
+            return eventController.registerListenerForEvent(listener, BenchmarkEvent.Empty.class);
+        }
+    },
+    PREDICATED {
+        @Override
+        public RegisteredListener register(EventController eventController, Listener listener, int index) {
+            return eventController.registerListener(listener, EMPTY_EVENT_PREDICATE);
+        }
+    },
+    MIXED {
+        @Override
+        public RegisteredListener register(EventController eventController, Listener listener, int index) {
+            BenchmarkRegistration[] registrations = {PLAIN, TYPED, PREDICATED};
+            return registrations[index % registrations.length].register(eventController, listener, index);
+        }
+    }
+    ;
+
+    private static final Predicate<Event> EMPTY_EVENT_PREDICATE = (e)-> e instanceof BenchmarkEvent.Empty;
+
+    public abstract RegisteredListener register(EventController eventController, Listener listener, int index);
+
+    public void registerAll(EventController eventController, int listenersCount) {
+        for (int i = 0; i < listenersCount; i++) {
+            register(eventController, new BenchmarkListener.Empty(), i);
+        }
+    }
+}
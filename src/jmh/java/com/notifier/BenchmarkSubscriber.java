@@ -0,0 +1,11 @@
+package com.notifier;
+
+public interface BenchmarkSubscriber extends Listener {
+
+    class Empty implements BenchmarkSubscriber {
+
+        @Subscribe
+        public void onEvent(BenchmarkEvent event) {
+        }
+    }
+}
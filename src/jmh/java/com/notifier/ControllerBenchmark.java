@@ -1,26 +1,34 @@
 package com.notifier;
 
+import com.notifier.dispatchers.SyncrounousDispatcher;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 @State(Scope.Thread)
+@Threads(4)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
 public class ControllerBenchmark {
 
-    @Param({"DISPATCHING"})
+    @Param({"DISPATCHING", "DISPATCHING_SYNCHRONOUS"})
     public ControllerImpl mControllerImpl;
 
     private EventController mEventController;
+    private EventController mSubscriberController;
     private BenchmarkEvent mEvent;
     private Class<BenchmarkEvent> mEventType;
     private Class<BenchmarkListener> mListenerType;
@@ -33,6 +41,10 @@ public class ControllerBenchmark {
                 .collect(Collectors.toList());
 
         mEventController = mControllerImpl.createWithListeners(listeners);
+        mSubscriberController = mControllerImpl.createWithListeners(new ArrayList<>());
+        for (int i = 0; i < 20; i++) {
+            mSubscriberController.registerSubscriber(new BenchmarkSubscriber.Empty());
+        }
         mEvent = new BenchmarkEvent.Empty();
         mEventType = BenchmarkEvent.class;
         mListenerType = BenchmarkListener.class;
@@ -46,12 +58,24 @@ public class ControllerBenchmark {
         mEventController.fire(mEvent, mEventType, mListenerType, mListenerCaller);
     }
 
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput})
+    public void fire_withEmptySubscribers() {
+        mSubscriberController.fire(mEvent, mEventType);
+    }
+
     public enum ControllerImpl {
         DISPATCHING {
             @Override
             EventController createWithListeners(Collection<Listener> listeners) {
                 return new DispatchingController(new EmptyEventDispatcher(), listeners);
             }
+        },
+        DISPATCHING_SYNCHRONOUS {
+            @Override
+            EventController createWithListeners(Collection<Listener> listeners) {
+                return new DispatchingController(new SyncrounousDispatcher(), listeners);
+            }
         }
         ;
 
@@ -0,0 +1,166 @@
+package com.notifier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Fires events to controllers with real dispatchers and threads, and waits until all listeners were called,
+ * so queueing, handing calls over to other threads and the calls themselves are all measured. The full
+ * parameter space is large, and is meant to be narrowed with <code>-p</code>.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FireBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ControllerState {
+
+        @Param({"SYNCHRONOUS", "BLOCKING", "QUEUED_BLOCKING_HANDLER", "QUEUED_PERIODIC_HANDLER",
+                "EXECUTOR_FIXED_POOL", "EXECUTOR_CHUNKED_FORK_JOIN"})
+        public DispatcherImpl mDispatcherImpl;
+
+        @Param({"1", "10", "100", "1000", "10000", "100000"})
+        public int mListenersCount;
+
+        @Param({"PLAIN", "TYPED", "PREDICATED", "MIXED"})
+        public BenchmarkRegistration mRegistration;
+
+        private List<ExecutorService> mExecutors;
+        private EventController mEventController;
+
+        @Setup(Level.Trial)
+        public void setup(BenchmarkParams params) {
+            if (mDispatcherImpl == DispatcherImpl.QUEUED_PERIODIC_HANDLER && params.getThreads() > 1) {
+                // the periodic handler queue is not thread-safe, concurrent producers may lose events
+                throw new IllegalStateException("periodic handler supports a single producer");
+            }
+
+            mExecutors = new ArrayList<>();
+            mEventController = mDispatcherImpl.create(mExecutors);
+            mRegistration.registerAll(mEventController, mListenersCount);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            for (ExecutorService executor : mExecutors) {
+                executor.shutdownNow();
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ProducerState {
+
+        private AtomicLong mCalls;
+        private long mExpectedCalls;
+        private BenchmarkEvent mEvent;
+        private BiConsumer<BenchmarkListener, BenchmarkEvent> mListenerCaller;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            mCalls = new AtomicLong();
+            mExpectedCalls = 0;
+            mEvent = new BenchmarkEvent.Empty();
+            mListenerCaller = (l, e)-> {
+                l.onEvent(e);
+                mCalls.incrementAndGet();
+            };
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void fire_with1Producer(ControllerState controllerState, ProducerState producerState) {
+        fireAndAwait(controllerState, producerState);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void fire_with4Producers(ControllerState controllerState, ProducerState producerState) {
+        fireAndAwait(controllerState, producerState);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void fire_with16Producers(ControllerState controllerState, ProducerState producerState) {
+        fireAndAwait(controllerState, producerState);
+    }
+
+    private static void fireAndAwait(ControllerState controllerState, ProducerState producerState) {
+        producerState.mExpectedCalls += controllerState.mListenersCount;
+        controllerState.mEventController.fire(producerState.mEvent, BenchmarkEvent.class, BenchmarkListener.class,
+                producerState.mListenerCaller);
+
+        while (producerState.mCalls.get() < producerState.mExpectedCalls) {
+            Thread.yield();
+        }
+    }
+
+    public enum DispatcherImpl {
+        SYNCHRONOUS {
+            @Override
+            EventController create(List<ExecutorService> executors) {
+                return Controllers.newSyncExecutionController();
+            }
+        },
+        BLOCKING {
+            @Override
+            EventController create(List<ExecutorService> executors) {
+                return Controllers.newBlockingController(track(executors, Executors.newFixedThreadPool(4)));
+            }
+        },
+        QUEUED_BLOCKING_HANDLER {
+            @Override
+            EventController create(List<ExecutorService> executors) {
+                return Controllers.newSingleThreadController(track(executors, Executors.newSingleThreadExecutor()));
+            }
+        },
+        QUEUED_PERIODIC_HANDLER {
+            @Override
+            EventController create(List<ExecutorService> executors) {
+                return Controllers.newPeriodicDispatchingController(
+                        track(executors, Executors.newSingleThreadScheduledExecutor()), 10);
+            }
+        },
+        EXECUTOR_FIXED_POOL {
+            @Override
+            EventController create(List<ExecutorService> executors) {
+                return Controllers.newExecutorBasedController(track(executors, Executors.newFixedThreadPool(4)));
+            }
+        },
+        EXECUTOR_CHUNKED_FORK_JOIN {
+            @Override
+            EventController create(List<ExecutorService> executors) {
+                return Controllers.newChunkedExecutorBasedController(track(executors, new ForkJoinPool()));
+            }
+        }
+        ;
+
+        abstract EventController create(List<ExecutorService> executors);
+
+        private static <T extends ExecutorService> T track(List<ExecutorService> executors, T executor) {
+            executors.add(executor);
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.notifier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Fires 8 different event types to listeners of 4 different classes, so that shared
+ * dispatching call sites see many different listeners and listener calls.
+ */
+@State(Scope.Thread)
+@Threads(4)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MultiTypeControllerBenchmark {
+
+    @Param({"SYNCHRONOUS", "SPECIALIZED"})
+    public ControllerImpl mControllerImpl;
+
+    @Param({"20"})
+    public int mListenersCount;
+
+    private EventController mEventController;
+    private Event0 mEvent0;
+    private Event1 mEvent1;
+    private Event2 mEvent2;
+    private Event3 mEvent3;
+    private Event4 mEvent4;
+    private Event5 mEvent5;
+    private Event6 mEvent6;
+    private Event7 mEvent7;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mEventController = mControllerImpl.create();
+
+        Supplier<?>[] listenerFactories = {
+                Listener0::new, Listener1::new, Listener2::new, Listener3::new
+        };
+        for (int i = 0; i < mListenersCount; i++) {
+            mEventController.registerListener((Listener) listenerFactories[i % listenerFactories.length].get());
+        }
+
+        mEvent0 = new Event0();
+        mEvent1 = new Event1();
+        mEvent2 = new Event2();
+        mEvent3 = new Event3();
+        mEvent4 = new Event4();
+        mEvent5 = new Event5();
+        mEvent6 = new Event6();
+        mEvent7 = new Event7();
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput})
+    public void fire_withManyEventTypes() {
+        mEventController.fire(mEvent0, Event0.class, MultiListener.class, MultiListener::on0);
+        mEventController.fire(mEvent1, Event1.class, MultiListener.class, MultiListener::on1);
+        mEventController.fire(mEvent2, Event2.class, MultiListener.class, MultiListener::on2);
+        mEventController.fire(mEvent3, Event3.class, MultiListener.class, MultiListener::on3);
+        mEventController.fire(mEvent4, Event4.class, MultiListener.class, MultiListener::on4);
+        mEventController.fire(mEvent5, Event5.class, MultiListener.class, MultiListener::on5);
+        mEventController.fire(mEvent6, Event6.class, MultiListener.class, MultiListener::on6);
+        mEventController.fire(mEvent7, Event7.class, MultiListener.class, MultiListener::on7);
+    }
+
+    public enum ControllerImpl {
+        SYNCHRONOUS {
+            @Override
+            EventController create() {
+                return Controllers.newSyncExecutionController();
+            }
+        },
+        SPECIALIZED {
+            @Override
+            EventController create() {
+                return Controllers.newSpecializedSyncExecutionController();
+            }
+        }
+        ;
+
+        abstract EventController create();
+    }
+
+    public static class Event0 implements Event {
+    }
+
+    public static class Event1 implements Event {
+    }
+
+    public static class Event2 implements Event {
+    }
+
+    public static class Event3 implements Event {
+    }
+
+    public static class Event4 implements Event {
+    }
+
+    public static class Event5 implements Event {
+    }
+
+    public static class Event6 implements Event {
+    }
+
+    public static class Event7 implements Event {
+    }
+
+    public interface MultiListener extends Listener {
+        void on0(Event0 event);
+        void on1(Event1 event);
+        void on2(Event2 event);
+        void on3(Event3 event);
+        void on4(Event4 event);
+        void on5(Event5 event);
+        void on6(Event6 event);
+        void on7(Event7 event);
+    }
+
+    public static class Listener0 implements MultiListener {
+
+        long mCalls;
+
+        @Override
+        public void on0(Event0 event) {
+            mCalls += 1;
+        }
+
+        @Override
+        public void on1(Event1 event) {
+            mCalls += 1;
+        }
+
+        @Override
+        public void on2(Event2 event) {
+            mCalls += 1;
+        }
+
+        @Override
+        public void on3(Event3 event) {
+            mCalls += 1;
+        }
+
+        @Override
+        public void on4(Event4 event) {
+            mCalls += 1;
+        }
+
+        @Override
+        public void on5(Event5 event) {
+            mCalls += 1;
+        }
+
+        @Override
+        public void on6(Event6 event) {
+            mCalls += 1;
+        }
+
+        @Override
+        public void on7(Event7 event) {
+            mCalls += 1;
+        }
+    }
+
+    public static class Listener1 implements MultiListener {
+
+        long mCalls;
+
+        @Override
+        public void on0(Event0 event) {
+            mCalls += 2;
+        }
+
+        @Override
+        public void on1(Event1 event) {
+            mCalls += 2;
+        }
+
+        @Override
+        public void on2(Event2 event) {
+            mCalls += 2;
+        }
+
+        @Override
+        public void on3(Event3 event) {
+            mCalls += 2;
+        }
+
+        @Override
+        public void on4(Event4 event) {
+            mCalls += 2;
+        }
+
+        @Override
+        public void on5(Event5 event) {
+            mCalls += 2;
+        }
+
+        @Override
+        public void on6(Event6 event) {
+            mCalls += 2;
+        }
+
+        @Override
+        public void on7(Event7 event) {
+            mCalls += 2;
+        }
+    }
+
+    public static class Listener2 implements MultiListener {
+
+        long mCalls;
+
+        @Override
+        public void on0(Event0 event) {
+            mCalls += 3;
+        }
+
+        @Override
+        public void on1(Event1 event) {
+            mCalls += 3;
+        }
+
+        @Override
+        public void on2(Event2 event) {
+            mCalls += 3;
+        }
+
+        @Override
+        public void on3(Event3 event) {
+            mCalls += 3;
+        }
+
+        @Override
+        public void on4(Event4 event) {
+            mCalls += 3;
+        }
+
+        @Override
+        public void on5(Event5 event) {
+            mCalls += 3;
+        }
+
+        @Override
+        public void on6(Event6 event) {
+            mCalls += 3;
+        }
+
+        @Override
+        public void on7(Event7 event) {
+            mCalls += 3;
+        }
+    }
+
+    public static class Listener3 implements MultiListener {
+
+        long mCalls;
+
+        @Override
+        public void on0(Event0 event) {
+            mCalls += 4;
+        }
+
+        @Override
+        public void on1(Event1 event) {
+            mCalls += 4;
+        }
+
+        @Override
+        public void on2(Event2 event) {
+            mCalls += 4;
+        }
+
+        @Override
+        public void on3(Event3 event) {
+            mCalls += 4;
+        }
+
+        @Override
+        public void on4(Event4 event) {
+            mCalls += 4;
+        }
+
+        @Override
+        public void on5(Event5 event) {
+            mCalls += 4;
+        }
+
+        @Override
+        public void on6(Event6 event) {
+            mCalls += 4;
+        }
+
+        @Override
+        public void on7(Event7 event) {
+            mCalls += 4;
+        }
+    }
+}
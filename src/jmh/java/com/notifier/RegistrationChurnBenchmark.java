@@ -0,0 +1,90 @@
+package com.notifier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Registers and unregisters a listener while events are fired to the other listeners of the same controller,
+ * to measure how changes to the listeners affect fires, and how the amount of listeners affects changes.
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RegistrationChurnBenchmark {
+
+    @Param({"SYNCHRONOUS", "SPECIALIZED"})
+    public ControllerImpl mControllerImpl;
+
+    @Param({"1", "10", "100", "1000", "10000", "100000"})
+    public int mListenersCount;
+
+    @Param({"PLAIN", "TYPED", "PREDICATED", "MIXED"})
+    public BenchmarkRegistration mRegistration;
+
+    private EventController mEventController;
+    private BenchmarkEvent mEvent;
+    private BiConsumer<BenchmarkListener, BenchmarkEvent> mListenerCaller;
+    private Listener mChurnListener;
+    private int mChurnIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mEventController = mControllerImpl.create();
+        mRegistration.registerAll(mEventController, mListenersCount);
+
+        mEvent = new BenchmarkEvent.Empty();
+        mListenerCaller = BenchmarkListener::onEvent;
+        mChurnListener = new BenchmarkListener.Empty();
+        mChurnIndex = 0;
+    }
+
+    @Benchmark
+    @Group("withoutChurn")
+    @GroupThreads(1)
+    public void fire_withoutChurn() {
+        mEventController.fire(mEvent, BenchmarkEvent.class, BenchmarkListener.class, mListenerCaller);
+    }
+
+    @Benchmark
+    @Group("withChurn")
+    @GroupThreads(1)
+    public void fire_withChurn() {
+        mEventController.fire(mEvent, BenchmarkEvent.class, BenchmarkListener.class, mListenerCaller);
+    }
+
+    @Benchmark
+    @Group("withChurn")
+    @GroupThreads(1)
+    public void registerAndUnregister_withFires() {
+        mRegistration.register(mEventController, mChurnListener, mChurnIndex++).unregister();
+    }
+
+    public enum ControllerImpl {
+        SYNCHRONOUS(Controllers::newSyncExecutionController),
+        SPECIALIZED(Controllers::newSpecializedSyncExecutionController)
+        ;
+
+        private final Supplier<EventController> mFactory;
+
+        ControllerImpl(Supplier<EventController> factory) {
+            mFactory = factory;
+        }
+
+        EventController create() {
+            return mFactory.get();
+        }
+    }
+}
@@ -9,22 +9,27 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 @State(Scope.Thread)
+@Threads(4)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
 public class DispatcherBenchmark {
 
-    @Param({"SYNCHRONOUS", "EXECUTOR_BASED_EMPTY"})
+    @Param({"SYNCHRONOUS", "EXECUTOR_BASED_EMPTY", "EXECUTOR_BASED_CHUNKED_EMPTY"})
     public DispatcherImpl mDispatcherImpl;
 
     private EventDispatcher mEventDispatcher;
@@ -65,6 +70,12 @@ public class DispatcherBenchmark {
             EventDispatcher create() {
                 return new ExecutorBasedDispatcher(new EmptyExecutor());
             }
+        },
+        EXECUTOR_BASED_CHUNKED_EMPTY {
+            @Override
+            EventDispatcher create() {
+                return new ExecutorBasedDispatcher(new EmptyExecutor(), 4);
+            }
         }
         ;
 
@@ -0,0 +1,139 @@
+package com.notifier.dispatchers;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of queueing a task while an increasing amount of producer threads queue concurrently,
+ * with a single consumer thread taking the tasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProducerContentionBenchmark {
+
+    private static final int MAX_PENDING_PER_PRODUCER = 1 << 16;
+
+    @State(Scope.Benchmark)
+    public static class QueueState {
+
+        @Param({"LINKED_BLOCKING", "PRODUCER_LANES"})
+        public QueueImpl mQueueImpl;
+
+        private BlockingQueue<Runnable> mQueue;
+        private Thread mConsumer;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            mQueue = mQueueImpl.create();
+
+            mConsumer = new Thread(()-> {
+                try {
+                    while (!Thread.interrupted()) {
+                        mQueue.take().run();
+                    }
+                } catch (InterruptedException e) {
+                }
+            }, "benchmark-consumer");
+            mConsumer.setDaemon(true);
+            mConsumer.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            mConsumer.interrupt();
+            mConsumer.join();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ProducerState {
+
+        private Runnable mTask;
+        private long mProduced;
+        private volatile long mConsumed;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            mTask = ()-> mConsumed++;
+            mProduced = 0;
+            mConsumed = 0;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void offer_with1Producer(QueueState queueState, ProducerState producerState) {
+        offer(queueState, producerState);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void offer_with2Producers(QueueState queueState, ProducerState producerState) {
+        offer(queueState, producerState);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void offer_with4Producers(QueueState queueState, ProducerState producerState) {
+        offer(queueState, producerState);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void offer_with8Producers(QueueState queueState, ProducerState producerState) {
+        offer(queueState, producerState);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void offer_with16Producers(QueueState queueState, ProducerState producerState) {
+        offer(queueState, producerState);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void offer_with32Producers(QueueState queueState, ProducerState producerState) {
+        offer(queueState, producerState);
+    }
+
+    private static void offer(QueueState queueState, ProducerState producerState) {
+        // keep the queue from growing without bound when the consumer falls behind
+        while (producerState.mProduced - producerState.mConsumed >= MAX_PENDING_PER_PRODUCER) {
+            Thread.yield();
+        }
+
+        queueState.mQueue.offer(producerState.mTask);
+        producerState.mProduced++;
+    }
+
+    public enum QueueImpl {
+        LINKED_BLOCKING {
+            @Override
+            BlockingQueue<Runnable> create() {
+                return new LinkedBlockingQueue<>();
+            }
+        },
+        PRODUCER_LANES {
+            @Override
+            BlockingQueue<Runnable> create() {
+                return new ProducerLanesQueue();
+            }
+        }
+        ;
+
+        abstract BlockingQueue<Runnable> create();
+    }
+}
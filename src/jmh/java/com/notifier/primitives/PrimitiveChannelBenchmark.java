@@ -0,0 +1,134 @@
+package com.notifier.primitives;
+
+import com.notifier.BenchmarkEvent;
+import com.notifier.BenchmarkListener;
+import com.notifier.DispatchingController;
+import com.notifier.Event;
+import com.notifier.EventController;
+import com.notifier.Listener;
+import com.notifier.dispatchers.SyncrounousDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares firing primitive payloads through channels, with firing through a controller as in
+ * {@code ControllerBenchmark.fire_withEmptyListeners}, both with a reused event and with an event
+ * allocated for each value. Run with {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Thread)
+@Threads(4)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PrimitiveChannelBenchmark {
+
+    private static final int LISTENERS = 20;
+
+    private EventController mEventController;
+    private BenchmarkEvent mEvent;
+    private LongChannel mLongChannel;
+    private DoubleChannel mDoubleChannel;
+    private IntLongChannel mIntLongChannel;
+    private LongChannel mQueuedLongChannel;
+    private ExecutorService mExecutorService;
+    private long mValue;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mEventController = new DispatchingController(new SyncrounousDispatcher());
+        mEvent = new BenchmarkEvent.Empty();
+        mLongChannel = new LongChannel();
+        mDoubleChannel = new DoubleChannel();
+        mIntLongChannel = new IntLongChannel();
+        mExecutorService = Executors.newSingleThreadExecutor();
+        mQueuedLongChannel = new LongChannel(mExecutorService, 1 << 16);
+
+        for (int i = 0; i < LISTENERS; i++) {
+            mEventController.registerListener(new EmptyListener());
+            mLongChannel.registerListener((value)-> {});
+            mDoubleChannel.registerListener((value)-> {});
+            mIntLongChannel.registerListener((key, value)-> {});
+            mQueuedLongChannel.registerListener((value)-> {});
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mExecutorService.shutdownNow();
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput})
+    public void controller_fireWithEmptyListeners() {
+        mEventController.fire(mEvent, BenchmarkEvent.class, BenchmarkListener.class, BenchmarkListener::onEvent);
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput})
+    public void controller_fireValueEvent() {
+        mEventController.fire(new ValueEvent(mValue++), ValueEvent.class, ValueListener.class, ValueListener::onValue);
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput})
+    public void longChannel_fire() {
+        mLongChannel.fire(mValue++);
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput})
+    public void doubleChannel_fire() {
+        mDoubleChannel.fire(mValue++);
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput})
+    public void intLongChannel_fire() {
+        mIntLongChannel.fire(7, mValue++);
+    }
+
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput})
+    public void queuedLongChannel_fire() {
+        mQueuedLongChannel.fire(mValue++);
+    }
+
+    public static class ValueEvent implements Event {
+
+        private final long mValue;
+
+        public ValueEvent(long value) {
+            mValue = value;
+        }
+
+        public long getValue() {
+            return mValue;
+        }
+    }
+
+    public interface ValueListener extends Listener {
+
+        void onValue(ValueEvent event);
+    }
+
+    private static class EmptyListener implements BenchmarkListener, ValueListener {
+
+        @Override
+        public void onEvent(BenchmarkEvent event) {
+        }
+
+        @Override
+        public void onValue(ValueEvent event) {
+        }
+    }
+}
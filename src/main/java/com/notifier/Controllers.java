@@ -1,16 +1,23 @@
 package com.notifier;
 
 import com.notifier.dispatchers.BlockingDispatcher;
+import com.notifier.dispatchers.ElasticQueuedDispatcher;
 import com.notifier.dispatchers.ExecutorBasedDispatcher;
+import com.notifier.dispatchers.ProducerLanesQueue;
 import com.notifier.dispatchers.QueuedDispatcher;
 import com.notifier.dispatchers.SyncrounousDispatcher;
+import com.notifier.dispatchers.WeightedFairQueue;
+import com.notifier.journal.DurableEventQueue;
+import com.notifier.journal.DurableQueuedDispatcher;
 
+import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class Controllers {
 
@@ -31,6 +38,25 @@ public class Controllers {
         return new DispatchingController(new SyncrounousDispatcher());
     }
 
+    /**
+     * <p>
+     *     Creates a new {@link EventController} which dispatches events in the same
+     *     thread of the call, blocking the call to {@link EventController#fire(Event, Class, Class, BiConsumer) fire}
+     *     until all listeners have finished.
+     * </p>
+     * <p>
+     *     Unlike {@link #newSyncExecutionController()}, each pair of event type and listener type is dispatched
+     *     by a separately generated dispatching class, with the listeners for the pair resolved in advance.
+     *     This allows the JIT to inline listener calls, even when a lot of different events and listeners are used,
+     *     at the cost of more expensive registration. See {@link SpecializingController}.
+     * </p>
+     *
+     * @return event controller
+     */
+    public static EventController newSpecializedSyncExecutionController() {
+        return new SpecializingController();
+    }
+
     /**
      * <p>
      *     Creates a new {@link EventController} which dispatches events using the
@@ -48,6 +74,27 @@ public class Controllers {
         return new DispatchingController(new ExecutorBasedDispatcher(executor));
     }
 
+    /**
+     * <p>
+     *     Creates a new {@link EventController} which dispatches events using the
+     *     given {@link Executor}, like {@link #newExecutorBasedController(Executor)}, but instead of a task for each
+     *     listener, the listeners of each fire are split between as many tasks as the executor can run in parallel.
+     *     This reduces the overhead of submitting tasks and waking threads when events have a lot of listeners.
+     * </p>
+     * <p>
+     *     Listeners in the same task are called one after the other, so a slow listener delays the listeners
+     *     following it in its task. Use {@link #newExecutorBasedController(Executor)} when listeners should be
+     *     isolated from each other.
+     * </p>
+     *
+     * @param executor executor for running listeners
+     *
+     * @return event controller
+     */
+    public static EventController newChunkedExecutorBasedController(Executor executor) {
+        return new DispatchingController(ExecutorBasedDispatcher.chunked(executor));
+    }
+
     /**
      * <p>
      *     Creates a new {@link EventController} which dispatches events using the
@@ -134,6 +181,195 @@ public class Controllers {
         return new DispatchingController(QueuedDispatcher.withBlockingHandler(executor));
     }
 
+    /**
+     * <p>
+     *     Creates a new {@link EventController} which dispatches all events in a separate thread, like
+     *     {@link #newSingleThreadController()}, but without contention between the firing threads.
+     *     Each firing thread queues listener calls in a queue of its own, and the dispatching thread takes
+     *     calls from these queues in turns.
+     * </p>
+     * <p>
+     *     Events fired from the same thread are dispatched by order, while there is no order between events
+     *     fired from different threads. This is preferable when many threads fire events concurrently.
+     * </p>
+     * <p>
+     *     The created thread is a daemon thread.
+     * </p>
+     *
+     * @return event controller
+     *
+     * @see ProducerLanesQueue
+     */
+    public static EventController newProducerLanesSingleThreadController() {
+        return new DispatchingController(QueuedDispatcher.withBlockingHandler(new ProducerLanesQueue()));
+    }
+
+    /**
+     * <p>
+     *     Creates a new {@link EventController} which dispatches all events in a separate thread, without
+     *     contention between the firing threads, as described in {@link #newProducerLanesSingleThreadController()}.
+     * </p>
+     * <p>
+     *     The thread is used in provided by <code>executor</code> by submitting a task via
+     *     {@link Executor#execute(Runnable)}, which should execute the runnable without stop.
+     * </p>
+     *
+     * @param executor {@link Executor} to use for running the dispatching task.
+     *
+     * @return event controller
+     */
+    public static EventController newProducerLanesSingleThreadController(Executor executor) {
+        return new DispatchingController(QueuedDispatcher.withBlockingHandler(executor, new ProducerLanesQueue()));
+    }
+
+    /**
+     * <p>
+     *     Creates a new {@link EventController} which dispatches events by a pool of workers which grows and shrinks
+     *     with the amount of pending listener calls. Listener calls are queued, and taken by at least <code>minWorkers</code>
+     *     workers. When more than 16 calls per worker are pending, another worker is started, up to <code>maxWorkers</code>.
+     *     Workers which stay idle for a minute are stopped, down to <code>minWorkers</code>.
+     * </p>
+     * <p>
+     *     Workers are run by submitting tasks to <code>executor</code> via {@link Executor#execute(Runnable)}, which should
+     *     be able to run up to <code>maxWorkers</code> tasks concurrently, without stop.
+     * </p>
+     * <p>
+     *     Listener calls are not ordered, and listeners may be called concurrently from different workers.
+     *     Use this implementation only for listeners which do not rely on order.
+     * </p>
+     *
+     * @param executor {@link Executor} to use for running the workers.
+     * @param minWorkers amount of workers to keep running while idle.
+     * @param maxWorkers maximum amount of workers to run.
+     *
+     * @return event controller
+     *
+     * @see ElasticQueuedDispatcher
+     */
+    public static EventController newElasticController(Executor executor, int minWorkers, int maxWorkers) {
+        return new DispatchingController(QueuedDispatcher.withElasticBlockingHandler(executor, minWorkers, maxWorkers));
+    }
+
+    /**
+     * <p>
+     *     Creates a new {@link EventController} which dispatches all events in a separate thread, by order,
+     *     queueing them on disk in the given {@link DurableEventQueue}. Pending events survive restarts of the
+     *     process. The listener calls of events fired by this process are kept in memory until dispatched,
+     *     while events left by a previous run are read from disk as they are dispatched.
+     * </p>
+     * <p>
+     *     Events left in the queue by a previous run are passed to the subscribers of the controller
+     *     (see {@link EventController#fire(Event, Class)}), since the listener calls they were fired with are
+     *     not stored. Such events may be passed more than once, if the process stopped while dispatching them.
+     * </p>
+     * <p>
+     *     The controller does not dispatch until {@link DurableController#start() started}, so that subscribers
+     *     can be registered before events left by a previous run are dispatched. The created thread is a
+     *     daemon thread.
+     * </p>
+     *
+     * @param queue queue for storing pending events.
+     *
+     * @return event controller, to be started after registering subscribers.
+     *
+     * @see DurableQueuedDispatcher
+     */
+    public static DurableController newDurableSingleThreadController(DurableEventQueue queue) {
+        return new DurableController(queue);
+    }
+
+    /**
+     * <p>
+     *     Creates a new {@link EventController} which dispatches all events in a separate thread, by
+     *     {@link Priority priority}. Listener calls are queued in a separate lane for each priority, which is the
+     *     higher of the event priority and the listener priority (see {@link Prioritized}). Calls of the same priority
+     *     are dispatched by order.
+     * </p>
+     * <p>
+     *     The lanes are drained by the given weights: while several lanes have pending calls, each dispatches up to
+     *     its weight in calls before lower priority lanes are given their turn. This keeps high priority calls from
+     *     waiting behind floods of low priority calls, without starving the low priority calls entirely.
+     * </p>
+     * <p>
+     *     The created thread is a daemon thread.
+     * </p>
+     *
+     * @param drainWeights weight of each priority lane, priorities not included have a weight of 1.
+     *
+     * @return event controller
+     */
+    public static EventController newPrioritizedSingleThreadController(Map<Priority, Integer> drainWeights) {
+        return new DispatchingController(QueuedDispatcher.withPriorityBlockingHandler(drainWeights));
+    }
+
+    /**
+     * <p>
+     *     Creates a new {@link EventController} which dispatches all events in a separate thread, by
+     *     {@link Priority priority}, as described in {@link #newPrioritizedSingleThreadController(Map)}.
+     * </p>
+     * <p>
+     *     The thread is used in provided by <code>executor</code> by submitting a task via
+     *     {@link Executor#execute(Runnable)}, which should execute the runnable without stop.
+     * </p>
+     *
+     * @param executor {@link Executor} to use for running the dispatching task.
+     * @param drainWeights weight of each priority lane, priorities not included have a weight of 1.
+     *
+     * @return event controller
+     */
+    public static EventController newPrioritizedSingleThreadController(Executor executor, Map<Priority, Integer> drainWeights) {
+        return new DispatchingController(QueuedDispatcher.withPriorityBlockingHandler(executor, drainWeights));
+    }
+
+    /**
+     * <p>
+     *     Creates a new {@link EventController} which dispatches all events in a separate thread, fairly between
+     *     sources of events. Listener calls are queued separately for each source, as identified by
+     *     <code>sourceKeyFunction</code> (e.g. the tenant or client of the event), and sources with pending calls
+     *     are served in turns, each dispatching up to its weight in calls per turn.
+     * </p>
+     * <p>
+     *     A source which fires a burst of events thus only delays its own events, instead of all events
+     *     fired after it. Calls of the same source are dispatched by order.
+     * </p>
+     * <p>
+     *     The created thread is a daemon thread.
+     * </p>
+     *
+     * @param sourceKeyFunction function returning the key of the source of an event, events with a <code>null</code>
+     *                          key share a single source.
+     * @param weights weight of sources by key, sources not included have a weight of 1.
+     *
+     * @return event controller
+     *
+     * @see WeightedFairQueue
+     */
+    public static EventController newFairSingleThreadController(Function<? super Event, ?> sourceKeyFunction, Map<?, Integer> weights) {
+        return new DispatchingController(QueuedDispatcher.withBlockingHandler(
+                new WeightedFairQueue(sourceKeyFunction, weights, 1)));
+    }
+
+    /**
+     * <p>
+     *     Creates a new {@link EventController} which dispatches all events in a separate thread, fairly between
+     *     sources of events, as described in {@link #newFairSingleThreadController(Function, Map)}.
+     * </p>
+     * <p>
+     *     The thread is used in provided by <code>executor</code> by submitting a task via
+     *     {@link Executor#execute(Runnable)}, which should execute the runnable without stop.
+     * </p>
+     *
+     * @param executor {@link Executor} to use for running the dispatching task.
+     * @param sourceKeyFunction function returning the key of the source of an event.
+     * @param weights weight of sources by key, sources not included have a weight of 1.
+     *
+     * @return event controller
+     */
+    public static EventController newFairSingleThreadController(Executor executor, Function<? super Event, ?> sourceKeyFunction, Map<?, Integer> weights) {
+        return new DispatchingController(QueuedDispatcher.withBlockingHandler(executor,
+                new WeightedFairQueue(sourceKeyFunction, weights, 1)));
+    }
+
     /**
      * <p>
      *     Creates a new {@link EventController} which dispatches all events in a separate thread, by order.
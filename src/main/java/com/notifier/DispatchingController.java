@@ -1,22 +1,38 @@
 package com.notifier;
 
 import com.notifier.dispatchers.EventDispatcher;
+import com.notifier.stages.Operator;
+import com.notifier.stages.Stage;
+import com.notifier.stages.Stages;
 
 import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
 public class DispatchingController implements EventController {
 
+    private static final BiConsumer<Listener, Event> SUBSCRIBER_CALLER = (l, e)->((SubscriberListener) l).call(e);
+
     private final EventDispatcher mEventDispatcher;
     private final Collection<Listener> mListeners;
+    private final TimingWheel mTimingWheel;
 
-    DispatchingController(EventDispatcher eventDispatcher, Collection<Listener> listeners) {
+    DispatchingController(EventDispatcher eventDispatcher, Collection<Listener> listeners, TimingWheel timingWheel) {
         mEventDispatcher = eventDispatcher;
         mListeners = listeners;
+        mTimingWheel = timingWheel;
+    }
+
+    DispatchingController(EventDispatcher eventDispatcher, Collection<Listener> listeners) {
+        this(eventDispatcher, listeners, null);
+    }
+
+    public DispatchingController(EventDispatcher eventDispatcher, TimingWheel timingWheel) {
+        this(eventDispatcher, new CopyOnWriteArrayList<>(), timingWheel);
     }
 
     public DispatchingController(EventDispatcher eventDispatcher) {
@@ -25,17 +41,36 @@ public class DispatchingController implements EventController {
 
     @Override
     public RegisteredListener registerListener(Listener listener) {
-        mListeners.add(listener);
-
-        return new RegisteredListenerImpl(this, listener);
+        return addListener(listener);
     }
 
     @Override
     public RegisteredListener registerListener(Listener listener, Predicate<Event> predicate) {
-        Listener actual = new PredicatedListener(listener, predicate);
-        mListeners.add(actual);
+        return addListener(new PredicatedListener(listener, predicate));
+    }
+
+    @Override
+    public RegisteredListener registerListener(Listener listener, Priority priority) {
+        return addListener(new PredicatedListener(listener, null, priority));
+    }
+
+    @Override
+    public RegisteredListener registerListener(Listener listener, Stage stage) {
+        return addListener(new StagedListener(listener, null, stage.open(Stages.deliver(), getTimingWheel())));
+    }
 
-        return new RegisteredListenerImpl(this, actual);
+    @Override
+    public <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType,
+                                                                         Stage stage) {
+        return addListener(new StagedListener(listener, new SpecificEventPredicate<>(eventType),
+                stage.open(Stages.deliver(), getTimingWheel())));
+    }
+
+    @Override
+    public <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType,
+                                                                         Predicate<? super E> predicate, Stage stage) {
+        return addListener(new StagedListener(listener, new SpecificEventPredicate<>(eventType, predicate),
+                stage.open(Stages.deliver(), getTimingWheel())));
     }
 
     @Override
@@ -48,34 +83,181 @@ public class DispatchingController implements EventController {
         return registerListener(listener, new SpecificEventPredicate<>(eventType, predicate));
     }
 
+    @Override
+    public RegisteredListener registerWeakListener(Listener listener) {
+        return addListener(new WeakListener(this, listener, null));
+    }
+
+    @Override
+    public RegisteredListener registerWeakListener(Listener listener, Predicate<Event> predicate) {
+        return addListener(new WeakListener(this, listener, predicate));
+    }
+
+    @Override
+    public RegisteredListener registerSubscriber(Listener subscriber) {
+        return addListener(new SubscriberListener(subscriber));
+    }
+
     @Override
     public <E extends Event, L extends Listener> void fire(E event,
                                                            Class<E> eventType,
                                                            Class<L> listenerType,
                                                            BiConsumer<L, E> listenerCall) {
-        mEventDispatcher.dispatch(
-                Collections.unmodifiableCollection(mListeners),
-                (l)->listenerType.isInstance(l) || l instanceof PredicatedListener,
+        dispatch(
+                (l)->listenerType.isInstance(l) || l instanceof PredicatedListener || l instanceof WeakListener ||
+                        l instanceof StagedListener,
                 event,
                 new TypeSafeCaller<>(listenerType, eventType, listenerCall));
     }
 
-    static class PredicatedListener implements Listener {
+    @Override
+    public <E extends Event> void fire(E event, Class<E> eventType) {
+        dispatch(
+                (l)->l instanceof SubscriberListener && ((SubscriberListener) l).handles(eventType),
+                event,
+                SUBSCRIBER_CALLER);
+    }
+
+    @Override
+    public TimingWheel getTimingWheel() {
+        return mTimingWheel != null ? mTimingWheel : TimingWheel.getDefault();
+    }
+
+    /**
+     * Creates a child scope of this controller, whose fires reach both its own listeners and the listeners
+     * of this controller. See {@link ScopedController}.
+     */
+    public ScopedController newScope() {
+        return new ScopedController(this, mEventDispatcher, mTimingWheel);
+    }
+
+    /**
+     * @param listener as passed by controllers to their {@link EventDispatcher}.
+     *
+     * @return class of the listener or subscriber which was registered, or <code>null</code> for a weak
+     *      listener which was collected.
+     */
+    public static Class<?> registeredClassOf(Listener listener) {
+        Object registered = listener;
+        if (listener instanceof PredicatedListener) {
+            registered = ((PredicatedListener) listener).mListener;
+        } else if (listener instanceof StagedListener) {
+            registered = ((StagedListener) listener).mListener;
+        } else if (listener instanceof SubscriberListener) {
+            registered = ((SubscriberListener) listener).mSubscriber;
+        } else if (listener instanceof WeakListener) {
+            registered = ((WeakListener) listener).get();
+        }
+
+        return registered != null ? registered.getClass() : null;
+    }
+
+    void dispatch(Predicate<Listener> listenerFilter, Event event, BiConsumer<Listener, Event> listenerCall) {
+        dispatchTo(mListeners, listenerFilter, event, listenerCall);
+    }
+
+    void dispatchTo(Collection<Listener> listeners, Predicate<Listener> listenerFilter, Event event,
+                    BiConsumer<Listener, Event> listenerCall) {
+        mEventDispatcher.dispatch(Collections.unmodifiableCollection(listeners), listenerFilter, event, listenerCall);
+    }
+
+    RegisteredListener addListener(Listener listener) {
+        WeakListener.expungeStaleListeners();
+
+        synchronized (mListeners) {
+            if (mListeners instanceof List) {
+                List<Listener> listeners = (List<Listener>) mListeners;
+                listeners.add(insertionIndex(listeners, Prioritized.priorityOf(listener)), listener);
+            } else {
+                mListeners.add(listener);
+            }
+        }
+
+        return new RegisteredListenerImpl(this, listener);
+    }
+
+    void removeListener(Listener listener) {
+        WeakListener.expungeStaleListeners();
+
+        boolean removed;
+        synchronized (mListeners) {
+            removed = mListeners.remove(listener);
+        }
+
+        if (removed && listener instanceof StagedListener) {
+            ((StagedListener) listener).mOperator.close();
+        }
+    }
+
+    void removeListeners(Collection<Listener> listeners) {
+        synchronized (mListeners) {
+            mListeners.removeAll(listeners);
+        }
+    }
+
+    boolean hasListeners() {
+        return !mListeners.isEmpty();
+    }
+
+    Collection<Listener> getListeners() {
+        return Collections.unmodifiableCollection(mListeners);
+    }
+
+    private static int insertionIndex(List<Listener> listeners, Priority priority) {
+        // keep listeners ordered by priority, and by registration order within the same priority
+        int index = listeners.size();
+        while (index > 0 && Prioritized.priorityOf(listeners.get(index - 1)).compareTo(priority) > 0) {
+            index--;
+        }
+
+        return index;
+    }
+
+    static class PredicatedListener implements Listener, Prioritized {
 
         final Listener mListener;
-        private final Predicate<Event> mPredicate;
+        final Predicate<Event> mPredicate;
+        private final Priority mPriority;
 
-        PredicatedListener(Listener listener, Predicate<Event> predicate) {
+        PredicatedListener(Listener listener, Predicate<Event> predicate, Priority priority) {
             mListener = listener;
             mPredicate = predicate;
+            mPriority = priority;
+        }
+
+        PredicatedListener(Listener listener, Predicate<Event> predicate) {
+            this(listener, predicate, null);
         }
 
         public <L extends Listener, E extends Event> void call(E event, Class<L> listenerType,
                                                                BiConsumer<L, E> listenerCall) {
-            if (listenerType.isInstance(mListener) && mPredicate.test(event)) {
+            if (listenerType.isInstance(mListener) && (mPredicate == null || mPredicate.test(event))) {
                 listenerCall.accept(listenerType.cast(mListener), event);
             }
         }
+
+        @Override
+        public Priority getPriority() {
+            return mPriority != null ? mPriority : Prioritized.priorityOf(mListener);
+        }
+    }
+
+    static class StagedListener implements Listener, Prioritized {
+
+        final Listener mListener;
+        final Predicate<Event> mPredicate;
+        final Operator mOperator;
+
+        StagedListener(Listener listener, Predicate<Event> predicate, Operator operator) {
+            mListener = listener;
+            mPredicate = predicate;
+            mOperator = operator;
+        }
+
+        @Override
+        public Priority getPriority() {
+            return Prioritized.priorityOf(mListener);
+        }
     }
 
     private static class TypeSafeCaller<L extends Listener, E extends Event> implements BiConsumer<Listener, Event> {
@@ -93,12 +275,22 @@ public class DispatchingController implements EventController {
 
         @Override
         public void accept(Listener listener, Event event) {
-            if ((mListenerType.isInstance(listener) || listener instanceof PredicatedListener) &&
-                    mEventType.isInstance(event))  {
+            if ((mListenerType.isInstance(listener) || listener instanceof PredicatedListener ||
+                    listener instanceof WeakListener || listener instanceof StagedListener) && mEventType.isInstance(event))  {
                 E eventOfType = mEventType.cast(event);
 
                 if (listener instanceof PredicatedListener) {
                     ((PredicatedListener)listener).call(eventOfType, mListenerType, mListenerCall);
+                } else if (listener instanceof WeakListener) {
+                    ((WeakListener)listener).call(eventOfType, mListenerType, mListenerCall);
+                } else if (listener instanceof StagedListener) {
+                    // the operator calls back with the registered listener, possibly later. events it should
+                    // not see are filtered before reaching it, so they do not enter its state
+                    StagedListener stagedListener = (StagedListener) listener;
+                    if (mListenerType.isInstance(stagedListener.mListener) &&
+                            (stagedListener.mPredicate == null || stagedListener.mPredicate.test(eventOfType))) {
+                        stagedListener.mOperator.accept(eventOfType, stagedListener.mListener, this);
+                    }
                 } else {
                     L listenerOfType = mListenerType.cast(listener);
                     mListenerCall.accept(listenerOfType, eventOfType);
@@ -124,7 +316,7 @@ public class DispatchingController implements EventController {
                 return;
             }
 
-            controller.mListeners.remove(mListener);
+            controller.removeListener(mListener);
         }
     }
 
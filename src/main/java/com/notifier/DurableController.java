@@ -0,0 +1,75 @@
+package com.notifier;
+
+import com.notifier.journal.DurableEventQueue;
+import com.notifier.journal.DurableQueuedDispatcher;
+
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ *     A {@link DispatchingController} which dispatches events through a {@link DurableQueuedDispatcher}.
+ *     See {@link Controllers#newDurableSingleThreadController(DurableEventQueue)}.
+ * </p>
+ * <p>
+ *     Events are not dispatched until the controller is {@link #start() started}. Events left in the queue by
+ *     a previous run are passed to the subscribers registered at the time they are taken, so subscribers
+ *     should be registered before starting.
+ * </p>
+ */
+public class DurableController extends DispatchingController {
+
+    private final DurableQueuedDispatcher mDispatcher;
+
+    public DurableController(DurableEventQueue queue) {
+        this(new SubscribersCall(), queue);
+    }
+
+    private DurableController(SubscribersCall recoveredEventHandler, DurableEventQueue queue) {
+        this(new DurableQueuedDispatcher(queue, recoveredEventHandler));
+        // set before starting, which publishes it to the dispatching thread
+        recoveredEventHandler.mController = this;
+    }
+
+    private DurableController(DurableQueuedDispatcher dispatcher) {
+        super(dispatcher);
+        mDispatcher = dispatcher;
+    }
+
+    /**
+     * Starts dispatching in a new daemon thread.
+     */
+    public void start() {
+        mDispatcher.start();
+    }
+
+    /**
+     * Starts dispatching in a task passed to the given executor, which should run it without stop.
+     */
+    public void start(Executor executor) {
+        mDispatcher.start(executor);
+    }
+
+    private void callSubscribers(Event event) {
+        Class<? extends Event> eventType = event.getClass();
+        for (Listener listener : getListeners()) {
+            if (listener instanceof SubscriberListener && ((SubscriberListener) listener).handles(eventType)) {
+                try {
+                    ((SubscriberListener) listener).call(event);
+                } catch (RuntimeException e) {
+                    // ignore, to keep calling other subscribers
+                }
+            }
+        }
+    }
+
+    private static class SubscribersCall implements Consumer<Event> {
+
+        private DurableController mController;
+
+        @Override
+        public void accept(Event event) {
+            mController.callSubscribers(event);
+        }
+    }
+}
@@ -1,8 +1,21 @@
 package com.notifier;
 
+import com.notifier.stages.Stage;
+
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
+/**
+ * <p>
+ *     Registers listeners, and fires events to them.
+ * </p>
+ * <p>
+ *     Registration with a priority or a stage, and weak registration, are optional operations, which
+ *     implementations that do not support them reject with {@link UnsupportedOperationException}.
+ *     The controllers of this library support them all.
+ * </p>
+ */
 public interface EventController {
 
     RegisteredListener registerListener(Listener listener);
@@ -10,7 +23,97 @@ public interface EventController {
     <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType);
     <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType, Predicate<? super E> predicate);
 
+    default RegisteredListener registerListener(Listener listener, Priority priority) {
+        throw new UnsupportedOperationException("priorities not supported by " + getClass().getName());
+    }
+
+    default RegisteredListener registerListener(Listener listener, Stage stage) {
+        throw new UnsupportedOperationException("stages not supported by " + getClass().getName());
+    }
+
+    /**
+     * Registers the listener with a stage, which only sees events of the given type.
+     */
+    default <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType,
+                                                                          Stage stage) {
+        throw new UnsupportedOperationException("stages not supported by " + getClass().getName());
+    }
+
+    /**
+     * Registers the listener with a stage, which only sees events of the given type which match the predicate.
+     */
+    default <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType,
+                                                                          Predicate<? super E> predicate,
+                                                                          Stage stage) {
+        throw new UnsupportedOperationException("stages not supported by " + getClass().getName());
+    }
+
+    default RegisteredListener registerWeakListener(Listener listener) {
+        throw new UnsupportedOperationException("weak listeners not supported by " + getClass().getName());
+    }
+
+    default RegisteredListener registerWeakListener(Listener listener, Predicate<Event> predicate) {
+        throw new UnsupportedOperationException("weak listeners not supported by " + getClass().getName());
+    }
+
+    /**
+     * Registers the {@link Subscribe} methods of the given listener, to be called by {@link #fire(Event, Class)}.
+     */
+    default RegisteredListener registerSubscriber(Listener subscriber) {
+        return registerListener(new SubscriberListener(subscriber));
+    }
+
     <E extends Event, L extends Listener> void fire(E event, Class<E> eventType,
                                                     Class<L> listenerType,
                                                     BiConsumer<L, E> listenerCall);
+
+    /**
+     * Fires the event to the {@link Subscribe} methods of registered subscribers which accept it.
+     */
+    default <E extends Event> void fire(E event, Class<E> eventType) {
+        fire(event, eventType, SubscriberListener.class, (subscriber, e)-> {
+            if (subscriber.handles(eventType)) {
+                subscriber.call(e);
+            }
+        });
+    }
+
+    /**
+     * @return timing wheel which runs the scheduled fires and the time based stages of this controller. The
+     *      {@link TimingWheel#getDefault() default} timing wheel, unless the controller was given one.
+     */
+    default TimingWheel getTimingWheel() {
+        return TimingWheel.getDefault();
+    }
+
+    /**
+     * Fires the event through this controller once the delay passed, on the thread of its
+     * {@link #getTimingWheel() timing wheel}.
+     */
+    default <E extends Event, L extends Listener> ScheduledFire fireAfter(E event, Class<E> eventType,
+                                                                          Class<L> listenerType,
+                                                                          BiConsumer<L, E> listenerCall,
+                                                                          long delay, TimeUnit delayUnit) {
+        // kept until fired, for the event not to be reused while scheduled
+        PooledEvent.retainIfPooled(event);
+        return getTimingWheel().schedule(()-> {
+            try {
+                fire(event, eventType, listenerType, listenerCall);
+            } finally {
+                PooledEvent.releaseIfPooled(event);
+            }
+        }, delay, delayUnit);
+    }
+
+    /**
+     * Fires the event at the given time, in milliseconds since the epoch. See
+     * {@link #fireAfter(Event, Class, Class, BiConsumer, long, TimeUnit)}.
+     */
+    default <E extends Event, L extends Listener> ScheduledFire fireAt(E event, Class<E> eventType,
+                                                                       Class<L> listenerType,
+                                                                       BiConsumer<L, E> listenerCall,
+                                                                       long timeMillis) {
+        return fireAfter(event, eventType, listenerType, listenerCall,
+                timeMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
 }
@@ -0,0 +1,130 @@
+package com.notifier;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ *     A pool of reusable {@link PooledEvent events} of one type. The pool is split into stripes, to reduce
+ *     contention between firing threads. Each thread acquires events from its own stripe, and events are
+ *     returned to the stripe they were acquired from, by whichever thread releases them last.
+ * </p>
+ * <p>
+ *     Events which are never released, such as events of queued calls which were discarded without
+ *     running, are not returned and are simply collected, and replaced by new events.
+ * </p>
+ */
+public class EventPool<E extends PooledEvent> {
+
+    public static final int DEFAULT_MAX_SIZE_PER_STRIPE = 1024;
+
+    private final Supplier<? extends E> mFactory;
+    private final int mMaxSizePerStripe;
+    private final boolean mDebug;
+    private final Stripe[] mStripes;
+    private final int mStripeMask;
+    private final LongAdder mCreatedCount;
+
+    /**
+     * @param factory creates new events when the pool is empty.
+     * @param maxSizePerStripe maximum amount of free events kept by each stripe.
+     * @param debug whether to detect use of events after their release.
+     */
+    public EventPool(Supplier<? extends E> factory, int maxSizePerStripe, boolean debug) {
+        if (maxSizePerStripe < 0) {
+            throw new IllegalArgumentException("max size must not be negative");
+        }
+
+        mFactory = factory;
+        mMaxSizePerStripe = maxSizePerStripe;
+        mDebug = debug;
+
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+        mStripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            mStripes[i] = new Stripe();
+        }
+        mStripeMask = stripes - 1;
+        mCreatedCount = new LongAdder();
+    }
+
+    /**
+     * Creates a pool which is in debug mode if the system property {@code notifier.pool.debug} is {@code true}.
+     */
+    public EventPool(Supplier<? extends E> factory) {
+        this(factory, DEFAULT_MAX_SIZE_PER_STRIPE, Boolean.getBoolean("notifier.pool.debug"));
+    }
+
+    /**
+     * @return a free event, holding a single reference which belongs to the caller.
+     */
+    @SuppressWarnings("unchecked")
+    public E acquire() {
+        int stripeIndex = (int) Thread.currentThread().getId() & mStripeMask;
+        Stripe stripe = mStripes[stripeIndex];
+
+        PooledEvent event;
+        synchronized (stripe) {
+            event = stripe.mHead;
+            if (event != null) {
+                stripe.mHead = event.mNextFree;
+                stripe.mSize--;
+                event.mNextFree = null;
+            }
+        }
+
+        if (event != null) {
+            event.revive();
+            return (E) event;
+        }
+
+        E created = mFactory.get();
+        created.mPool = this;
+        created.mStripe = stripeIndex;
+        mCreatedCount.increment();
+
+        return created;
+    }
+
+    public boolean isDebug() {
+        return mDebug;
+    }
+
+    /**
+     * @return amount of events created by the pool, since it was created.
+     */
+    public long getCreatedCount() {
+        return mCreatedCount.sum();
+    }
+
+    /**
+     * @return amount of free events currently in the pool.
+     */
+    public int getFreeCount() {
+        int count = 0;
+        for (Stripe stripe : mStripes) {
+            synchronized (stripe) {
+                count += stripe.mSize;
+            }
+        }
+
+        return count;
+    }
+
+    void recycle(PooledEvent event) {
+        Stripe stripe = mStripes[event.mStripe];
+        synchronized (stripe) {
+            if (stripe.mSize < mMaxSizePerStripe) {
+                event.mNextFree = stripe.mHead;
+                stripe.mHead = event;
+                stripe.mSize++;
+            }
+        }
+    }
+
+    private static class Stripe {
+
+        private PooledEvent mHead;
+        private int mSize;
+    }
+}
@@ -0,0 +1,16 @@
+package com.notifier;
+
+/**
+ * <p>
+ *     Implemented by {@link Event events} which are no longer relevant after a deadline. Dispatchers which queue
+ *     listener calls and support expiration, will discard calls for such events once the deadline has passed,
+ *     without calling the listeners.
+ * </p>
+ */
+public interface Expiring {
+
+    /**
+     * @return deadline of the event, in the time base of {@link System#nanoTime()}.
+     */
+    long getDeadlineNanos();
+}
@@ -0,0 +1,103 @@
+package com.notifier;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * <p>
+ *     An {@link Event} which is taken from an {@link EventPool} and returned to it once no longer used,
+ *     so that firing does not allocate a new event each time.
+ * </p>
+ * <p>
+ *     Use of the event is tracked by a reference count. An acquired event holds one reference, which belongs
+ *     to the firing code, and should be released once it was fired. Dispatchers which queue listener calls
+ *     retain a reference for each queued call, and release it when the call is done. Listeners which keep
+ *     the event after their call must {@link #retain() retain} it too. Once all references are released,
+ *     the event is {@link #reset() reset} and returned to its pool.
+ * </p>
+ * <p>
+ *     In debug mode of the pool, accessors which call {@link #checkAccessible()} fail when the event is
+ *     used after being released, and report where it was released.
+ * </p>
+ */
+public abstract class PooledEvent implements Event {
+
+    private static final AtomicIntegerFieldUpdater<PooledEvent> REFERENCES =
+            AtomicIntegerFieldUpdater.newUpdater(PooledEvent.class, "mReferences");
+
+    private volatile int mReferences;
+    private Throwable mReleasedAt;
+
+    EventPool<?> mPool;
+    int mStripe;
+    PooledEvent mNextFree;
+
+    protected PooledEvent() {
+        mReferences = 1;
+        mReleasedAt = null;
+    }
+
+    /**
+     * Called before the event is returned to its pool, to clear its content.
+     */
+    protected abstract void reset();
+
+    public final PooledEvent retain() {
+        for (;;) {
+            int references = mReferences;
+            if (references <= 0) {
+                throw new IllegalStateException("event was released", mReleasedAt);
+            }
+            if (REFERENCES.compareAndSet(this, references, references + 1)) {
+                return this;
+            }
+        }
+    }
+
+    public final void release() {
+        int references = REFERENCES.decrementAndGet(this);
+        if (references > 0) {
+            return;
+        }
+        if (references < 0) {
+            throw new IllegalStateException("event released more times than retained", mReleasedAt);
+        }
+
+        if (mPool != null) {
+            if (mPool.isDebug()) {
+                mReleasedAt = new Throwable("released here");
+            }
+            reset();
+            mPool.recycle(this);
+        }
+    }
+
+    public final int getReferenceCount() {
+        return mReferences;
+    }
+
+    /**
+     * @throws IllegalStateException if the pool of the event is in debug mode, and the event was released.
+     */
+    protected final void checkAccessible() {
+        if (mPool != null && mPool.isDebug() && mReferences <= 0) {
+            throw new IllegalStateException("event used after release", mReleasedAt);
+        }
+    }
+
+    void revive() {
+        mReleasedAt = null;
+        mReferences = 1;
+    }
+
+    public static void retainIfPooled(Event event) {
+        if (event instanceof PooledEvent) {
+            ((PooledEvent) event).retain();
+        }
+    }
+
+    public static void releaseIfPooled(Event event) {
+        if (event instanceof PooledEvent) {
+            ((PooledEvent) event).release();
+        }
+    }
+}
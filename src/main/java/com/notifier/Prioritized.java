@@ -0,0 +1,31 @@
+package com.notifier;
+
+/**
+ * <p>
+ *     Implemented by {@link Event events} and {@link Listener listeners} which have a {@link Priority}.
+ *     Those which do not implement it are considered to be of {@link Priority#NORMAL normal} priority.
+ * </p>
+ * <p>
+ *     Listeners are kept ordered by priority. Dispatchers which queue listener calls, may use the
+ *     higher of the event priority and the listener priority to order the calls.
+ * </p>
+ */
+public interface Prioritized {
+
+    Priority getPriority();
+
+    static Priority priorityOf(Object object) {
+        if (object instanceof Prioritized) {
+            Priority priority = ((Prioritized) object).getPriority();
+            if (priority != null) {
+                return priority;
+            }
+        }
+
+        return Priority.NORMAL;
+    }
+
+    static Priority higherOf(Priority first, Priority second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
@@ -0,0 +1,10 @@
+package com.notifier;
+
+/**
+ * Priority of events and listeners, ordered from the highest priority to the lowest.
+ */
+public enum Priority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,19 @@
+package com.notifier;
+
+/**
+ * Handle for an event fire which was scheduled to happen later.
+ */
+public interface ScheduledFire {
+
+    /**
+     * Cancels the fire, if it has not happened yet.
+     *
+     * @return <code>true</code> if the fire was cancelled, <code>false</code> if it already happened or was cancelled.
+     */
+    boolean cancel();
+
+    /**
+     * @return <code>true</code> if the fire already happened or was cancelled.
+     */
+    boolean isDone();
+}
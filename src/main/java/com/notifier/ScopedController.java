@@ -0,0 +1,99 @@
+package com.notifier;
+
+import com.notifier.dispatchers.EventDispatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     A child scope of a {@link DispatchingController}, created with {@link DispatchingController#newScope()},
+ *     such as for a session or a request. Listeners registered to a scope only receive events fired to it
+ *     or to its descendants, while events fired to a scope bubble up: they reach the listeners of the scope,
+ *     then those of its parent, and so on up to the root controller. Listeners which are common to all scopes
+ *     are thus registered once, to the root.
+ * </p>
+ * <p>
+ *     Each fire is dispatched once, to the listeners of the scope and its ancestors, merged by priority,
+ *     so that listeners of a higher priority are called first, regardless of their scope. Listeners of the
+ *     same priority are called by scope, nearest first. Scopes share the dispatcher and timing wheel of their
+ *     root, and only hold their own listeners. Parents do not
+ *     reference their scopes, so creating a scope is cheap, and a scope which is no longer used
+ *     may simply be dropped, or {@link #close() closed} to unregister its listeners at once.
+ * </p>
+ */
+public class ScopedController extends DispatchingController implements AutoCloseable {
+
+    private final DispatchingController mParent;
+
+    ScopedController(DispatchingController parent, EventDispatcher eventDispatcher, TimingWheel timingWheel) {
+        super(eventDispatcher, new CopyOnWriteArrayList<>(), timingWheel);
+        mParent = parent;
+    }
+
+    public DispatchingController getParent() {
+        return mParent;
+    }
+
+    /**
+     * Unregisters all the listeners of this scope.
+     */
+    @Override
+    public void close() {
+        for (Listener listener : getListeners()) {
+            removeListener(listener);
+        }
+    }
+
+    @Override
+    void dispatch(Predicate<Listener> listenerFilter, Event event, BiConsumer<Listener, Event> listenerCall) {
+        // snapshots of the listeners of this scope and its ancestors, nearest first, skipping empty scopes
+        List<Object[]> levels = new ArrayList<>(4);
+        int count = 0;
+        DispatchingController controller = this;
+        while (true) {
+            Object[] listeners = controller.getListeners().toArray();
+            if (listeners.length > 0) {
+                levels.add(listeners);
+                count += listeners.length;
+            }
+
+            if (!(controller instanceof ScopedController)) {
+                break;
+            }
+            controller = ((ScopedController) controller).mParent;
+        }
+
+        dispatchTo(mergeByPriority(levels, count), listenerFilter, event, listenerCall);
+    }
+
+    private static List<Listener> mergeByPriority(List<Object[]> levels, int count) {
+        // each level is ordered by priority. within the same priority, nearer scopes come first
+        Listener[] merged = new Listener[count];
+        int[] positions = new int[levels.size()];
+        for (int i = 0; i < count; i++) {
+            int nextLevel = -1;
+            Priority nextPriority = null;
+            for (int level = 0; level < positions.length; level++) {
+                Object[] listeners = levels.get(level);
+                if (positions[level] == listeners.length) {
+                    continue;
+                }
+
+                Priority priority = Prioritized.priorityOf(listeners[positions[level]]);
+                if (nextPriority == null || priority.compareTo(nextPriority) < 0) {
+                    nextLevel = level;
+                    nextPriority = priority;
+                }
+            }
+
+            merged[i] = (Listener) levels.get(nextLevel)[positions[nextLevel]++];
+        }
+
+        return Arrays.asList(merged);
+    }
+}
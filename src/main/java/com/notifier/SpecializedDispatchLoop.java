@@ -0,0 +1,59 @@
+package com.notifier;
+
+import com.notifier.stages.Operator;
+
+import java.lang.ref.Reference;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Template for the dispatch loops of {@link SpecializingController}. A separate copy of this class is defined
+ * for each dispatch plan, so its call sites only see the listeners and calls of that plan. Thus, it must only
+ * reference public types.
+ */
+final class SpecializedDispatchLoop implements BiConsumer<Event, BiConsumer<Listener, Event>> {
+
+    private final Listener[] mListeners;
+    private final Reference<? extends Listener>[] mReferences;
+    private final Predicate<Event>[] mPredicates;
+    private final Operator[] mOperators;
+
+    SpecializedDispatchLoop(Listener[] listeners, Reference<? extends Listener>[] references, Predicate<Event>[] predicates,
+                            Operator[] operators) {
+        mListeners = listeners;
+        mReferences = references;
+        mPredicates = predicates;
+        mOperators = operators;
+    }
+
+    @Override
+    public void accept(Event event, BiConsumer<Listener, Event> listenerCall) {
+        Listener[] listeners = mListeners;
+        Reference<? extends Listener>[] references = mReferences;
+        Predicate<Event>[] predicates = mPredicates;
+        Operator[] operators = mOperators;
+
+        for (int i = 0; i < listeners.length; i++) {
+            Listener listener = listeners[i];
+            if (listener == null) {
+                // weakly registered, and might have being collected
+                listener = references[i].get();
+                if (listener == null) {
+                    continue;
+                }
+            }
+
+            Predicate<Event> predicate = predicates[i];
+            if (predicate != null && !predicate.test(event)) {
+                continue;
+            }
+
+            Operator operator = operators[i];
+            if (operator != null) {
+                operator.accept(event, listener, listenerCall);
+            } else {
+                listenerCall.accept(listener, event);
+            }
+        }
+    }
+}
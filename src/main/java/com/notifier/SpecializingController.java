@@ -0,0 +1,237 @@
+package com.notifier;
+
+import com.notifier.dispatchers.SyncrounousDispatcher;
+import com.notifier.stages.Operator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     A synchronous {@link EventController} which dispatches each pair of event type and listener type
+ *     (a dispatch plan) with its own copy of the dispatching loop class. The call sites in each copy only see
+ *     the listeners and listener calls of one plan, instead of every listener and event of the application,
+ *     which allows the JIT to inline them.
+ * </p>
+ * <p>
+ *     The listeners of each plan are resolved once, and resolved again only after registrations change.
+ *     This makes registration more expensive than in other controllers, so this controller best suits
+ *     applications with many event types and mostly stable listeners.
+ * </p>
+ */
+public class SpecializingController extends DispatchingController {
+
+    private static final String LOOP_CLASS_NAME = SpecializedDispatchLoop.class.getName();
+    private static final byte[] LOOP_CLASS_BYTES = readLoopClass();
+
+    private final Map<Class<?>, Map<Class<?>, Plan>> mPlans;
+    private final AtomicInteger mListenersVersion;
+
+    public SpecializingController() {
+        super(new SyncrounousDispatcher());
+
+        mPlans = new ConcurrentHashMap<>();
+        mListenersVersion = new AtomicInteger();
+    }
+
+    @Override
+    RegisteredListener addListener(Listener listener) {
+        RegisteredListener registeredListener = super.addListener(listener);
+        mListenersVersion.incrementAndGet();
+
+        return registeredListener;
+    }
+
+    @Override
+    void removeListener(Listener listener) {
+        super.removeListener(listener);
+        mListenersVersion.incrementAndGet();
+    }
+
+    @Override
+    void removeListeners(Collection<Listener> listeners) {
+        super.removeListeners(listeners);
+        mListenersVersion.incrementAndGet();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E extends Event, L extends Listener> void fire(E event,
+                                                           Class<E> eventType,
+                                                           Class<L> listenerType,
+                                                           BiConsumer<L, E> listenerCall) {
+        if (!eventType.isInstance(event)) {
+            return;
+        }
+
+        Map<Class<?>, Plan> eventPlans = mPlans.get(eventType);
+        if (eventPlans == null) {
+            eventPlans = mPlans.computeIfAbsent(eventType, (type)-> new ConcurrentHashMap<>());
+        }
+
+        Plan plan = eventPlans.get(listenerType);
+        if (plan == null) {
+            plan = eventPlans.computeIfAbsent(listenerType, (type)-> new Plan(type.asSubclass(Listener.class)));
+        }
+
+        plan.getLoop(this).accept(event, (BiConsumer<Listener, Event>) listenerCall);
+    }
+
+    private static byte[] readLoopClass() {
+        String resource = SpecializedDispatchLoop.class.getSimpleName() + ".class";
+        try (InputStream inputStream = SpecializedDispatchLoop.class.getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("missing class file " + resource);
+            }
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = inputStream.read(buffer)) > 0) {
+                outputStream.write(buffer, 0, read);
+            }
+
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("failed reading class file " + resource, e);
+        }
+    }
+
+    private static class Plan {
+
+        private final Class<? extends Listener> mListenerType;
+        private final Constructor<?> mLoopConstructor;
+
+        private volatile Snapshot mSnapshot;
+
+        private Plan(Class<? extends Listener> listenerType) {
+            mListenerType = listenerType;
+            mLoopConstructor = defineLoopClass();
+            mSnapshot = null;
+        }
+
+        BiConsumer<Event, BiConsumer<Listener, Event>> getLoop(SpecializingController controller) {
+            int version = controller.mListenersVersion.get();
+            Snapshot snapshot = mSnapshot;
+            if (snapshot == null || snapshot.mVersion != version) {
+                snapshot = new Snapshot(version, createLoop(controller));
+                mSnapshot = snapshot;
+            }
+
+            return snapshot.mLoop;
+        }
+
+        @SuppressWarnings("unchecked")
+        private BiConsumer<Event, BiConsumer<Listener, Event>> createLoop(SpecializingController controller) {
+            List<Listener> listeners = new ArrayList<>();
+            List<Reference<? extends Listener>> references = new ArrayList<>();
+            List<Predicate<Event>> predicates = new ArrayList<>();
+            List<Operator> operators = new ArrayList<>();
+
+            for (Listener listener : controller.getListeners()) {
+                if (listener instanceof PredicatedListener) {
+                    PredicatedListener predicatedListener = (PredicatedListener) listener;
+                    if (mListenerType.isInstance(predicatedListener.mListener)) {
+                        listeners.add(predicatedListener.mListener);
+                        references.add(null);
+                        predicates.add(predicatedListener.mPredicate);
+                        operators.add(null);
+                    }
+                } else if (listener instanceof WeakListener) {
+                    WeakListener weakListener = (WeakListener) listener;
+                    if (mListenerType.isInstance(weakListener.get())) {
+                        listeners.add(null);
+                        references.add(weakListener);
+                        predicates.add(weakListener.mPredicate);
+                        operators.add(null);
+                    }
+                } else if (listener instanceof StagedListener) {
+                    StagedListener stagedListener = (StagedListener) listener;
+                    if (mListenerType.isInstance(stagedListener.mListener)) {
+                        listeners.add(stagedListener.mListener);
+                        references.add(null);
+                        predicates.add(stagedListener.mPredicate);
+                        operators.add(stagedListener.mOperator);
+                    }
+                } else if (mListenerType.isInstance(listener)) {
+                    listeners.add(listener);
+                    references.add(null);
+                    predicates.add(null);
+                    operators.add(null);
+                }
+            }
+
+            try {
+                return (BiConsumer<Event, BiConsumer<Listener, Event>>) mLoopConstructor.newInstance(
+                        listeners.toArray(new Listener[0]),
+                        references.toArray(new Reference<?>[0]),
+                        predicates.toArray(new Predicate<?>[0]),
+                        operators.toArray(new Operator[0]));
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("failed creating dispatch loop", e);
+            }
+        }
+
+        private static Constructor<?> defineLoopClass() {
+            try {
+                Class<?> loopClass = new LoopClassLoader().loadClass(LOOP_CLASS_NAME);
+                Constructor<?> constructor = loopClass.getDeclaredConstructor(Listener[].class, Reference[].class, Predicate[].class,
+                        Operator[].class);
+                constructor.setAccessible(true);
+
+                return constructor;
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                throw new IllegalStateException("failed defining dispatch loop", e);
+            }
+        }
+    }
+
+    private static class Snapshot {
+
+        private final int mVersion;
+        private final BiConsumer<Event, BiConsumer<Listener, Event>> mLoop;
+
+        private Snapshot(int version, BiConsumer<Event, BiConsumer<Listener, Event>> loop) {
+            mVersion = version;
+            mLoop = loop;
+        }
+    }
+
+    private static class LoopClassLoader extends ClassLoader {
+
+        private LoopClassLoader() {
+            super(SpecializedDispatchLoop.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!LOOP_CLASS_NAME.equals(name)) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loopClass = findLoadedClass(name);
+                if (loopClass == null) {
+                    loopClass = defineClass(name, LOOP_CLASS_BYTES, 0, LOOP_CLASS_BYTES.length);
+                }
+                if (resolve) {
+                    resolveClass(loopClass);
+                }
+
+                return loopClass;
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.notifier;
+
+import com.notifier.stages.Operator;
+import com.notifier.stages.Stage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     An {@link EventController} which keeps the last fired event of chosen types, and delivers them to
+ *     listeners and subscribers as they register, so that they start with the current state instead of
+ *     waiting for the next change. Events are kept per type, or per key within a type, and are fired through
+ *     another controller.
+ * </p>
+ * <p>
+ *     The kept events are bounded by a maximum amount, after which the least recently fired are evicted.
+ *     Kept events are delivered in the registering thread, directly to the listener, or through the stage
+ *     the listener was registered with, and only if the listener would have received them when fired. A listener registered while a kept event is fired
+ *     may receive it twice, but does not receive a kept event after a newer event of the same type and key
+ *     was fired to it.
+ * </p>
+ */
+public class StickyController implements EventController {
+
+    private static final Function<Object, Object> WHOLE_TYPE = (event)-> null;
+
+    private final EventController mController;
+    private final int mMaxEntries;
+    private final Map<Class<?>, Function<Object, ?>> mStickyTypes;
+    private final LinkedHashMap<List<Object>, Entry> mEntries;
+
+    private long mEvictedCount;
+
+    public StickyController(EventController controller, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("max entries must be positive");
+        }
+
+        mController = controller;
+        mMaxEntries = maxEntries;
+        mStickyTypes = new ConcurrentHashMap<>();
+        mEntries = new LinkedHashMap<>();
+        mEvictedCount = 0;
+    }
+
+    /**
+     * Keeps the last fired event of the given type.
+     */
+    public void stick(Class<? extends Event> eventType) {
+        mStickyTypes.put(eventType, WHOLE_TYPE);
+    }
+
+    /**
+     * Keeps the last fired event of the given type for each key.
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends Event> void stick(Class<E> eventType, Function<? super E, ?> keyFunction) {
+        mStickyTypes.put(eventType, (Function<Object, ?>) keyFunction);
+    }
+
+    /**
+     * Stops keeping events of the given type, and discards those kept.
+     */
+    public void unstick(Class<? extends Event> eventType) {
+        mStickyTypes.remove(eventType);
+
+        List<Entry> removed = new ArrayList<>();
+        synchronized (mEntries) {
+            for (Iterator<Entry> iterator = mEntries.values().iterator(); iterator.hasNext(); ) {
+                Entry entry = iterator.next();
+                if (entry.mEventType == eventType) {
+                    removed.add(entry);
+                    iterator.remove();
+                }
+            }
+        }
+
+        release(removed);
+    }
+
+    /**
+     * @return amount of events currently kept.
+     */
+    public int getStickyCount() {
+        synchronized (mEntries) {
+            return mEntries.size();
+        }
+    }
+
+    /**
+     * @return amount of kept events which were evicted to keep within the maximum amount.
+     */
+    public long getEvictedCount() {
+        synchronized (mEntries) {
+            return mEvictedCount;
+        }
+    }
+
+    @Override
+    public RegisteredListener registerListener(Listener listener) {
+        RegisteredListener registeredListener = mController.registerListener(listener);
+        replayToListener(listener, null);
+
+        return registeredListener;
+    }
+
+    @Override
+    public RegisteredListener registerListener(Listener listener, Predicate<Event> predicate) {
+        RegisteredListener registeredListener = mController.registerListener(listener, predicate);
+        replayToListener(listener, predicate);
+
+        return registeredListener;
+    }
+
+    @Override
+    public RegisteredListener registerListener(Listener listener, Priority priority) {
+        RegisteredListener registeredListener = mController.registerListener(listener, priority);
+        replayToListener(listener, null);
+
+        return registeredListener;
+    }
+
+    @Override
+    public RegisteredListener registerListener(Listener listener, Stage stage) {
+        ReplayedStage replayedStage = new ReplayedStage(stage);
+        RegisteredListener registeredListener = mController.registerListener(listener, replayedStage);
+        replayToListener(listener, null, replayedStage.mOperator);
+
+        return registeredListener;
+    }
+
+    @Override
+    public <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType) {
+        RegisteredListener registeredListener = mController.registerListenerForEvent(listener, eventType);
+        replayToListener(listener, eventType::isInstance);
+
+        return registeredListener;
+    }
+
+    @Override
+    public <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType,
+                                                                         Predicate<? super E> predicate) {
+        RegisteredListener registeredListener = mController.registerListenerForEvent(listener, eventType, predicate);
+        replayToListener(listener, (event)-> eventType.isInstance(event) && predicate.test(eventType.cast(event)));
+
+        return registeredListener;
+    }
+
+    @Override
+    public <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType,
+                                                                         Stage stage) {
+        ReplayedStage replayedStage = new ReplayedStage(stage);
+        RegisteredListener registeredListener = mController.registerListenerForEvent(listener, eventType,
+                replayedStage);
+        replayToListener(listener, eventType::isInstance, replayedStage.mOperator);
+
+        return registeredListener;
+    }
+
+    @Override
+    public <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType,
+                                                                         Predicate<? super E> predicate,
+                                                                         Stage stage) {
+        ReplayedStage replayedStage = new ReplayedStage(stage);
+        RegisteredListener registeredListener = mController.registerListenerForEvent(listener, eventType, predicate,
+                replayedStage);
+        replayToListener(listener, (event)-> eventType.isInstance(event) && predicate.test(eventType.cast(event)),
+                replayedStage.mOperator);
+
+        return registeredListener;
+    }
+
+    @Override
+    public RegisteredListener registerWeakListener(Listener listener) {
+        RegisteredListener registeredListener = mController.registerWeakListener(listener);
+        replayToListener(listener, null);
+
+        return registeredListener;
+    }
+
+    @Override
+    public RegisteredListener registerWeakListener(Listener listener, Predicate<Event> predicate) {
+        RegisteredListener registeredListener = mController.registerWeakListener(listener, predicate);
+        replayToListener(listener, predicate);
+
+        return registeredListener;
+    }
+
+    @Override
+    public RegisteredListener registerSubscriber(Listener subscriber) {
+        RegisteredListener registeredListener = mController.registerSubscriber(subscriber);
+
+        SubscriberAdapter adapter = SubscriberAdapters.forClass(subscriber.getClass());
+        List<Entry> entries = snapshot();
+        try {
+            for (Entry entry : entries) {
+                if (entry.mListenerType == null && adapter.handles(entry.mEventType)) {
+                    synchronized (entry) {
+                        if (!entry.mReplaced) {
+                            adapter.call(subscriber, entry.mEvent);
+                        }
+                    }
+                }
+            }
+        } finally {
+            release(entries);
+        }
+
+        return registeredListener;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E extends Event, L extends Listener> void fire(E event, Class<E> eventType,
+                                                           Class<L> listenerType,
+                                                           BiConsumer<L, E> listenerCall) {
+        // kept before firing, so that listeners registered meanwhile do not miss it
+        keep(event, eventType, listenerType, (BiConsumer<Listener, Event>) listenerCall);
+        mController.fire(event, eventType, listenerType, listenerCall);
+    }
+
+    @Override
+    public <E extends Event> void fire(E event, Class<E> eventType) {
+        keep(event, eventType, null, null);
+        mController.fire(event, eventType);
+    }
+
+    /**
+     * @return timing wheel of the wrapped controller, on which fires scheduled through this controller run,
+     *      so that they are kept.
+     */
+    @Override
+    public TimingWheel getTimingWheel() {
+        return mController.getTimingWheel();
+    }
+
+    private void keep(Event event, Class<? extends Event> eventType, Class<? extends Listener> listenerType,
+                      BiConsumer<Listener, Event> listenerCall) {
+        Function<Object, ?> keyFunction = mStickyTypes.get(eventType);
+        if (keyFunction == null) {
+            return;
+        }
+
+        List<Object> key = Arrays.asList(eventType, listenerType, keyFunction.apply(event));
+        Entry entry = new Entry(event, eventType, listenerType, listenerCall);
+        PooledEvent.retainIfPooled(event);
+
+        List<Entry> released = new ArrayList<>(2);
+        Entry replaced;
+        synchronized (mEntries) {
+            // removed first, so the entry moves to the end of the eviction order
+            replaced = mEntries.remove(key);
+            if (replaced != null) {
+                released.add(replaced);
+            }
+            mEntries.put(key, entry);
+
+            if (mEntries.size() > mMaxEntries) {
+                Iterator<Entry> eldest = mEntries.values().iterator();
+                released.add(eldest.next());
+                eldest.remove();
+                mEvictedCount++;
+            }
+        }
+
+        if (replaced != null) {
+            // waits for replays of the replaced event, so that it does not reach listeners after this event
+            synchronized (replaced) {
+                replaced.mReplaced = true;
+            }
+        }
+
+        release(released);
+    }
+
+    private void replayToListener(Listener listener, Predicate<Event> predicate) {
+        replayToListener(listener, predicate, null);
+    }
+
+    private void replayToListener(Listener listener, Predicate<Event> predicate, Operator operator) {
+        List<Entry> entries = snapshot();
+        try {
+            for (Entry entry : entries) {
+                if (entry.mListenerType != null && entry.mListenerType.isInstance(listener) &&
+                        (predicate == null || predicate.test(entry.mEvent))) {
+                    synchronized (entry) {
+                        // a newer event, kept after the snapshot, is fired to the listener
+                        if (entry.mReplaced) {
+                            continue;
+                        }
+
+                        if (operator != null) {
+                            // passes through the stage of the registration, as fired events do
+                            operator.accept(entry.mEvent, listener, entry.mListenerCall);
+                        } else {
+                            entry.mListenerCall.accept(listener, entry.mEvent);
+                        }
+                    }
+                }
+            }
+        } finally {
+            release(entries);
+        }
+    }
+
+    private List<Entry> snapshot() {
+        synchronized (mEntries) {
+            List<Entry> entries = new ArrayList<>(mEntries.values());
+            // kept events may be evicted while replayed
+            for (Entry entry : entries) {
+                PooledEvent.retainIfPooled(entry.mEvent);
+            }
+
+            return entries;
+        }
+    }
+
+    private static void release(List<Entry> entries) {
+        for (Entry entry : entries) {
+            PooledEvent.releaseIfPooled(entry.mEvent);
+        }
+    }
+
+    private static class ReplayedStage implements Stage {
+
+        private final Stage mStage;
+        private volatile Operator mOperator;
+
+        private ReplayedStage(Stage stage) {
+            mStage = stage;
+        }
+
+        @Override
+        public Operator open(Operator downstream, TimingWheel timingWheel) {
+            // the operators of the registration, which replayed events are passed to
+            Operator operator = mStage.open(downstream, timingWheel);
+            mOperator = operator;
+            return operator;
+        }
+    }
+
+    private static class Entry {
+
+        private final Event mEvent;
+        private final Class<? extends Event> mEventType;
+        private final Class<? extends Listener> mListenerType;
+        private final BiConsumer<Listener, Event> mListenerCall;
+
+        // guarded by the entry
+        private boolean mReplaced;
+
+        private Entry(Event event, Class<? extends Event> eventType, Class<? extends Listener> listenerType,
+                      BiConsumer<Listener, Event> listenerCall) {
+            mEvent = event;
+            mEventType = eventType;
+            mListenerType = listenerType;
+            mListenerCall = listenerCall;
+            mReplaced = false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.notifier;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ *     Marks a method of a listener as an event handler, to be found when the listener is registered via
+ *     {@link EventController#registerSubscriber(Listener)}.
+ * </p>
+ * <p>
+ *     An handler method should return <code>void</code>, throw no checked exceptions and receive exactly
+ *     one parameter, which is the type of the event handled by it (or a super type of it).
+ * </p>
+ * <p>
+ *     Subscriber classes are scanned at runtime, unless an adapter for them was generated at compile time
+ *     by the <em>notifier-processor</em> annotation processor, in which case it must also not be private.
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Subscribe {
+}
@@ -0,0 +1,17 @@
+package com.notifier;
+
+/**
+ * <p>
+ *     Dispatches events to the {@link Subscribe} methods of a specific subscriber class.
+ * </p>
+ * <p>
+ *     Adapters are usually generated at compile time by the <em>notifier-processor</em> annotation
+ *     processor, and provided by a {@link SubscriberIndex}. Classes not covered by any index are scanned
+ *     at runtime instead.
+ * </p>
+ */
+public interface SubscriberAdapter {
+
+    boolean handles(Class<? extends Event> eventType);
+    void call(Object subscriber, Event event);
+}
@@ -0,0 +1,74 @@
+package com.notifier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ServiceLoader;
+
+class SubscriberAdapters {
+
+    private static final Collection<SubscriberIndex> INDEXES = loadIndexes();
+    private static final ClassValue<SubscriberAdapter> ADAPTERS = new ClassValue<SubscriberAdapter>() {
+        @Override
+        protected SubscriberAdapter computeValue(Class<?> type) {
+            return createAdapter(type);
+        }
+    };
+
+    private SubscriberAdapters() {}
+
+    static SubscriberAdapter forClass(Class<?> type) {
+        return ADAPTERS.get(type);
+    }
+
+    private static SubscriberAdapter createAdapter(Class<?> type) {
+        for (SubscriberIndex index : INDEXES) {
+            SubscriberAdapter adapter = index.getAdapter(type);
+            if (adapter != null) {
+                return adapter;
+            }
+        }
+
+        SubscriberMethod[] methods = SubscriberMethod.scan(type);
+        if (methods.length == 0) {
+            throw new IllegalArgumentException("no @Subscribe methods found in " + type);
+        }
+
+        return new MethodsAdapter(methods);
+    }
+
+    private static Collection<SubscriberIndex> loadIndexes() {
+        Collection<SubscriberIndex> indexes = new ArrayList<>();
+        for (SubscriberIndex index : ServiceLoader.load(SubscriberIndex.class)) {
+            indexes.add(index);
+        }
+
+        return indexes;
+    }
+
+    private static class MethodsAdapter implements SubscriberAdapter {
+
+        private final SubscriberMethod[] mMethods;
+
+        private MethodsAdapter(SubscriberMethod[] methods) {
+            mMethods = methods;
+        }
+
+        @Override
+        public boolean handles(Class<? extends Event> eventType) {
+            for (SubscriberMethod method : mMethods) {
+                if (method.handles(eventType)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public void call(Object subscriber, Event event) {
+            for (SubscriberMethod method : mMethods) {
+                method.call(subscriber, event);
+            }
+        }
+    }
+}
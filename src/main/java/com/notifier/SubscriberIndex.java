@@ -0,0 +1,21 @@
+package com.notifier;
+
+/**
+ * <p>
+ *     Provides {@link SubscriberAdapter adapters} for subscriber classes, without the need to scan
+ *     them at runtime.
+ * </p>
+ * <p>
+ *     Indexes are loaded with {@link java.util.ServiceLoader} the first time a subscriber is registered, and
+ *     are usually generated at compile time by the <em>notifier-processor</em> annotation processor.
+ * </p>
+ */
+public interface SubscriberIndex {
+
+    /**
+     * @param subscriberType type of subscriber.
+     *
+     * @return adapter for the given type, or <code>null</code> if it is not indexed.
+     */
+    SubscriberAdapter getAdapter(Class<?> subscriberType);
+}
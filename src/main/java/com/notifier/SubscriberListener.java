@@ -0,0 +1,25 @@
+package com.notifier;
+
+class SubscriberListener implements Listener, Prioritized {
+
+    final Listener mSubscriber;
+    private final SubscriberAdapter mAdapter;
+
+    SubscriberListener(Listener subscriber) {
+        mSubscriber = subscriber;
+        mAdapter = SubscriberAdapters.forClass(subscriber.getClass());
+    }
+
+    @Override
+    public Priority getPriority() {
+        return Prioritized.priorityOf(mSubscriber);
+    }
+
+    boolean handles(Class<? extends Event> eventType) {
+        return mAdapter.handles(eventType);
+    }
+
+    void call(Event event) {
+        mAdapter.call(mSubscriber, event);
+    }
+}
@@ -0,0 +1,143 @@
+package com.notifier;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+class SubscriberMethod {
+
+    private final Class<? extends Event> mEventType;
+    private final BiConsumer<Object, Object> mInvoker;
+
+    SubscriberMethod(Class<? extends Event> eventType, BiConsumer<Object, Object> invoker) {
+        mEventType = eventType;
+        mInvoker = invoker;
+    }
+
+    boolean handles(Class<? extends Event> eventType) {
+        return mEventType.isAssignableFrom(eventType);
+    }
+
+    void call(Object subscriber, Event event) {
+        if (mEventType.isInstance(event)) {
+            mInvoker.accept(subscriber, event);
+        }
+    }
+
+    static SubscriberMethod[] scan(Class<?> type) {
+        Collection<SubscriberMethod> methods = new ArrayList<>();
+        Set<String> signatures = new HashSet<>();
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(Subscribe.class) || method.isBridge()) {
+                    continue;
+                }
+
+                Class<? extends Event> eventType = eventTypeOf(method);
+                if (!signatures.add(method.getName() + Arrays.toString(method.getParameterTypes()))) {
+                    // overridden by a subclass
+                    continue;
+                }
+
+                methods.add(new SubscriberMethod(eventType, createInvoker(method)));
+            }
+        }
+
+        return methods.toArray(new SubscriberMethod[0]);
+    }
+
+    private static Class<? extends Event> eventTypeOf(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) ||
+                method.getReturnType() != void.class ||
+                method.getParameterCount() != 1 ||
+                !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+            throw new IllegalArgumentException(String.format(
+                    "%s is annotated with @Subscribe, but is not a non-static void method receiving a single Event",
+                    method));
+        }
+
+        return method.getParameterTypes()[0].asSubclass(Event.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createInvoker(Method method) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle handle;
+        try {
+            if (!isAccessible(method)) {
+                method.setAccessible(true);
+            }
+            handle = lookup.unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("cannot access subscriber method " + method, e);
+        }
+
+        if (canGenerateFor(method)) {
+            try {
+                CallSite callSite = LambdaMetafactory.metafactory(lookup,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        handle.type());
+                return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+            } catch (Throwable t) {
+                // fallback to the method handle
+            }
+        }
+
+        return new MethodHandleInvoker(handle);
+    }
+
+    private static boolean isAccessible(Method method) {
+        return Modifier.isPublic(method.getModifiers()) &&
+                Modifier.isPublic(method.getDeclaringClass().getModifiers());
+    }
+
+    private static boolean canGenerateFor(Method method) {
+        // generated classes are defined alongside this class, so they can only link to
+        // accessible methods of classes visible to our class loader.
+        if (!isAccessible(method)) {
+            return false;
+        }
+
+        Class<?> declaringClass = method.getDeclaringClass();
+        try {
+            return Class.forName(declaringClass.getName(), false,
+                    SubscriberMethod.class.getClassLoader()) == declaringClass;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static class MethodHandleInvoker implements BiConsumer<Object, Object> {
+
+        private final MethodHandle mHandle;
+
+        private MethodHandleInvoker(MethodHandle handle) {
+            mHandle = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        }
+
+        @Override
+        public void accept(Object subscriber, Object event) {
+            try {
+                mHandle.invokeExact(subscriber, event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.notifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ *     A hashed hierarchical timing wheel, used for running tasks after a delay.
+ *     Scheduling and cancelling tasks take constant time, regardless of the amount of pending tasks,
+ *     which makes it suitable for a lot of short-lived timers, such as timeouts and retries.
+ * </p>
+ * <p>
+ *     Time is divided into ticks. Each level of the wheel has 64 slots, with each slot of a level covering
+ *     64 times the time of a slot in the level beneath it. Tasks are placed by their deadline in the lowest
+ *     level which covers it, and are moved to lower levels as the time passes, until they expire.
+ *     Deadlines are thus accurate up to a tick.
+ * </p>
+ * <p>
+ *     Expired tasks are run by a single daemon thread, owned by the wheel. They should therefore be short,
+ *     as they delay the following tasks. The thread sleeps until the next occupied slot, or, while no task
+ *     is pending, until a task is scheduled.
+ * </p>
+ */
+public class TimingWheel implements AutoCloseable {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final long MAX_DELAY_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private static final Object DEFAULT_LOCK = new Object();
+    private static TimingWheel sDefault = null;
+
+    private final long mTickNanos;
+    private final long mStartNanos;
+    private final Slot[][] mLevels;
+    private final ReentrantLock mLock;
+    private final Thread mThread;
+
+    private long mCurrentTick;
+    private int mPendingCount;
+    private long mWakeTick;
+    private volatile boolean mClosed;
+
+    public TimingWheel(long tickDuration, TimeUnit tickUnit) {
+        mTickNanos = tickUnit.toNanos(tickDuration);
+        if (mTickNanos <= 0) {
+            throw new IllegalArgumentException("tick duration must be positive");
+        }
+
+        mStartNanos = System.nanoTime();
+        mLevels = new Slot[LEVELS][SLOTS];
+        for (Slot[] level : mLevels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot();
+            }
+        }
+        mLock = new ReentrantLock();
+        mCurrentTick = 0;
+        mPendingCount = 0;
+        mWakeTick = Long.MAX_VALUE;
+        mClosed = false;
+
+        mThread = new Thread(new TickTask(), "notifier-timing-wheel");
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    /**
+     * @return a timing wheel shared by all controllers which were not given one, with a tick of 1 millisecond.
+     */
+    public static TimingWheel getDefault() {
+        synchronized (DEFAULT_LOCK) {
+            if (sDefault == null) {
+                sDefault = new TimingWheel(1, TimeUnit.MILLISECONDS);
+            }
+
+            return sDefault;
+        }
+    }
+
+    public ScheduledFire schedule(Runnable task, long delay, TimeUnit unit) {
+        if (mClosed) {
+            throw new IllegalStateException("timing wheel closed");
+        }
+
+        long delayTicks = Math.max(0, (unit.toNanos(delay) + mTickNanos - 1) / mTickNanos);
+        long nowTick = (System.nanoTime() - mStartNanos) / mTickNanos;
+
+        mLock.lock();
+        try {
+            if (mPendingCount == 0 && mCurrentTick < nowTick) {
+                // the wheel is empty, so the ticks which passed while idle need not be processed
+                mCurrentTick = nowTick;
+            }
+
+            // ticks which have passed but were not processed yet, are processed before new ones
+            long deadlineTick = Math.max(nowTick, mCurrentTick) + Math.max(delayTicks, 1);
+            Timer timer = new Timer(task, deadlineTick);
+            place(timer);
+            mPendingCount++;
+
+            if (deadlineTick < mWakeTick) {
+                // the thread sleeps past the deadline, or until unparked
+                mWakeTick = deadlineTick;
+                LockSupport.unpark(mThread);
+            }
+
+            return timer;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        mClosed = true;
+        mThread.interrupt();
+    }
+
+    private void place(Timer timer) {
+        // lock must be held
+        long delta = Math.min(timer.mDeadlineTick - mCurrentTick, MAX_DELAY_TICKS);
+
+        int level = 0;
+        while (delta >= SLOTS && level < LEVELS - 1) {
+            delta >>>= SLOT_BITS;
+            level++;
+        }
+
+        long tick = Math.min(timer.mDeadlineTick, mCurrentTick + MAX_DELAY_TICKS);
+        int index = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        mLevels[level][index].add(timer);
+    }
+
+    private void advance(List<Timer> expired) {
+        // lock must be held
+        mCurrentTick++;
+
+        // move down tasks from higher levels whose slot was reached
+        for (int level = 1; level < LEVELS; level++) {
+            long lowerTicks = mCurrentTick & ((1L << (SLOT_BITS * level)) - 1);
+            if (lowerTicks != 0) {
+                break;
+            }
+
+            int index = (int) ((mCurrentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            for (Timer timer = mLevels[level][index].removeAll(); timer != null; ) {
+                Timer next = timer.mNext;
+                timer.mNext = null;
+                place(timer);
+                timer = next;
+            }
+        }
+
+        Slot slot = mLevels[0][(int) (mCurrentTick & SLOT_MASK)];
+        for (Timer timer = slot.removeAll(); timer != null; ) {
+            Timer next = timer.mNext;
+            timer.mNext = null;
+            if (timer.mDeadlineTick <= mCurrentTick) {
+                timer.mState = Timer.STATE_EXPIRED;
+                mPendingCount--;
+                expired.add(timer);
+            } else {
+                // deadline was further than the wheel covers
+                place(timer);
+            }
+            timer = next;
+        }
+    }
+
+    private long nextOccupiedTick() {
+        // lock must be held
+        long next = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            // slots of higher levels are reached once the ticks beneath them wrap around
+            int shift = SLOT_BITS * level;
+            long base = mCurrentTick >>> shift;
+            for (int i = 1; i <= SLOTS; i++) {
+                long tick = (base + i) << shift;
+                if (tick >= next) {
+                    break;
+                }
+                if (!mLevels[level][(int) ((base + i) & SLOT_MASK)].isEmpty()) {
+                    next = tick;
+                    break;
+                }
+            }
+        }
+
+        return next;
+    }
+
+    private class TickTask implements Runnable {
+
+        @Override
+        public void run() {
+            List<Timer> expired = new ArrayList<>();
+
+            while (!mClosed && !Thread.interrupted()) {
+                long nowTick = (System.nanoTime() - mStartNanos) / mTickNanos;
+                long wakeTick;
+
+                mLock.lock();
+                try {
+                    while (mCurrentTick < nowTick && mPendingCount > 0) {
+                        advance(expired);
+                    }
+                    if (mPendingCount == 0) {
+                        mCurrentTick = Math.max(mCurrentTick, nowTick);
+                    }
+
+                    // set under the lock, so tasks scheduled earlier than it unpark the thread
+                    wakeTick = mPendingCount == 0 ? Long.MAX_VALUE : nextOccupiedTick();
+                    mWakeTick = wakeTick;
+                } finally {
+                    mLock.unlock();
+                }
+
+                for (Timer timer : expired) {
+                    try {
+                        timer.mTask.run();
+                    } catch (Throwable t) {
+                        // ignore, to keep running other tasks. the thread is shared by all timers
+                    }
+                }
+                expired.clear();
+
+                if (wakeTick == Long.MAX_VALUE) {
+                    LockSupport.park(this);
+                } else {
+                    LockSupport.parkNanos(this, mStartNanos + wakeTick * mTickNanos - System.nanoTime());
+                }
+            }
+        }
+    }
+
+    private static class Slot {
+
+        private Timer mHead;
+
+        boolean isEmpty() {
+            return mHead == null;
+        }
+
+        void add(Timer timer) {
+            timer.mSlot = this;
+            timer.mPrev = null;
+            timer.mNext = mHead;
+            if (mHead != null) {
+                mHead.mPrev = timer;
+            }
+            mHead = timer;
+        }
+
+        void remove(Timer timer) {
+            if (timer.mPrev != null) {
+                timer.mPrev.mNext = timer.mNext;
+            } else {
+                mHead = timer.mNext;
+            }
+            if (timer.mNext != null) {
+                timer.mNext.mPrev = timer.mPrev;
+            }
+
+            timer.mSlot = null;
+            timer.mPrev = null;
+            timer.mNext = null;
+        }
+
+        Timer removeAll() {
+            Timer head = mHead;
+            mHead = null;
+
+            for (Timer timer = head; timer != null; timer = timer.mNext) {
+                timer.mSlot = null;
+                timer.mPrev = null;
+            }
+
+            return head;
+        }
+    }
+
+    private class Timer implements ScheduledFire {
+
+        private static final int STATE_PENDING = 0;
+        private static final int STATE_EXPIRED = 1;
+        private static final int STATE_CANCELLED = 2;
+
+        private final Runnable mTask;
+        private final long mDeadlineTick;
+
+        private Slot mSlot;
+        private Timer mPrev;
+        private Timer mNext;
+        private volatile int mState;
+
+        private Timer(Runnable task, long deadlineTick) {
+            mTask = task;
+            mDeadlineTick = deadlineTick;
+            mState = STATE_PENDING;
+        }
+
+        @Override
+        public boolean cancel() {
+            mLock.lock();
+            try {
+                if (mState != STATE_PENDING) {
+                    return false;
+                }
+
+                mState = STATE_CANCELLED;
+                if (mSlot != null) {
+                    mSlot.remove(this);
+                    mPendingCount--;
+                }
+
+                return true;
+            } finally {
+                mLock.unlock();
+            }
+        }
+
+        @Override
+        public boolean isDone() {
+            return mState != STATE_PENDING;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.notifier;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+class WeakListener extends WeakReference<Listener> implements Listener, Prioritized {
+
+    private static final ReferenceQueue<Listener> STALE_LISTENERS = new ReferenceQueue<>();
+    private static final Object REAPER_LOCK = new Object();
+    private static Thread sReaperThread = null;
+
+    private final WeakReference<DispatchingController> mController;
+    final Predicate<Event> mPredicate;
+
+    WeakListener(DispatchingController controller, Listener listener, Predicate<Event> predicate) {
+        super(listener, STALE_LISTENERS);
+        mController = new WeakReference<>(controller);
+        mPredicate = predicate;
+
+        startReaper();
+    }
+
+    public <L extends Listener, E extends Event> void call(E event, Class<L> listenerType,
+                                                           BiConsumer<L, E> listenerCall) {
+        Listener listener = get();
+        if (listenerType.isInstance(listener) && (mPredicate == null || mPredicate.test(event))) {
+            listenerCall.accept(listenerType.cast(listener), event);
+        }
+    }
+
+    @Override
+    public Priority getPriority() {
+        return Prioritized.priorityOf(get());
+    }
+
+    static void expungeStaleListeners() {
+        Reference<? extends Listener> reference = STALE_LISTENERS.poll();
+        if (reference != null) {
+            expungeStaleListeners(reference);
+        }
+    }
+
+    private static void expungeStaleListeners(Reference<? extends Listener> first) {
+        Map<DispatchingController, Collection<Listener>> staleListeners = new HashMap<>();
+
+        for (Reference<? extends Listener> reference = first; reference != null; reference = STALE_LISTENERS.poll()) {
+            WeakListener listener = (WeakListener) reference;
+            DispatchingController controller = listener.mController.get();
+            if (controller != null) {
+                staleListeners.computeIfAbsent(controller, (c)-> new ArrayList<>()).add(listener);
+            }
+        }
+
+        for (Map.Entry<DispatchingController, Collection<Listener>> entry : staleListeners.entrySet()) {
+            entry.getKey().removeListeners(entry.getValue());
+        }
+    }
+
+    private static void startReaper() {
+        synchronized (REAPER_LOCK) {
+            if (sReaperThread != null) {
+                return;
+            }
+
+            sReaperThread = new Thread(new ReaperTask(), "notifier-weak-listener-reaper");
+            sReaperThread.setDaemon(true);
+            sReaperThread.start();
+        }
+    }
+
+    private static class ReaperTask implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.interrupted()) {
+                    expungeStaleListeners(STALE_LISTENERS.remove());
+                }
+            } catch (InterruptedException e) {
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.notifier.bridge;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Memory fences for ordering reads and writes of memory shared with other processes, which is not covered
+ * by the java memory model. Uses the fences of <code>sun.misc.Unsafe</code> when available, and falls back
+ * to the fences implied by volatile accesses.
+ */
+final class MemoryFences {
+
+    private static final MethodHandle STORE_FENCE;
+    private static final MethodHandle LOAD_FENCE;
+
+    private static volatile int sFallbackFence;
+
+    static {
+        MethodHandle storeFence = null;
+        MethodHandle loadFence = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            storeFence = lookup.findVirtual(unsafeClass, "storeFence", MethodType.methodType(void.class)).bindTo(unsafe);
+            loadFence = lookup.findVirtual(unsafeClass, "loadFence", MethodType.methodType(void.class)).bindTo(unsafe);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // use fallback
+        }
+
+        STORE_FENCE = storeFence;
+        LOAD_FENCE = loadFence;
+    }
+
+    private MemoryFences() {
+    }
+
+    /**
+     * Writes before the fence are not reordered with writes after it.
+     */
+    static void storeFence() {
+        if (STORE_FENCE != null) {
+            try {
+                STORE_FENCE.invokeExact();
+                return;
+            } catch (Throwable t) {
+                // use fallback
+            }
+        }
+
+        fullFence();
+    }
+
+    /**
+     * Reads before the fence are not reordered with reads after it.
+     */
+    static void loadFence() {
+        if (LOAD_FENCE != null) {
+            try {
+                LOAD_FENCE.invokeExact();
+                return;
+            } catch (Throwable t) {
+                // use fallback
+            }
+        }
+
+        fullFence();
+    }
+
+    private static void fullFence() {
+        sFallbackFence = sFallbackFence + 1;
+    }
+}
@@ -0,0 +1,43 @@
+package com.notifier.bridge;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.dispatchers.EventDispatcher;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     An {@link EventDispatcher} which passes each dispatched event matching a filter to a publisher,
+ *     such as {@link SharedMemoryPublisher#publish(Event)}, and then dispatches it locally with another
+ *     dispatcher.
+ * </p>
+ */
+public class PublishingDispatcher implements EventDispatcher {
+
+    private final Consumer<? super Event> mPublisher;
+    private final EventDispatcher mEventDispatcher;
+    private final Predicate<? super Event> mEventFilter;
+
+    public PublishingDispatcher(Consumer<? super Event> publisher, EventDispatcher eventDispatcher, Predicate<? super Event> eventFilter) {
+        mPublisher = publisher;
+        mEventDispatcher = eventDispatcher;
+        mEventFilter = eventFilter;
+    }
+
+    public PublishingDispatcher(Consumer<? super Event> publisher, EventDispatcher eventDispatcher) {
+        this(publisher, eventDispatcher, (e)->true);
+    }
+
+    @Override
+    public void dispatch(Collection<Listener> listeners, Predicate<Listener> listenerFilter, Event event, BiConsumer<Listener, Event> listenerCall) {
+        if (mEventFilter.test(event)) {
+            mPublisher.accept(event);
+        }
+
+        mEventDispatcher.dispatch(listeners, listenerFilter, event, listenerCall);
+    }
+}
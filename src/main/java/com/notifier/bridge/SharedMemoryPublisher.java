@@ -0,0 +1,96 @@
+package com.notifier.bridge;
+
+import com.notifier.Event;
+import com.notifier.codec.EventCodec;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * <p>
+ *     Publishes events into a ring buffer in a memory-mapped file, from which {@link SharedMemoryReceiver}s,
+ *     in the same process or in other processes on the same host, receive them. Placing the file on a memory
+ *     backed file system (such as <code>/dev/shm</code> on Linux) avoids any disk writes.
+ * </p>
+ * <p>
+ *     Publishing never waits for receivers. Receivers which fall behind by more than the capacity of the ring
+ *     lose events. Only a single publisher may write to a file at a time; a publisher opening a file which was
+ *     written by a previous publisher with the same capacity, continues after its last event.
+ * </p>
+ */
+public class SharedMemoryPublisher implements AutoCloseable {
+
+    private final EventCodec mCodec;
+    private final int mCapacity;
+    private final MappedByteBuffer mBuffer;
+    private final ByteBuffer mWriteBuffer;
+    private final ByteBuffer mEncodeBuffer;
+
+    private long mTail;
+
+    public SharedMemoryPublisher(Path path, int capacity, EventCodec codec) throws IOException {
+        SharedMemoryRing.checkCapacity(capacity);
+
+        mCodec = codec;
+        mCapacity = capacity;
+        mBuffer = SharedMemoryRing.map(path, capacity);
+        mWriteBuffer = mBuffer.duplicate();
+        mEncodeBuffer = ByteBuffer.allocate(SharedMemoryRing.maxRecordSize(capacity) - SharedMemoryRing.RECORD_HEADER_SIZE);
+
+        if (mBuffer.getInt(SharedMemoryRing.MAGIC_OFFSET) == SharedMemoryRing.MAGIC &&
+                mBuffer.getInt(SharedMemoryRing.CAPACITY_OFFSET) == capacity) {
+            mTail = mBuffer.getLong(SharedMemoryRing.TAIL_OFFSET);
+        } else {
+            mTail = 0;
+            mBuffer.putInt(SharedMemoryRing.CAPACITY_OFFSET, capacity);
+            mBuffer.putLong(SharedMemoryRing.TAIL_OFFSET, 0);
+            MemoryFences.storeFence();
+            mBuffer.putInt(SharedMemoryRing.MAGIC_OFFSET, SharedMemoryRing.MAGIC);
+        }
+    }
+
+    /**
+     * Writes an event into the ring.
+     *
+     * @throws IllegalArgumentException if the event is not supported by the codec, or its encoded form is larger
+     *      than a quarter of the capacity.
+     */
+    public synchronized void publish(Event event) {
+        mEncodeBuffer.clear();
+        try {
+            mCodec.encode(event, mEncodeBuffer);
+        } catch (BufferOverflowException e) {
+            throw new IllegalArgumentException("event too large for ring: " + event.getClass().getName(), e);
+        }
+        mEncodeBuffer.flip();
+
+        int length = mEncodeBuffer.remaining();
+        int recordSize = SharedMemoryRing.recordSize(length);
+        long tail = mTail;
+        int offset = (int) (tail & (mCapacity - 1));
+
+        if (offset + recordSize > mCapacity) {
+            mBuffer.putInt(SharedMemoryRing.HEADER_SIZE + offset, SharedMemoryRing.PADDING_LENGTH);
+            tail += mCapacity - offset;
+            offset = 0;
+        }
+
+        int position = SharedMemoryRing.HEADER_SIZE + offset;
+        mBuffer.putInt(position, length);
+        mWriteBuffer.position(position + SharedMemoryRing.RECORD_HEADER_SIZE);
+        mWriteBuffer.put(mEncodeBuffer);
+
+        // the record must be visible before the tail which covers it
+        MemoryFences.storeFence();
+        mTail = tail + recordSize;
+        mBuffer.putLong(SharedMemoryRing.TAIL_OFFSET, mTail);
+    }
+
+    @Override
+    public void close() {
+        mBuffer.force();
+    }
+}
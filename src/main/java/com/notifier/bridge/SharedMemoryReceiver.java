@@ -0,0 +1,210 @@
+package com.notifier.bridge;
+
+import com.notifier.Event;
+import com.notifier.EventController;
+import com.notifier.codec.EventCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ *     Receives events published by a {@link SharedMemoryPublisher} into a memory-mapped file, possibly by
+ *     another process. Each receiver has a cursor of its own, and starts at the events published after it was
+ *     opened. Any amount of receivers may read the same file.
+ * </p>
+ * <p>
+ *     The publisher does not wait for receivers. A receiver which falls behind to the point where the events
+ *     it has yet to read were overwritten, skips to the latest event, and counts an overrun.
+ * </p>
+ * <p>
+ *     Events may be polled directly, or by a thread of the receiver, which polls continuously, and waits for
+ *     increasingly longer periods while no events are published.
+ * </p>
+ */
+public class SharedMemoryReceiver implements AutoCloseable {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 10;
+    private static final long MAX_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final EventCodec mCodec;
+    private final int mCapacity;
+    private final int mMaxRecordSize;
+    private final MappedByteBuffer mBuffer;
+    private final ByteBuffer mReadBuffer;
+    private final ByteBuffer mDecodeBuffer;
+
+    private long mPosition;
+    private long mOverrunCount;
+    private volatile Thread mThread;
+
+    public SharedMemoryReceiver(Path path, EventCodec codec) throws IOException {
+        mCodec = codec;
+        mBuffer = SharedMemoryRing.map(path, 0);
+        if (mBuffer.capacity() < SharedMemoryRing.HEADER_SIZE ||
+                mBuffer.getInt(SharedMemoryRing.MAGIC_OFFSET) != SharedMemoryRing.MAGIC) {
+            throw new IllegalStateException("ring not initialized by a publisher: " + path);
+        }
+        MemoryFences.loadFence();
+
+        mCapacity = mBuffer.getInt(SharedMemoryRing.CAPACITY_OFFSET);
+        mMaxRecordSize = SharedMemoryRing.maxRecordSize(mCapacity);
+        mReadBuffer = mBuffer.duplicate();
+        mDecodeBuffer = ByteBuffer.allocate(mMaxRecordSize);
+
+        mPosition = mBuffer.getLong(SharedMemoryRing.TAIL_OFFSET);
+        mOverrunCount = 0;
+    }
+
+    /**
+     * Reads events published since the last poll, up to the given limit.
+     *
+     * @param consumer consumer to pass the events to.
+     * @param limit maximum amount of events to read.
+     *
+     * @return amount of events read.
+     */
+    public synchronized int poll(Consumer<? super Event> consumer, int limit) {
+        long tail = mBuffer.getLong(SharedMemoryRing.TAIL_OFFSET);
+        MemoryFences.loadFence();
+
+        int count = 0;
+        while (mPosition < tail && count < limit) {
+            if (isOverrun(tail)) {
+                skipTo(tail);
+                break;
+            }
+
+            int offset = (int) (mPosition & (mCapacity - 1));
+            int length = mBuffer.getInt(SharedMemoryRing.HEADER_SIZE + offset);
+            if (length == SharedMemoryRing.PADDING_LENGTH) {
+                mPosition += mCapacity - offset;
+                continue;
+            }
+
+            int recordSize = SharedMemoryRing.recordSize(length);
+            if (length < 0 || recordSize > mMaxRecordSize) {
+                // overwritten while read
+                skipTo(mBuffer.getLong(SharedMemoryRing.TAIL_OFFSET));
+                break;
+            }
+
+            int position = SharedMemoryRing.HEADER_SIZE + offset + SharedMemoryRing.RECORD_HEADER_SIZE;
+            mReadBuffer.limit(position + length);
+            mReadBuffer.position(position);
+            mDecodeBuffer.clear();
+            mDecodeBuffer.put(mReadBuffer);
+            mDecodeBuffer.flip();
+            mReadBuffer.limit(mReadBuffer.capacity());
+
+            // the copy is only valid if the publisher did not reach it in the meanwhile
+            MemoryFences.loadFence();
+            long latestTail = mBuffer.getLong(SharedMemoryRing.TAIL_OFFSET);
+            if (isOverrun(latestTail)) {
+                skipTo(latestTail);
+                break;
+            }
+
+            mPosition += recordSize;
+            consumer.accept(mCodec.decode(mDecodeBuffer));
+            count++;
+        }
+
+        return count;
+    }
+
+    public int poll(Consumer<? super Event> consumer) {
+        return poll(consumer, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return amount of times the receiver fell behind, and skipped events.
+     */
+    public synchronized long getOverrunCount() {
+        return mOverrunCount;
+    }
+
+    /**
+     * Starts polling events in a new daemon thread, and passing them to the given consumer.
+     */
+    public synchronized void start(Consumer<? super Event> consumer) {
+        if (mThread != null) {
+            throw new IllegalStateException("already started");
+        }
+
+        mThread = new Thread(new PollingTask(consumer), "notifier-shm-receiver");
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    /**
+     * Starts polling events in a new daemon thread, and firing them to the subscribers of the given controller.
+     * See {@link EventController#fire(Event, Class)}.
+     */
+    @SuppressWarnings("unchecked")
+    public void start(EventController controller) {
+        start((event)-> controller.fire(event, (Class<Event>) event.getClass()));
+    }
+
+    @Override
+    public void close() {
+        Thread thread = mThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private boolean isOverrun(long tail) {
+        // the publisher may be writing up to two records past the tail: a padding record, and the record itself
+        return tail + 2L * mMaxRecordSize - mPosition > mCapacity;
+    }
+
+    private void skipTo(long tail) {
+        mPosition = tail;
+        mOverrunCount++;
+    }
+
+    private class PollingTask implements Runnable {
+
+        private final Consumer<? super Event> mConsumer;
+
+        private PollingTask(Consumer<? super Event> consumer) {
+            mConsumer = consumer;
+        }
+
+        @Override
+        public void run() {
+            int idleCount = 0;
+            long parkNanos = 1000;
+
+            while (!Thread.interrupted()) {
+                int count;
+                try {
+                    count = poll(mConsumer, 256);
+                } catch (RuntimeException e) {
+                    // ignore, to keep receiving other events
+                    count = 1;
+                }
+
+                if (count > 0) {
+                    idleCount = 0;
+                    parkNanos = 1000;
+                } else if (idleCount < SPIN_TRIES) {
+                    idleCount++;
+                } else if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+                    idleCount++;
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(this, parkNanos);
+                    parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.notifier.bridge;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * <p>
+ *     Layout of a ring buffer of events in a memory-mapped file, written by a single {@link SharedMemoryPublisher}
+ *     and read by any amount of {@link SharedMemoryReceiver}s, possibly in other processes.
+ * </p>
+ * <p>
+ *     The file starts with a header, holding the capacity of the ring and the tail: the total amount of bytes
+ *     written to the ring so far. Each event is written as a record of its length, padding, and its encoded form,
+ *     aligned to 8 bytes. A record which does not fit before the end of the ring is preceded by a padding record
+ *     filling the rest of the ring. The tail is updated only after a record was written completely.
+ * </p>
+ * <p>
+ *     Records are never larger than a quarter of the capacity, which allows readers to detect when
+ *     the writer overwrote a record while it was read.
+ * </p>
+ */
+final class SharedMemoryRing {
+
+    static final int MAGIC = 0x4e52494e;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int CAPACITY_OFFSET = 4;
+    // on a cache line of its own, since it is the only field written after initialization
+    static final int TAIL_OFFSET = 64;
+    static final int HEADER_SIZE = 128;
+
+    static final int RECORD_HEADER_SIZE = 8;
+    static final int RECORD_ALIGNMENT = 8;
+    static final int PADDING_LENGTH = -1;
+
+    private SharedMemoryRing() {
+    }
+
+    static int maxRecordSize(int capacity) {
+        return capacity / 4;
+    }
+
+    static int recordSize(int length) {
+        return (RECORD_HEADER_SIZE + length + RECORD_ALIGNMENT - 1) & -RECORD_ALIGNMENT;
+    }
+
+    static MappedByteBuffer map(Path path, int capacity) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            if (capacity > 0 && file.length() < HEADER_SIZE + capacity) {
+                file.setLength(HEADER_SIZE + capacity);
+            }
+
+            return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, file.length());
+        }
+    }
+
+    static void checkCapacity(int capacity) {
+        if (capacity < 1024 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of 2, of at least 1024");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.notifier.codec;
+
+import com.notifier.Event;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ *     Converts events to and from a binary form, for storing or passing them outside the process.
+ * </p>
+ * <p>
+ *     Events are written at the position of a buffer and read from its position, so a codec which needs to tell
+ *     between several types of events should write an identifier of the type along with the event.
+ *     Codecs are used from multiple threads, and should therefore be stateless, or thread-safe.
+ * </p>
+ */
+public interface EventCodec {
+
+    /**
+     * Writes the event into the buffer, starting at its position, and advances the position past the written data.
+     *
+     * @param event event to write.
+     * @param buffer buffer to write into.
+     *
+     * @throws BufferOverflowException if the buffer does not have enough remaining space for the event.
+     * @throws IllegalArgumentException if the codec does not support the event.
+     */
+    void encode(Event event, ByteBuffer buffer);
+
+    /**
+     * Reads an event written by {@link #encode(Event, ByteBuffer)}, from the position of the buffer
+     * up to its limit.
+     *
+     * @param buffer buffer to read from.
+     *
+     * @return the read event.
+     *
+     * @throws IllegalArgumentException if the data does not describe an event supported by the codec.
+     */
+    Event decode(ByteBuffer buffer);
+}
@@ -0,0 +1,13 @@
+package com.notifier.codec;
+
+/**
+ * <p>
+ *     Registers event types to a {@link TypedEventCodec}. Registrations are loaded with
+ *     {@link java.util.ServiceLoader} by {@link TypedEventCodec#loadInstalled()}, which allows each module to
+ *     register the codecs of its own events.
+ * </p>
+ */
+public interface EventCodecRegistration {
+
+    void registerTo(TypedEventCodec codec);
+}
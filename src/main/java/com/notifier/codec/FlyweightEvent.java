@@ -0,0 +1,116 @@
+package com.notifier.codec;
+
+import com.notifier.Event;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ *     An event which holds no state of its own, and is instead a view over a region of a {@link ByteBuffer}.
+ *     Fields are read from the buffer, at fixed offsets from the start of the region, only when accessed.
+ *     Implementations define the layout by providing accessors built on the protected get and put methods,
+ *     and the size of the region.
+ * </p>
+ * <p>
+ *     Flyweight events are fired and dispatched like any other event, and move between buffers, journals and
+ *     transports without being converted to objects, using {@link FlyweightEventCodec}.
+ * </p>
+ * <p>
+ *     A flyweight is only valid while the region it views is not reused. Events decoded from a buffer which is
+ *     reused after the event was handled, such as those of receivers, should be {@link #detach() detached}
+ *     before being kept, or dispatched asynchronously.
+ * </p>
+ */
+public abstract class FlyweightEvent implements Event {
+
+    private ByteBuffer mBuffer;
+    private int mOffset;
+
+    /**
+     * @return size in bytes of the region viewed by the event.
+     */
+    public abstract int size();
+
+    /**
+     * Makes the event a view over the region of the given buffer starting at the given offset.
+     */
+    public void wrap(ByteBuffer buffer, int offset) {
+        mBuffer = buffer;
+        mOffset = offset;
+    }
+
+    /**
+     * Makes the event a view over a newly allocated region, for creating new events.
+     */
+    public void allocate() {
+        wrap(ByteBuffer.allocate(size()), 0);
+    }
+
+    /**
+     * Copies the viewed region, and makes the event a view over the copy, so it remains valid after
+     * the original region is reused.
+     */
+    public void detach() {
+        ByteBuffer copy = ByteBuffer.allocate(size());
+        copyTo(copy);
+        wrap(copy, 0);
+    }
+
+    /**
+     * Copies the viewed region into the given buffer, starting at its position, and advances the position.
+     */
+    public void copyTo(ByteBuffer buffer) {
+        ByteBuffer region = mBuffer.duplicate();
+        region.limit(mOffset + size());
+        region.position(mOffset);
+        buffer.put(region);
+    }
+
+    public ByteBuffer buffer() {
+        return mBuffer;
+    }
+
+    public int offset() {
+        return mOffset;
+    }
+
+    protected byte getByte(int fieldOffset) {
+        return mBuffer.get(mOffset + fieldOffset);
+    }
+
+    protected short getShort(int fieldOffset) {
+        return mBuffer.getShort(mOffset + fieldOffset);
+    }
+
+    protected int getInt(int fieldOffset) {
+        return mBuffer.getInt(mOffset + fieldOffset);
+    }
+
+    protected long getLong(int fieldOffset) {
+        return mBuffer.getLong(mOffset + fieldOffset);
+    }
+
+    protected double getDouble(int fieldOffset) {
+        return mBuffer.getDouble(mOffset + fieldOffset);
+    }
+
+    protected void putByte(int fieldOffset, byte value) {
+        mBuffer.put(mOffset + fieldOffset, value);
+    }
+
+    protected void putShort(int fieldOffset, short value) {
+        mBuffer.putShort(mOffset + fieldOffset, value);
+    }
+
+    protected void putInt(int fieldOffset, int value) {
+        mBuffer.putInt(mOffset + fieldOffset, value);
+    }
+
+    protected void putLong(int fieldOffset, long value) {
+        mBuffer.putLong(mOffset + fieldOffset, value);
+    }
+
+    protected void putDouble(int fieldOffset, double value) {
+        mBuffer.putDouble(mOffset + fieldOffset, value);
+    }
+}
@@ -0,0 +1,55 @@
+package com.notifier.codec;
+
+import com.notifier.Event;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ *     An {@link EventCodec} for a type of {@link FlyweightEvent}. Encoding copies the region viewed by the event
+ *     as is, and decoding wraps the region of the read buffer, without copying it or reading any field.
+ * </p>
+ * <p>
+ *     Decoded events view the buffer they were decoded from, see {@link FlyweightEvent#detach()}.
+ * </p>
+ */
+public class FlyweightEventCodec<E extends FlyweightEvent> implements EventCodec {
+
+    private final Class<E> mEventType;
+    private final Supplier<? extends E> mFactory;
+
+    public FlyweightEventCodec(Class<E> eventType, Supplier<? extends E> factory) {
+        mEventType = eventType;
+        mFactory = factory;
+    }
+
+    @Override
+    public void encode(Event event, ByteBuffer buffer) {
+        if (!mEventType.isInstance(event)) {
+            throw new IllegalArgumentException("unsupported event type: " + event.getClass().getName());
+        }
+
+        E flyweight = mEventType.cast(event);
+        if (buffer.remaining() < flyweight.size()) {
+            throw new BufferOverflowException();
+        }
+
+        flyweight.copyTo(buffer);
+    }
+
+    @Override
+    public Event decode(ByteBuffer buffer) {
+        E flyweight = mFactory.get();
+        flyweight.wrap(buffer, buffer.position());
+
+        int size = flyweight.size();
+        if (buffer.remaining() < size) {
+            throw new IllegalArgumentException("buffer smaller than event: " + mEventType.getName());
+        }
+        buffer.position(buffer.position() + size);
+
+        return flyweight;
+    }
+}
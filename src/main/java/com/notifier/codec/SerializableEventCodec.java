@@ -0,0 +1,155 @@
+package com.notifier.codec;
+
+import com.notifier.Event;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <p>
+ *     An {@link EventCodec} for events implementing {@link java.io.Serializable}, using java serialization.
+ * </p>
+ * <p>
+ *     Java serialization is slow and produces large data, and is meant as a fallback for events which
+ *     have no codec of their own.
+ * </p>
+ * <p>
+ *     Decoding only creates objects of classes implementing {@link Event}, primitives, boxed primitives, strings,
+ *     arrays of those, and classes given as allowed, and fails on any other class. This limits, but does not remove,
+ *     the risks of deserializing data from untrusted sources, and so the codec must not be used with
+ *     untrusted input, such as receivers open to other networks.
+ * </p>
+ */
+public class SerializableEventCodec implements EventCodec {
+
+    private static final Collection<Class<?>> DEFAULT_ALLOWED_CLASSES = Arrays.asList(
+            Number.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, String.class, Enum.class);
+
+    private final Set<Class<?>> mAllowedClasses;
+
+    /**
+     * @param allowedClasses classes which events may hold, such as enums or collections, in addition to events,
+     *                       primitives, boxed primitives, strings and arrays of them.
+     */
+    public SerializableEventCodec(Collection<Class<?>> allowedClasses) {
+        mAllowedClasses = new HashSet<>(DEFAULT_ALLOWED_CLASSES);
+        mAllowedClasses.addAll(allowedClasses);
+    }
+
+    public SerializableEventCodec() {
+        this(Collections.emptySet());
+    }
+
+    @Override
+    public void encode(Event event, ByteBuffer buffer) {
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(new BufferOutputStream(buffer))) {
+            outputStream.writeObject(event);
+        } catch (NotSerializableException e) {
+            throw new IllegalArgumentException("event not serializable: " + event.getClass().getName(), e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("failed to serialize event", e);
+        }
+    }
+
+    @Override
+    public Event decode(ByteBuffer buffer) {
+        try (ObjectInputStream inputStream = new RestrictedInputStream(new BufferInputStream(buffer))) {
+            return (Event) inputStream.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            throw new IllegalArgumentException("failed to deserialize event", e);
+        }
+    }
+
+    private boolean isAllowed(Class<?> cls) {
+        while (cls.isArray()) {
+            cls = cls.getComponentType();
+        }
+
+        return cls.isPrimitive() || Event.class.isAssignableFrom(cls) || mAllowedClasses.contains(cls);
+    }
+
+    private class RestrictedInputStream extends ObjectInputStream {
+
+        private RestrictedInputStream(InputStream inputStream) throws IOException {
+            super(inputStream);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            // loaded without initialization, so rejected classes run no code
+            Class<?> cls = super.resolveClass(desc);
+            if (!isAllowed(cls)) {
+                throw new InvalidClassException(desc.getName(), "class not allowed in events");
+            }
+
+            return cls;
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("proxy classes not allowed in events");
+        }
+    }
+
+    private static class BufferOutputStream extends OutputStream {
+
+        private final ByteBuffer mBuffer;
+
+        private BufferOutputStream(ByteBuffer buffer) {
+            mBuffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            mBuffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            mBuffer.put(bytes, offset, length);
+        }
+    }
+
+    private static class BufferInputStream extends InputStream {
+
+        private final ByteBuffer mBuffer;
+
+        private BufferInputStream(ByteBuffer buffer) {
+            mBuffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return mBuffer.hasRemaining() ? mBuffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!mBuffer.hasRemaining()) {
+                return -1;
+            }
+
+            int read = Math.min(length, mBuffer.remaining());
+            mBuffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return mBuffer.remaining();
+        }
+    }
+}
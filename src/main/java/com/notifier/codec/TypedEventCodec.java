@@ -0,0 +1,121 @@
+package com.notifier.codec;
+
+import com.notifier.Event;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * <p>
+ *     An {@link EventCodec} for several types of events, each with a codec of its own, and a numeric identifier.
+ *     Each event is written as the identifier of its type, followed by the event as written by the codec of
+ *     its type. Both sides must therefore register the same types, with the same identifiers.
+ * </p>
+ * <p>
+ *     Types are registered directly, or by {@link EventCodecRegistration}s loaded with {@link ServiceLoader},
+ *     see {@link #loadInstalled()}. Types must be registered before the codec is used.
+ * </p>
+ */
+public class TypedEventCodec implements EventCodec {
+
+    private final Map<Class<? extends Event>, Registration> mByType;
+    private final Map<Short, Registration> mById;
+    private final ClassValue<Registration> mResolved;
+
+    public TypedEventCodec() {
+        mByType = new HashMap<>();
+        mById = new HashMap<>();
+        mResolved = new ClassValue<Registration>() {
+            @Override
+            protected Registration computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
+    }
+
+    /**
+     * Creates a codec with the types registered by all {@link EventCodecRegistration}s found by {@link ServiceLoader}.
+     */
+    public static TypedEventCodec loadInstalled() {
+        TypedEventCodec codec = new TypedEventCodec();
+        for (EventCodecRegistration registration : ServiceLoader.load(EventCodecRegistration.class)) {
+            registration.registerTo(codec);
+        }
+
+        return codec;
+    }
+
+    /**
+     * Registers a type of events. Events of subtypes of the type are encoded by the same codec, unless
+     * registered themselves.
+     *
+     * @param id identifier of the type, unique in this codec.
+     * @param eventType type of events.
+     * @param codec codec for events of the type.
+     */
+    public void register(short id, Class<? extends Event> eventType, EventCodec codec) {
+        if (mById.containsKey(id)) {
+            throw new IllegalArgumentException("id already registered: " + id);
+        }
+        if (mByType.containsKey(eventType)) {
+            throw new IllegalArgumentException("type already registered: " + eventType.getName());
+        }
+
+        Registration registration = new Registration(id, codec);
+        mById.put(id, registration);
+        mByType.put(eventType, registration);
+    }
+
+    @Override
+    public void encode(Event event, ByteBuffer buffer) {
+        Registration registration = mResolved.get(event.getClass());
+        if (registration == null) {
+            throw new IllegalArgumentException("unregistered event type: " + event.getClass().getName());
+        }
+
+        buffer.putShort(registration.mId);
+        registration.mCodec.encode(event, buffer);
+    }
+
+    @Override
+    public Event decode(ByteBuffer buffer) {
+        short id = buffer.getShort();
+        Registration registration = mById.get(id);
+        if (registration == null) {
+            throw new IllegalArgumentException("unregistered event type id: " + id);
+        }
+
+        return registration.mCodec.decode(buffer);
+    }
+
+    private Registration resolve(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Registration registration = mByType.get(current);
+            if (registration != null) {
+                return registration;
+            }
+
+            for (Class<?> interfaceType : current.getInterfaces()) {
+                Registration interfaceRegistration = resolve(interfaceType);
+                if (interfaceRegistration != null) {
+                    return interfaceRegistration;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static class Registration {
+
+        private final short mId;
+        private final EventCodec mCodec;
+
+        private Registration(short id, EventCodec codec) {
+            mId = id;
+            mCodec = codec;
+        }
+    }
+}
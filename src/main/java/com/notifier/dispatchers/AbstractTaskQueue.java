@@ -0,0 +1,247 @@
+package com.notifier.dispatchers;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Base for unbounded blocking queues of dispatching tasks, which are made of several internal queues,
+ * all guarded by a single lock. Implementations only decide where tasks are placed, and which is taken next.
+ */
+abstract class AbstractTaskQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    final ReentrantLock mLock;
+    private final Condition mNotEmpty;
+    private int mSize;
+
+    AbstractTaskQueue() {
+        mLock = new ReentrantLock();
+        mNotEmpty = mLock.newCondition();
+        mSize = 0;
+    }
+
+    /**
+     * Called before taking the lock, to prepare whatever is needed for {@link #enqueue(Runnable, Object)}.
+     */
+    abstract Object keyOf(Runnable runnable);
+
+    /**
+     * Called with the lock held.
+     */
+    abstract void enqueue(Runnable runnable, Object key);
+
+    /**
+     * Called with the lock held, and only when the queue is not empty.
+     */
+    abstract Runnable dequeue();
+
+    /**
+     * Called with the lock held.
+     */
+    abstract Runnable peekNext();
+
+    /**
+     * Called with the lock held.
+     *
+     * @return whether the task was found and removed.
+     */
+    abstract boolean removeTask(Object task);
+
+    /**
+     * Called with the lock held.
+     */
+    abstract void copyTo(Collection<Runnable> collection);
+
+    @Override
+    public boolean offer(Runnable runnable) {
+        Object key = keyOf(runnable);
+
+        mLock.lock();
+        try {
+            enqueue(runnable, key);
+            mSize++;
+            mNotEmpty.signal();
+            return true;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public void put(Runnable runnable) {
+        offer(runnable);
+    }
+
+    @Override
+    public boolean offer(Runnable runnable, long timeout, TimeUnit unit) {
+        return offer(runnable);
+    }
+
+    @Override
+    public Runnable poll() {
+        mLock.lock();
+        try {
+            return mSize > 0 ? take0() : null;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        mLock.lockInterruptibly();
+        try {
+            while (mSize == 0) {
+                mNotEmpty.await();
+            }
+
+            return take0();
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+
+        mLock.lockInterruptibly();
+        try {
+            while (mSize == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = mNotEmpty.awaitNanos(nanos);
+            }
+
+            return take0();
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        mLock.lock();
+        try {
+            return mSize > 0 ? peekNext() : null;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        mLock.lock();
+        try {
+            return mSize;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (object == null) {
+            return false;
+        }
+
+        mLock.lock();
+        try {
+            if (!removeTask(object)) {
+                return false;
+            }
+
+            mSize--;
+            return true;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> collection, int maxElements) {
+        mLock.lock();
+        try {
+            int count = 0;
+            while (count < maxElements && mSize > 0) {
+                collection.add(take0());
+                count++;
+            }
+
+            return count;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<Runnable> iterator() {
+        mLock.lock();
+        try {
+            List<Runnable> snapshot = new ArrayList<>(mSize);
+            copyTo(snapshot);
+
+            return new SnapshotIterator(snapshot.iterator());
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    private Runnable take0() {
+        mSize--;
+        return dequeue();
+    }
+
+    /**
+     * Iterates over a copy of the tasks, removing from the queue itself, as
+     * {@link AbstractQueue#removeAll(Collection)} and {@link AbstractQueue#retainAll(Collection)} rely on.
+     */
+    private class SnapshotIterator implements Iterator<Runnable> {
+
+        private final Iterator<Runnable> mIterator;
+        private Runnable mLast;
+
+        private SnapshotIterator(Iterator<Runnable> iterator) {
+            mIterator = iterator;
+            mLast = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return mIterator.hasNext();
+        }
+
+        @Override
+        public Runnable next() {
+            mLast = mIterator.next();
+            return mLast;
+        }
+
+        @Override
+        public void remove() {
+            if (mLast == null) {
+                throw new IllegalStateException();
+            }
+
+            AbstractTaskQueue.this.remove(mLast);
+            mLast = null;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
@@ -18,11 +19,15 @@ public class BlockingDispatcher implements EventDispatcher {
     private final ExecutorService mExecutorService;
     private final long mMaxWaitTime;
     private final TimeUnit mWaitTimeUnit;
+    private final LongAdder mTimeoutCount;
+    private final LongAdder mFailureCount;
 
     public BlockingDispatcher(ExecutorService executorService, long maxWaitTime, TimeUnit waitTimeUnit) {
         mExecutorService = executorService;
         mMaxWaitTime = maxWaitTime;
         mWaitTimeUnit = waitTimeUnit;
+        mTimeoutCount = new LongAdder();
+        mFailureCount = new LongAdder();
     }
 
     @Override
@@ -43,9 +48,28 @@ public class BlockingDispatcher implements EventDispatcher {
                 } else {
                     future.get(mMaxWaitTime, mWaitTimeUnit);
                 }
-            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            } catch (TimeoutException e) {
+                mTimeoutCount.increment();
+            } catch (ExecutionException e) {
+                mFailureCount.increment();
+            } catch (InterruptedException e) {
                 // ignore
             }
         }
     }
+
+    /**
+     * @return amount of listener calls which were not done within the max wait time. Such calls
+     *      keep running, but the dispatch no longer waits for them.
+     */
+    public long getTimeoutCount() {
+        return mTimeoutCount.sum();
+    }
+
+    /**
+     * @return amount of listener calls which threw.
+     */
+    public long getFailureCount() {
+        return mFailureCount.sum();
+    }
 }
@@ -2,10 +2,13 @@ package com.notifier.dispatchers;
 
 import com.notifier.Event;
 import com.notifier.Listener;
+import com.notifier.PooledEvent;
+import com.notifier.Prioritized;
+import com.notifier.Priority;
 
 import java.util.function.BiConsumer;
 
-class DispatchingTask implements Runnable {
+class DispatchingTask implements Runnable, Prioritized {
 
     private final Listener mListener;
     private final Event mEvent;
@@ -15,11 +18,26 @@ class DispatchingTask implements Runnable {
         mListener = listener;
         mEvent = event;
         mListenerCall = listenerCall;
+
+        // kept until the call is done, for the event not to be reused while queued
+        PooledEvent.retainIfPooled(event);
     }
 
     @Override
     public void run() {
-        mListenerCall.accept(mListener, mEvent);
+        try {
+            mListenerCall.accept(mListener, mEvent);
+        } finally {
+            PooledEvent.releaseIfPooled(mEvent);
+        }
+    }
+
+    Event getEvent() {
+        return mEvent;
     }
 
+    @Override
+    public Priority getPriority() {
+        return Prioritized.higherOf(Prioritized.priorityOf(mEvent), Prioritized.priorityOf(mListener));
+    }
 }
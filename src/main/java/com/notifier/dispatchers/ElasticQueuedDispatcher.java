@@ -0,0 +1,181 @@
+package com.notifier.dispatchers;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     A {@link QueuedDispatcher} whose queue is consumed by a pool of worker tasks, which grows and shrinks
+ *     with the backlog. Workers are run by an {@link Executor}, and the pool always holds at least
+ *     <code>minWorkers</code> of them.
+ * </p>
+ * <p>
+ *     When the amount of queued calls per worker passes the high watermark after a dispatch, another worker is
+ *     started, up to <code>maxWorkers</code>. Workers which do not find calls to run for the idle timeout retire,
+ *     down to <code>minWorkers</code>.
+ * </p>
+ * <p>
+ *     Since several workers run calls concurrently, calls are not ordered, and listeners may be called
+ *     concurrently.
+ * </p>
+ */
+public class ElasticQueuedDispatcher extends QueuedDispatcher {
+
+    private final BlockingQueue<Runnable> mQueue;
+    private final Executor mExecutor;
+    private final int mMinWorkers;
+    private final int mMaxWorkers;
+    private final int mHighWatermark;
+    private final long mIdleTimeoutNanos;
+
+    private final AtomicInteger mWorkerCount;
+    private final AtomicInteger mPeakWorkerCount;
+    private final LongAdder mScaleUpCount;
+    private final LongAdder mScaleDownCount;
+
+    public ElasticQueuedDispatcher(Executor executor, int minWorkers, int maxWorkers, int highWatermark,
+                                   long idleTimeout, TimeUnit idleTimeoutUnit) {
+        this(new LinkedBlockingQueue<>(), executor, minWorkers, maxWorkers, highWatermark, idleTimeout, idleTimeoutUnit);
+    }
+
+    private ElasticQueuedDispatcher(BlockingQueue<Runnable> queue, Executor executor, int minWorkers, int maxWorkers,
+                                    int highWatermark, long idleTimeout, TimeUnit idleTimeoutUnit) {
+        super(queue);
+
+        if (minWorkers < 1 || maxWorkers < minWorkers) {
+            throw new IllegalArgumentException("workers must satisfy 1 <= min <= max");
+        }
+        if (highWatermark < 1) {
+            throw new IllegalArgumentException("high watermark must be positive");
+        }
+
+        mQueue = queue;
+        mExecutor = executor;
+        mMinWorkers = minWorkers;
+        mMaxWorkers = maxWorkers;
+        mHighWatermark = highWatermark;
+        mIdleTimeoutNanos = idleTimeoutUnit.toNanos(idleTimeout);
+
+        mWorkerCount = new AtomicInteger(0);
+        mPeakWorkerCount = new AtomicInteger(0);
+        mScaleUpCount = new LongAdder();
+        mScaleDownCount = new LongAdder();
+
+        for (int i = 0; i < minWorkers; i++) {
+            startWorker();
+        }
+    }
+
+    @Override
+    public void dispatch(Collection<Listener> listeners, Predicate<Listener> listenerFilter, Event event, BiConsumer<Listener, Event> listenerCall) {
+        super.dispatch(listeners, listenerFilter, event, listenerCall);
+
+        int workerCount = mWorkerCount.get();
+        if (workerCount < mMaxWorkers && mQueue.size() > (long) mHighWatermark * workerCount) {
+            if (startWorker()) {
+                mScaleUpCount.increment();
+            }
+        }
+    }
+
+    /**
+     * @return amount of workers currently running.
+     */
+    public int getWorkerCount() {
+        return mWorkerCount.get();
+    }
+
+    /**
+     * @return highest amount of workers which ran at the same time.
+     */
+    public int getPeakWorkerCount() {
+        return mPeakWorkerCount.get();
+    }
+
+    /**
+     * @return amount of workers started due to the backlog passing the high watermark.
+     */
+    public long getScaleUpCount() {
+        return mScaleUpCount.sum();
+    }
+
+    /**
+     * @return amount of workers retired due to being idle.
+     */
+    public long getScaleDownCount() {
+        return mScaleDownCount.sum();
+    }
+
+    private boolean startWorker() {
+        int workerCount;
+        do {
+            workerCount = mWorkerCount.get();
+            if (workerCount >= mMaxWorkers) {
+                return false;
+            }
+        } while (!mWorkerCount.compareAndSet(workerCount, workerCount + 1));
+
+        try {
+            mExecutor.execute(new Worker());
+        } catch (RejectedExecutionException e) {
+            mWorkerCount.decrementAndGet();
+            return false;
+        }
+
+        int newCount = workerCount + 1;
+        mPeakWorkerCount.accumulateAndGet(newCount, Math::max);
+        return true;
+    }
+
+    private boolean tryRetireWorker() {
+        int workerCount;
+        do {
+            workerCount = mWorkerCount.get();
+            if (workerCount <= mMinWorkers) {
+                return false;
+            }
+        } while (!mWorkerCount.compareAndSet(workerCount, workerCount - 1));
+
+        mScaleDownCount.increment();
+        return true;
+    }
+
+    private class Worker implements Runnable {
+
+        @Override
+        public void run() {
+            boolean retired = false;
+            try {
+                while (!retired && !Thread.interrupted()) {
+                    Runnable runnable = mQueue.poll(mIdleTimeoutNanos, TimeUnit.NANOSECONDS);
+                    if (runnable == null) {
+                        retired = tryRetireWorker();
+                        continue;
+                    }
+
+                    try {
+                        runnable.run();
+                    } catch (RuntimeException e) {
+                        // ignore, to keep running other tasks
+                    }
+                }
+            } catch (InterruptedException e) {
+            } finally {
+                if (!retired) {
+                    mWorkerCount.decrementAndGet();
+                }
+            }
+        }
+    }
+}
@@ -2,25 +2,138 @@ package com.notifier.dispatchers;
 
 import com.notifier.Event;
 import com.notifier.Listener;
+import com.notifier.PooledEvent;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
 public class ExecutorBasedDispatcher implements EventDispatcher {
 
+    private static final int NO_CHUNKS = 0;
+
     private final Executor mExecutor;
+    private final int mMaxChunks;
+
+    /**
+     * @param executor executor to run listener calls.
+     * @param maxChunks maximum amount of tasks to split the listener calls of a single dispatch between,
+     *                  or 0 to run each listener call in a separate task.
+     */
+    public ExecutorBasedDispatcher(Executor executor, int maxChunks) {
+        if (maxChunks < 0) {
+            throw new IllegalArgumentException("max chunks must not be negative");
+        }
 
-    public ExecutorBasedDispatcher(Executor executor) {
         mExecutor = executor;
+        mMaxChunks = maxChunks;
+    }
+
+    public ExecutorBasedDispatcher(Executor executor) {
+        this(executor, NO_CHUNKS);
+    }
+
+    /**
+     * Creates a dispatcher which splits the listener calls of each dispatch between as many tasks as
+     * the executor can run in parallel.
+     */
+    public static ExecutorBasedDispatcher chunked(Executor executor) {
+        return new ExecutorBasedDispatcher(executor, parallelismOf(executor));
     }
 
     @Override
     public void dispatch(Collection<Listener> listeners, Predicate<Listener> listenerFilter, Event event, BiConsumer<Listener, Event> listenerCall) {
+        if (mMaxChunks == NO_CHUNKS) {
+            for (Listener listener : listeners) {
+                if (listenerFilter.test(listener)) {
+                    mExecutor.execute(new DispatchingTask(listener, event, listenerCall));
+                }
+            }
+            return;
+        }
+
+        Listener[] matching = new Listener[listeners.size()];
+        int count = 0;
         for (Listener listener : listeners) {
             if (listenerFilter.test(listener)) {
-                mExecutor.execute(new DispatchingTask(listener, event, listenerCall));
+                if (count == matching.length) {
+                    matching = Arrays.copyOf(matching, count * 2 + 1);
+                }
+                matching[count++] = listener;
+            }
+        }
+
+        if (count == 1) {
+            mExecutor.execute(new DispatchingTask(matching[0], event, listenerCall));
+            return;
+        }
+
+        int chunks = Math.min(mMaxChunks, count);
+        for (int i = 0; i < chunks; i++) {
+            int start = (int) ((long) count * i / chunks);
+            int end = (int) ((long) count * (i + 1) / chunks);
+            mExecutor.execute(new ChunkDispatchingTask(matching, start, end, event, listenerCall));
+        }
+    }
+
+    static int parallelismOf(Executor executor) {
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getParallelism();
+        }
+        if (executor instanceof ThreadPoolExecutor) {
+            return Math.max(1, Math.min(((ThreadPoolExecutor) executor).getMaximumPoolSize(), processors));
+        }
+
+        return processors;
+    }
+
+    private static class ChunkDispatchingTask implements Runnable {
+
+        private final Listener[] mListeners;
+        private final int mStart;
+        private final int mEnd;
+        private final Event mEvent;
+        private final BiConsumer<Listener, Event> mListenerCall;
+
+        private ChunkDispatchingTask(Listener[] listeners, int start, int end, Event event, BiConsumer<Listener, Event> listenerCall) {
+            mListeners = listeners;
+            mStart = start;
+            mEnd = end;
+            mEvent = event;
+            mListenerCall = listenerCall;
+
+            PooledEvent.retainIfPooled(event);
+        }
+
+        @Override
+        public void run() {
+            RuntimeException failure = null;
+
+            try {
+                for (int i = mStart; i < mEnd; i++) {
+                    try {
+                        mListenerCall.accept(mListeners[i], mEvent);
+                    } catch (RuntimeException e) {
+                        // keep calling the rest of the chunk, a failure of one listener should not affect others
+                        if (failure == null) {
+                            failure = e;
+                        } else {
+                            failure.addSuppressed(e);
+                        }
+                    }
+                }
+            } finally {
+                PooledEvent.releaseIfPooled(mEvent);
+            }
+
+            if (failure != null) {
+                throw failure;
             }
         }
     }
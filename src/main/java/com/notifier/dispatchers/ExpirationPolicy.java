@@ -0,0 +1,102 @@
+package com.notifier.dispatchers;
+
+import com.notifier.Event;
+import com.notifier.Expiring;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Defines how long listener calls for events may wait in a queue before they are no longer relevant,
+ *     and are discarded without being called.
+ * </p>
+ * <p>
+ *     The time to live of an event is defined by its type, or the nearest super type which has one defined,
+ *     or otherwise the default time to live. Events implementing {@link Expiring} may also define their own
+ *     deadline, in which case the earliest of the two is used.
+ * </p>
+ */
+public class ExpirationPolicy {
+
+    public static final long NO_EXPIRATION = -1;
+
+    private final Map<Class<? extends Event>, Long> mTimeToLiveMs;
+    private final long mDefaultTimeToLiveMs;
+    private final ClassValue<Long> mResolvedTimeToLiveNanos;
+
+    /**
+     * @param timeToLiveMs time to live of event types, in milliseconds.
+     * @param defaultTimeToLiveMs time to live of events whose type has none defined, in milliseconds,
+     *                            or {@link #NO_EXPIRATION}.
+     */
+    public ExpirationPolicy(Map<Class<? extends Event>, Long> timeToLiveMs, long defaultTimeToLiveMs) {
+        mTimeToLiveMs = new HashMap<>(timeToLiveMs);
+        mDefaultTimeToLiveMs = defaultTimeToLiveMs;
+        mResolvedTimeToLiveNanos = new ClassValue<Long>() {
+            @Override
+            protected Long computeValue(Class<?> type) {
+                return resolveTimeToLiveNanos(type);
+            }
+        };
+    }
+
+    public ExpirationPolicy(long defaultTimeToLiveMs) {
+        this(Collections.emptyMap(), defaultTimeToLiveMs);
+    }
+
+    /**
+     * @return policy which only expires events implementing {@link Expiring}.
+     */
+    public static ExpirationPolicy eventDeadlinesOnly() {
+        return new ExpirationPolicy(NO_EXPIRATION);
+    }
+
+    boolean hasDeadline(Event event) {
+        return event instanceof Expiring || mResolvedTimeToLiveNanos.get(event.getClass()) != NO_EXPIRATION;
+    }
+
+    long deadlineNanos(Event event, long nowNanos) {
+        long timeToLiveNanos = mResolvedTimeToLiveNanos.get(event.getClass());
+        if (!(event instanceof Expiring)) {
+            return nowNanos + timeToLiveNanos;
+        }
+
+        long eventDeadlineNanos = ((Expiring) event).getDeadlineNanos();
+        if (timeToLiveNanos == NO_EXPIRATION) {
+            return eventDeadlineNanos;
+        }
+
+        long typeDeadlineNanos = nowNanos + timeToLiveNanos;
+        return typeDeadlineNanos - eventDeadlineNanos < 0 ? typeDeadlineNanos : eventDeadlineNanos;
+    }
+
+    private long resolveTimeToLiveNanos(Class<?> type) {
+        Long timeToLiveMs = findTimeToLiveMs(type);
+        if (timeToLiveMs == null) {
+            timeToLiveMs = mDefaultTimeToLiveMs;
+        }
+
+        return timeToLiveMs < 0 ? NO_EXPIRATION : TimeUnit.MILLISECONDS.toNanos(timeToLiveMs);
+    }
+
+    private Long findTimeToLiveMs(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Long timeToLiveMs = mTimeToLiveMs.get(current);
+            if (timeToLiveMs != null) {
+                return timeToLiveMs;
+            }
+
+            for (Class<?> interfaceType : current.getInterfaces()) {
+                timeToLiveMs = findTimeToLiveMs(interfaceType);
+                if (timeToLiveMs != null) {
+                    return timeToLiveMs;
+                }
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.notifier.dispatchers;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.PooledEvent;
+
+import java.util.function.BiConsumer;
+
+class ExpiringDispatchingTask extends DispatchingTask {
+
+    private final long mDeadlineNanos;
+    private final QueuedDispatcher mDispatcher;
+    private final Class<? extends Event> mEventType;
+
+    ExpiringDispatchingTask(Listener listener, Event event, BiConsumer<Listener, Event> listenerCall,
+                            long deadlineNanos, QueuedDispatcher dispatcher) {
+        super(listener, event, listenerCall);
+        mDeadlineNanos = deadlineNanos;
+        mDispatcher = dispatcher;
+        mEventType = event.getClass();
+    }
+
+    @Override
+    public void run() {
+        if (System.nanoTime() - mDeadlineNanos > 0) {
+            mDispatcher.onExpired(mEventType);
+            PooledEvent.releaseIfPooled(getEvent());
+            return;
+        }
+
+        super.run();
+    }
+}
@@ -0,0 +1,135 @@
+package com.notifier.dispatchers;
+
+import com.notifier.Prioritized;
+import com.notifier.Priority;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * <p>
+ *     A {@link BlockingQueue} of dispatching tasks, which holds a separate lane for each {@link Priority}.
+ *     Tasks are placed in lanes by their {@link Prioritized priority}, or in the {@link Priority#NORMAL normal}
+ *     lane if they have none.
+ * </p>
+ * <p>
+ *     Lanes are drained by weight: while several lanes are not empty, each lane may provide up to
+ *     its weight in tasks before lower priority lanes are given their turn, after which the weights are
+ *     restored. Higher priority tasks are thus taken first, but lower priority tasks are never starved.
+ * </p>
+ */
+public class PriorityLanesQueue extends AbstractTaskQueue {
+
+    private static final Map<Priority, Integer> DEFAULT_DRAIN_WEIGHTS = defaultDrainWeights();
+
+    private final Queue<Runnable>[] mLanes;
+    private final int[] mWeights;
+    private final int[] mCredits;
+
+    public PriorityLanesQueue(Map<Priority, Integer> drainWeights) {
+        Priority[] priorities = Priority.values();
+        mLanes = newLanes(priorities.length);
+        mWeights = new int[priorities.length];
+        mCredits = new int[priorities.length];
+
+        for (Priority priority : priorities) {
+            int weight = drainWeights.getOrDefault(priority, 1);
+            if (weight <= 0) {
+                throw new IllegalArgumentException("drain weight must be positive: " + priority);
+            }
+
+            mLanes[priority.ordinal()] = new ArrayDeque<>();
+            mWeights[priority.ordinal()] = weight;
+            mCredits[priority.ordinal()] = weight;
+        }
+    }
+
+    public PriorityLanesQueue() {
+        this(DEFAULT_DRAIN_WEIGHTS);
+    }
+
+    public int size(Priority priority) {
+        mLock.lock();
+        try {
+            return mLanes[priority.ordinal()].size();
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    Object keyOf(Runnable runnable) {
+        return mLanes[Prioritized.priorityOf(runnable).ordinal()];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void enqueue(Runnable runnable, Object key) {
+        ((Queue<Runnable>) key).add(runnable);
+    }
+
+    @Override
+    Runnable dequeue() {
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < mLanes.length; i++) {
+                if (mCredits[i] > 0 && !mLanes[i].isEmpty()) {
+                    mCredits[i]--;
+                    return mLanes[i].poll();
+                }
+            }
+
+            // all non empty lanes have used their weight
+            System.arraycopy(mWeights, 0, mCredits, 0, mWeights.length);
+        }
+
+        throw new IllegalStateException("queue is empty");
+    }
+
+    @Override
+    Runnable peekNext() {
+        for (Queue<Runnable> lane : mLanes) {
+            Runnable runnable = lane.peek();
+            if (runnable != null) {
+                return runnable;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    boolean removeTask(Object task) {
+        for (Queue<Runnable> lane : mLanes) {
+            if (lane.remove(task)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    void copyTo(Collection<Runnable> collection) {
+        for (Queue<Runnable> lane : mLanes) {
+            collection.addAll(lane);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Queue<Runnable>[] newLanes(int count) {
+        return (Queue<Runnable>[]) new Queue<?>[count];
+    }
+
+    private static Map<Priority, Integer> defaultDrainWeights() {
+        Map<Priority, Integer> weights = new EnumMap<>(Priority.class);
+        weights.put(Priority.HIGH, 8);
+        weights.put(Priority.NORMAL, 4);
+        weights.put(Priority.LOW, 1);
+
+        return weights;
+    }
+}
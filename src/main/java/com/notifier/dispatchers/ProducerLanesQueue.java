@@ -0,0 +1,404 @@
+package com.notifier.dispatchers;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ *     A {@link BlockingQueue} of dispatching tasks for a single consumer thread, in which each producer thread
+ *     adds tasks to a lane of its own. A lane is written only by its producer and read only by the consumer,
+ *     so producers never contend with each other, or with the consumer, when adding tasks.
+ * </p>
+ * <p>
+ *     The consumer takes tasks from the lanes in turns, one task per lane. Tasks added by the same thread are
+ *     thus taken by order, while there is no order between tasks added by different threads.
+ *     Lanes of producer threads which have terminated are discarded once they are empty, when the consumer
+ *     finds the queue empty, or when a lane is added for a new producer thread.
+ * </p>
+ * <p>
+ *     Only a single thread may take tasks from the queue. Any thread may remove a task, which leaves its place
+ *     in the lane empty, to be skipped by the consumer.
+ * </p>
+ */
+public class ProducerLanesQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    private static final AtomicReferenceFieldUpdater<ProducerLanesQueue, Thread> WAITING_CONSUMER_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(ProducerLanesQueue.class, Thread.class, "mWaitingConsumer");
+
+    private final ThreadLocal<Lane> mThreadLane;
+    private final Object mLanesLock;
+
+    private volatile Lane[] mLanes;
+    private volatile Thread mWaitingConsumer;
+    private int mNextLane;
+
+    public ProducerLanesQueue() {
+        mThreadLane = ThreadLocal.withInitial(this::newLane);
+        mLanesLock = new Object();
+
+        mLanes = new Lane[0];
+        mWaitingConsumer = null;
+        mNextLane = 0;
+    }
+
+    /**
+     * @return amount of lanes currently held, one for each producer thread which was not discarded.
+     */
+    public int getLaneCount() {
+        return mLanes.length;
+    }
+
+    @Override
+    public boolean offer(Runnable runnable) {
+        if (runnable == null) {
+            throw new NullPointerException();
+        }
+
+        mThreadLane.get().add(runnable);
+
+        // only the first producer to find the consumer waiting wakes it up
+        Thread waitingConsumer = mWaitingConsumer;
+        if (waitingConsumer != null && WAITING_CONSUMER_UPDATER.compareAndSet(this, waitingConsumer, null)) {
+            LockSupport.unpark(waitingConsumer);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void put(Runnable runnable) {
+        offer(runnable);
+    }
+
+    @Override
+    public boolean offer(Runnable runnable, long timeout, TimeUnit unit) {
+        return offer(runnable);
+    }
+
+    @Override
+    public Runnable poll() {
+        Lane[] lanes = mLanes;
+        for (int i = 0; i < lanes.length; i++) {
+            int index = (mNextLane + i) % lanes.length;
+
+            Runnable runnable = lanes[index].poll();
+            if (runnable != null) {
+                mNextLane = index + 1;
+                return runnable;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public Runnable take() throws InterruptedException {
+        return poll(-1);
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return poll(Math.max(unit.toNanos(timeout), 0));
+    }
+
+    @Override
+    public Runnable peek() {
+        for (Lane lane : mLanes) {
+            Runnable runnable = lane.peek();
+            if (runnable != null) {
+                return runnable;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Lane lane : mLanes) {
+            size += lane.size();
+        }
+
+        return size;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> collection, int maxElements) {
+        int count = 0;
+        Runnable runnable;
+        while (count < maxElements && (runnable = poll()) != null) {
+            collection.add(runnable);
+            count++;
+        }
+
+        return count;
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (object == null) {
+            return false;
+        }
+
+        for (Lane lane : mLanes) {
+            if (lane.remove(object)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Iterator<Runnable> iterator() {
+        List<Runnable> snapshot = new ArrayList<>();
+        for (Lane lane : mLanes) {
+            lane.copyTo(snapshot);
+        }
+
+        return new SnapshotIterator(snapshot.iterator());
+    }
+
+    private Runnable poll(long timeoutNanos) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + timeoutNanos;
+
+        while (true) {
+            Runnable runnable = poll();
+            if (runnable != null) {
+                return runnable;
+            }
+
+            expungeTerminatedLanes();
+
+            // producers check for a waiting consumer after adding, so checking again after
+            // publishing ourselves guarantees that no task is missed
+            mWaitingConsumer = Thread.currentThread();
+            try {
+                runnable = poll();
+                if (runnable != null) {
+                    return runnable;
+                }
+
+                if (timeoutNanos < 0) {
+                    LockSupport.park(this);
+                } else {
+                    long remainingNanos = deadlineNanos - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        return null;
+                    }
+                    LockSupport.parkNanos(this, remainingNanos);
+                }
+            } finally {
+                mWaitingConsumer = null;
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private Lane newLane() {
+        Lane lane = new Lane(Thread.currentThread());
+
+        synchronized (mLanesLock) {
+            // discarded here as well, since a consumer which never finds the queue empty does not discard them
+            List<Lane> lanes = new ArrayList<>(mLanes.length + 1);
+            for (Lane existing : mLanes) {
+                if (!isDiscardable(existing)) {
+                    lanes.add(existing);
+                }
+            }
+            lanes.add(lane);
+            mLanes = lanes.toArray(new Lane[0]);
+        }
+
+        return lane;
+    }
+
+    private void expungeTerminatedLanes() {
+        Lane[] lanes = mLanes;
+        for (Lane lane : lanes) {
+            if (isDiscardable(lane)) {
+                removeLane(lane);
+            }
+        }
+    }
+
+    private static boolean isDiscardable(Lane lane) {
+        // a terminated producer will not add anymore, so checking for emptiness after is safe
+        return lane.isOwnerTerminated() && lane.isEmpty();
+    }
+
+    private void removeLane(Lane lane) {
+        synchronized (mLanesLock) {
+            Lane[] lanes = mLanes;
+            List<Lane> remaining = new ArrayList<>(Arrays.asList(lanes));
+            remaining.remove(lane);
+            mLanes = remaining.toArray(new Lane[0]);
+        }
+    }
+
+    private static class Lane {
+
+        private final WeakReference<Thread> mOwner;
+
+        private volatile Node mHead;
+        private Node mTail;
+
+        private Lane(Thread owner) {
+            mOwner = new WeakReference<>(owner);
+
+            mHead = new Node(null);
+            mTail = mHead;
+        }
+
+        void add(Runnable runnable) {
+            // only called by the owner thread
+            Node node = new Node(runnable);
+            Node previous = mTail;
+            mTail = node;
+            previous.mNext = node;
+        }
+
+        Runnable poll() {
+            // only called by the consumer thread
+            while (true) {
+                Node next = mHead.mNext;
+                if (next == null) {
+                    return null;
+                }
+
+                // competes with removal, a removed task was already taken
+                Runnable runnable = Node.VALUE_UPDATER.getAndSet(next, null);
+                mHead = next;
+
+                if (runnable != null) {
+                    return runnable;
+                }
+            }
+        }
+
+        Runnable peek() {
+            for (Node node = mHead.mNext; node != null; node = node.mNext) {
+                Runnable runnable = node.mValue;
+                if (runnable != null) {
+                    return runnable;
+                }
+            }
+
+            return null;
+        }
+
+        boolean remove(Object object) {
+            for (Node node = mHead.mNext; node != null; node = node.mNext) {
+                Runnable runnable = node.mValue;
+                if (runnable != null && runnable.equals(object) &&
+                        Node.VALUE_UPDATER.compareAndSet(node, runnable, null)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        boolean isEmpty() {
+            return mHead.mNext == null;
+        }
+
+        int size() {
+            int size = 0;
+            for (Node node = mHead.mNext; node != null; node = node.mNext) {
+                if (node.mValue != null) {
+                    size++;
+                }
+            }
+
+            return size;
+        }
+
+        void copyTo(Collection<Runnable> collection) {
+            for (Node node = mHead.mNext; node != null; node = node.mNext) {
+                Runnable runnable = node.mValue;
+                if (runnable != null) {
+                    collection.add(runnable);
+                }
+            }
+        }
+
+        boolean isOwnerTerminated() {
+            Thread owner = mOwner.get();
+            return owner == null || !owner.isAlive();
+        }
+    }
+
+    /**
+     * Iterates over a copy of the tasks, removing from the queue itself, as
+     * {@link AbstractQueue#removeAll(Collection)} and {@link AbstractQueue#retainAll(Collection)} rely on.
+     */
+    private class SnapshotIterator implements Iterator<Runnable> {
+
+        private final Iterator<Runnable> mIterator;
+        private Runnable mLast;
+
+        private SnapshotIterator(Iterator<Runnable> iterator) {
+            mIterator = iterator;
+            mLast = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return mIterator.hasNext();
+        }
+
+        @Override
+        public Runnable next() {
+            mLast = mIterator.next();
+            return mLast;
+        }
+
+        @Override
+        public void remove() {
+            if (mLast == null) {
+                throw new IllegalStateException();
+            }
+
+            ProducerLanesQueue.this.remove(mLast);
+            mLast = null;
+        }
+    }
+
+    private static class Node {
+
+        private static final AtomicReferenceFieldUpdater<Node, Runnable> VALUE_UPDATER =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Runnable.class, "mValue");
+
+        private volatile Runnable mValue;
+        private volatile Node mNext;
+
+        private Node(Runnable value) {
+            mValue = value;
+            mNext = null;
+        }
+    }
+}
@@ -2,15 +2,19 @@ package com.notifier.dispatchers;
 
 import com.notifier.Event;
 import com.notifier.Listener;
+import com.notifier.Priority;
 
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -18,9 +22,19 @@ import java.util.function.Predicate;
 public class QueuedDispatcher implements EventDispatcher {
 
     private final Queue<Runnable> mEvents;
+    private final ExpirationPolicy mExpirationPolicy;
+    private final LongAdder mExpiredCount;
+    private final Map<Class<? extends Event>, LongAdder> mExpiredCountByType;
 
-    public QueuedDispatcher(Queue<Runnable> events) {
+    public QueuedDispatcher(Queue<Runnable> events, ExpirationPolicy expirationPolicy) {
         mEvents = events;
+        mExpirationPolicy = expirationPolicy;
+        mExpiredCount = new LongAdder();
+        mExpiredCountByType = new ConcurrentHashMap<>();
+    }
+
+    public QueuedDispatcher(Queue<Runnable> events) {
+        this(events, null);
     }
 
     public static QueuedDispatcher withBlockingHandler() {
@@ -41,6 +55,41 @@ public class QueuedDispatcher implements EventDispatcher {
         return new QueuedDispatcher(events);
     }
 
+    public static QueuedDispatcher withBlockingHandler(Executor executor, ExpirationPolicy expirationPolicy) {
+        BlockingQueue<Runnable> events = new LinkedBlockingQueue<>();
+        executor.execute(new BlockingTask(events));
+
+        return new QueuedDispatcher(events, expirationPolicy);
+    }
+
+    public static QueuedDispatcher withBlockingHandler(BlockingQueue<Runnable> queue) {
+        QueuedDispatcher dispatcher = new QueuedDispatcher(queue);
+
+        Thread runThread = new Thread(new BlockingTask(queue), dispatcher.toString()+"-handling thread");
+        runThread.setDaemon(true);
+        runThread.start();
+
+        return dispatcher;
+    }
+
+    public static QueuedDispatcher withBlockingHandler(Executor executor, BlockingQueue<Runnable> queue) {
+        executor.execute(new BlockingTask(queue));
+
+        return new QueuedDispatcher(queue);
+    }
+
+    public static ElasticQueuedDispatcher withElasticBlockingHandler(Executor executor, int minWorkers, int maxWorkers) {
+        return new ElasticQueuedDispatcher(executor, minWorkers, maxWorkers, 16, 60, TimeUnit.SECONDS);
+    }
+
+    public static QueuedDispatcher withPriorityBlockingHandler(Map<Priority, Integer> drainWeights) {
+        return withBlockingHandler(new PriorityLanesQueue(drainWeights));
+    }
+
+    public static QueuedDispatcher withPriorityBlockingHandler(Executor executor, Map<Priority, Integer> drainWeights) {
+        return withBlockingHandler(executor, new PriorityLanesQueue(drainWeights));
+    }
+
     public static QueuedDispatcher withPeriodicHandler(Consumer<Runnable> taskExecutor, long maxPeriodRunTimeMs) {
         Queue<Runnable> events = new LinkedList<>();
         taskExecutor.accept(new PeriodicTask(events, maxPeriodRunTimeMs));
@@ -61,6 +110,16 @@ public class QueuedDispatcher implements EventDispatcher {
 
     @Override
     public void dispatch(Collection<Listener> listeners, Predicate<Listener> listenerFilter, Event event, BiConsumer<Listener, Event> listenerCall) {
+        if (mExpirationPolicy != null && mExpirationPolicy.hasDeadline(event)) {
+            long deadlineNanos = mExpirationPolicy.deadlineNanos(event, System.nanoTime());
+            for (Listener listener : listeners) {
+                if (listenerFilter.test(listener)) {
+                    mEvents.add(new ExpiringDispatchingTask(listener, event, listenerCall, deadlineNanos, this));
+                }
+            }
+            return;
+        }
+
         for (Listener listener : listeners) {
             if (listenerFilter.test(listener)) {
                 mEvents.add(new DispatchingTask(listener, event, listenerCall));
@@ -68,6 +127,37 @@ public class QueuedDispatcher implements EventDispatcher {
         }
     }
 
+    /**
+     * @return amount of listener calls which are queued and were not yet taken for handling. For queues
+     *      which are not thread-safe, such as those of periodic handlers, the amount is approximate.
+     */
+    public int getPendingCount() {
+        return mEvents.size();
+    }
+
+    /**
+     * @return amount of listener calls which were discarded because their event expired while queued.
+     */
+    public long getExpiredCount() {
+        return mExpiredCount.sum();
+    }
+
+    /**
+     * @param eventType type of event.
+     *
+     * @return amount of listener calls for events of the exact given type, which were discarded because
+     *      the event expired while queued.
+     */
+    public long getExpiredCount(Class<? extends Event> eventType) {
+        LongAdder count = mExpiredCountByType.get(eventType);
+        return count == null ? 0 : count.sum();
+    }
+
+    void onExpired(Class<? extends Event> eventType) {
+        mExpiredCount.increment();
+        mExpiredCountByType.computeIfAbsent(eventType, (type)-> new LongAdder()).increment();
+    }
+
     private static class BlockingTask implements Runnable {
 
         private final BlockingQueue<Runnable> mQueue;
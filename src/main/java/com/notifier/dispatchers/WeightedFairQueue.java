@@ -0,0 +1,275 @@
+package com.notifier.dispatchers;
+
+import com.notifier.Event;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *     A {@link BlockingQueue} of dispatching tasks, which holds a separate queue for each source of events
+ *     (e.g. a tenant), as identified by a source key function. Sources with pending tasks are served in turns,
+ *     with each turn providing up to the weight of the source in tasks (weighted round robin).
+ * </p>
+ * <p>
+ *     A source which bursts thus only delays its own events, while other sources keep a predictable share of
+ *     the dispatching.
+ * </p>
+ * <p>
+ *     Sources which have no queued tasks for longer than an idle timeout are forgotten, along with their
+ *     statistics, so keys of high cardinality, such as session ids, do not accumulate.
+ * </p>
+ */
+public class WeightedFairQueue extends AbstractTaskQueue {
+
+    private static final Object DEFAULT_SOURCE = new Object();
+    private static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 60;
+
+    private final Function<? super Event, ?> mSourceKeyFunction;
+    private final Map<?, Integer> mWeights;
+    private final int mDefaultWeight;
+    private final long mIdleTimeoutNanos;
+
+    private final Map<Object, Source> mSources;
+    private final Queue<Source> mActiveSources;
+    private final Queue<Source> mIdleSources;
+
+    /**
+     * @param sourceKeyFunction function returning the key of the source of an event.
+     * @param weights weight for source keys.
+     * @param defaultWeight weight of source keys not included in <code>weights</code>.
+     * @param idleTimeout time a source may have no queued tasks before it is forgotten.
+     * @param idleTimeoutUnit unit of <code>idleTimeout</code>.
+     */
+    public WeightedFairQueue(Function<? super Event, ?> sourceKeyFunction, Map<?, Integer> weights, int defaultWeight,
+                             long idleTimeout, TimeUnit idleTimeoutUnit) {
+        if (defaultWeight <= 0) {
+            throw new IllegalArgumentException("default weight must be positive");
+        }
+        if (idleTimeout < 0) {
+            throw new IllegalArgumentException("idle timeout must not be negative");
+        }
+
+        mSourceKeyFunction = sourceKeyFunction;
+        mWeights = new HashMap<>(weights);
+        mDefaultWeight = defaultWeight;
+        mIdleTimeoutNanos = idleTimeoutUnit.toNanos(idleTimeout);
+
+        mSources = new HashMap<>();
+        mActiveSources = new ArrayDeque<>();
+        mIdleSources = new ArrayDeque<>();
+    }
+
+    /**
+     * @param sourceKeyFunction function returning the key of the source of an event.
+     * @param weights weight for source keys.
+     * @param defaultWeight weight of source keys not included in <code>weights</code>.
+     */
+    public WeightedFairQueue(Function<? super Event, ?> sourceKeyFunction, Map<?, Integer> weights, int defaultWeight) {
+        this(sourceKeyFunction, weights, defaultWeight, DEFAULT_IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public WeightedFairQueue(Function<? super Event, ?> sourceKeyFunction) {
+        this(sourceKeyFunction, Collections.emptyMap(), 1);
+    }
+
+    /**
+     * @return statistics of each source which has queued tasks, or had within the idle timeout, by source key.
+     */
+    public Map<Object, SourceStats> getSourceStats() {
+        mLock.lock();
+        try {
+            Map<Object, SourceStats> stats = new LinkedHashMap<>();
+            for (Map.Entry<Object, Source> entry : mSources.entrySet()) {
+                Source source = entry.getValue();
+                stats.put(entry.getKey() == DEFAULT_SOURCE ? null : entry.getKey(),
+                        new SourceStats(source.mTasks.size(), source.mEnqueuedCount, source.mDequeuedCount));
+            }
+
+            return stats;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    @Override
+    Object keyOf(Runnable runnable) {
+        if (!(runnable instanceof DispatchingTask)) {
+            return DEFAULT_SOURCE;
+        }
+
+        Object key = mSourceKeyFunction.apply(((DispatchingTask) runnable).getEvent());
+        return key == null ? DEFAULT_SOURCE : key;
+    }
+
+    @Override
+    void enqueue(Runnable runnable, Object key) {
+        evictIdleSources();
+
+        Source source = mSources.get(key);
+        if (source == null) {
+            Integer weight = mWeights.get(key);
+            source = new Source(key, weight != null && weight > 0 ? weight : mDefaultWeight);
+            mSources.put(key, source);
+        }
+
+        source.mTasks.add(runnable);
+        source.mEnqueuedCount++;
+
+        if (!source.mActive) {
+            source.mActive = true;
+            mActiveSources.add(source);
+        }
+    }
+
+    @Override
+    Runnable dequeue() {
+        Source source = mActiveSources.peek();
+        if (source.mCredits == 0) {
+            // start of the turn of this source
+            source.mCredits = source.mWeight;
+        }
+
+        Runnable runnable = source.mTasks.poll();
+        source.mCredits--;
+        source.mDequeuedCount++;
+
+        if (source.mTasks.isEmpty()) {
+            mActiveSources.poll();
+            deactivate(source);
+        } else if (source.mCredits == 0) {
+            mActiveSources.poll();
+            mActiveSources.add(source);
+        }
+
+        return runnable;
+    }
+
+    @Override
+    Runnable peekNext() {
+        return mActiveSources.peek().mTasks.peek();
+    }
+
+    @Override
+    boolean removeTask(Object task) {
+        for (Source source : mActiveSources) {
+            if (source.mTasks.remove(task)) {
+                if (source.mTasks.isEmpty()) {
+                    mActiveSources.remove(source);
+                    deactivate(source);
+                }
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    void copyTo(Collection<Runnable> collection) {
+        for (Source source : mActiveSources) {
+            collection.addAll(source.mTasks);
+        }
+    }
+
+    private void deactivate(Source source) {
+        source.mActive = false;
+        source.mCredits = 0;
+        source.mIdleSinceNanos = System.nanoTime();
+
+        if (!source.mIdleListed) {
+            source.mIdleListed = true;
+            mIdleSources.add(source);
+        }
+    }
+
+    private void evictIdleSources() {
+        if (mIdleSources.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        while (!mIdleSources.isEmpty()) {
+            Source source = mIdleSources.peek();
+            if (!source.mActive && now - source.mIdleSinceNanos < mIdleTimeoutNanos) {
+                // sources are listed roughly by the time they went idle
+                break;
+            }
+
+            mIdleSources.poll();
+            source.mIdleListed = false;
+            if (!source.mActive) {
+                mSources.remove(source.mKey);
+            }
+        }
+    }
+
+    public static class SourceStats {
+
+        private final int mDepth;
+        private final long mEnqueuedCount;
+        private final long mDequeuedCount;
+
+        SourceStats(int depth, long enqueuedCount, long dequeuedCount) {
+            mDepth = depth;
+            mEnqueuedCount = enqueuedCount;
+            mDequeuedCount = dequeuedCount;
+        }
+
+        /**
+         * @return amount of tasks of the source currently queued.
+         */
+        public int getDepth() {
+            return mDepth;
+        }
+
+        /**
+         * @return amount of tasks of the source queued so far.
+         */
+        public long getEnqueuedCount() {
+            return mEnqueuedCount;
+        }
+
+        /**
+         * @return amount of tasks of the source taken from the queue so far.
+         */
+        public long getDequeuedCount() {
+            return mDequeuedCount;
+        }
+    }
+
+    private static class Source {
+
+        private final Object mKey;
+        private final int mWeight;
+        private final Queue<Runnable> mTasks;
+
+        private boolean mActive;
+        private int mCredits;
+        private long mEnqueuedCount;
+        private long mDequeuedCount;
+        private boolean mIdleListed;
+        private long mIdleSinceNanos;
+
+        private Source(Object key, int weight) {
+            mKey = key;
+            mWeight = weight;
+            mTasks = new ArrayDeque<>();
+            mActive = false;
+            mCredits = 0;
+            mEnqueuedCount = 0;
+            mDequeuedCount = 0;
+            mIdleListed = false;
+            mIdleSinceNanos = 0;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.notifier.journal;
+
+import com.notifier.Event;
+import com.notifier.codec.EventCodec;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>
+ *     A queue of events for a single consumer, stored on disk in an {@link EventJournal}, which survives restarts
+ *     of the process. Events are kept in memory-mapped files, rather than in the heap.
+ * </p>
+ * <p>
+ *     The position of the consumer is stored in a checkpoint file in the journal directory, when
+ *     {@link #commit() committed}. When the queue is reopened, events are read from the last committed position,
+ *     so events which were taken but not committed before a crash, are taken again.
+ *     Segments of the journal which were entirely committed are deleted.
+ * </p>
+ */
+public class DurableEventQueue implements AutoCloseable {
+
+    private static final String CHECKPOINT_FILE = "consumer.checkpoint";
+
+    private final EventJournal mJournal;
+    private final FsyncPolicy mFsyncPolicy;
+    private final MappedByteBuffer mCheckpoint;
+    private final EventJournal.Cursor mCursor;
+
+    private long mCommittedSegmentFirstSequence;
+    private volatile Thread mWaitingConsumer;
+
+    public DurableEventQueue(Path directory, EventCodec codec, int segmentSize, FsyncPolicy fsyncPolicy) throws IOException {
+        mJournal = new EventJournal(directory, codec, segmentSize, fsyncPolicy);
+        mFsyncPolicy = fsyncPolicy;
+
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve(CHECKPOINT_FILE).toFile(), "rw")) {
+            mCheckpoint = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        }
+
+        mCursor = mJournal.newCursor(mCheckpoint.getLong(0));
+        mCommittedSegmentFirstSequence = mCursor.getSegmentFirstSequence();
+        mWaitingConsumer = null;
+    }
+
+    public DurableEventQueue(Path directory, EventCodec codec) throws IOException {
+        this(directory, codec, EventJournal.DEFAULT_SEGMENT_SIZE, FsyncPolicy.never());
+    }
+
+    /**
+     * Adds an event to the end of the queue.
+     *
+     * @return sequence number of the event.
+     */
+    public long add(Event event) throws IOException {
+        long sequence = mJournal.append(event);
+
+        Thread waitingConsumer = mWaitingConsumer;
+        if (waitingConsumer != null) {
+            LockSupport.unpark(waitingConsumer);
+        }
+
+        return sequence;
+    }
+
+    /**
+     * @return the next event, or <code>null</code> if the queue is empty.
+     */
+    public Event poll() throws IOException {
+        return mCursor.next();
+    }
+
+    public Event poll(long timeout, TimeUnit unit) throws IOException, InterruptedException {
+        long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+
+        while (true) {
+            Event event = poll();
+            if (event != null) {
+                return event;
+            }
+
+            mWaitingConsumer = Thread.currentThread();
+            try {
+                event = poll();
+                if (event != null) {
+                    return event;
+                }
+
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remainingNanos);
+            } finally {
+                mWaitingConsumer = null;
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * @return sequence number of the next event to be taken.
+     */
+    public long getReadSequence() {
+        return mCursor.getSequence();
+    }
+
+    /**
+     * @return amount of events which were added and not taken yet.
+     */
+    public long size() {
+        return mJournal.getNextSequence() - mCursor.getSequence();
+    }
+
+    /**
+     * Stores the position of the consumer, marking all events taken so far as handled, so they are not
+     * taken again after a restart.
+     */
+    public void commit() throws IOException {
+        mCheckpoint.putLong(0, mCursor.getSequence());
+        if (mFsyncPolicy.isEveryAppend()) {
+            mCheckpoint.force();
+        }
+
+        long segmentFirstSequence = mCursor.getSegmentFirstSequence();
+        if (segmentFirstSequence != mCommittedSegmentFirstSequence) {
+            mJournal.deleteSegmentsBefore(segmentFirstSequence);
+            mCommittedSegmentFirstSequence = segmentFirstSequence;
+        }
+    }
+
+    @Override
+    public void close() {
+        mCheckpoint.force();
+        mJournal.close();
+    }
+}
@@ -0,0 +1,192 @@
+package com.notifier.journal;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.dispatchers.EventDispatcher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     An {@link EventDispatcher} which queues events in a {@link DurableEventQueue}, and dispatches them
+ *     from a single consumer thread, by order. Events are committed after their listeners were called, so
+ *     the backlog survives restarts of the process.
+ * </p>
+ * <p>
+ *     Which listeners to call, and how, is only known to the process which fired the event. Events left in
+ *     the queue by a previous run are therefore passed to <code>recoveredEventHandler</code> instead,
+ *     which may pass them to subscribers. So are events added to the queue directly, rather than through
+ *     this dispatcher. Events may be recovered more than once, if the process stopped after calling their
+ *     listeners, but before committing.
+ * </p>
+ * <p>
+ *     While events are stored on disk, the listeners to call for events fired by this process are kept
+ *     in memory until the events are dispatched, so a backlog of such events still occupies the heap.
+ *     Only the backlog left by a previous run is read from disk as it is dispatched.
+ * </p>
+ */
+public class DurableQueuedDispatcher implements EventDispatcher {
+
+    private static final long IO_FAILURE_PAUSE_MS = 100;
+
+    private final DurableEventQueue mQueue;
+    private final Consumer<? super Event> mRecoveredEventHandler;
+    private final long mFirstLiveSequence;
+    private final Map<Long, PendingDispatch> mPendingDispatches;
+    private final Lock mDispatchLock;
+    private final LongAdder mIoFailureCount;
+
+    private volatile IOException mLastIoFailure;
+
+    public DurableQueuedDispatcher(DurableEventQueue queue, Consumer<? super Event> recoveredEventHandler) {
+        mQueue = queue;
+        mRecoveredEventHandler = recoveredEventHandler;
+        mFirstLiveSequence = queue.getReadSequence() + queue.size();
+        mPendingDispatches = new ConcurrentHashMap<>();
+        mDispatchLock = new ReentrantLock();
+        mIoFailureCount = new LongAdder();
+        mLastIoFailure = null;
+    }
+
+    /**
+     * Starts consuming the queue in a new daemon thread.
+     */
+    public void start() {
+        Thread runThread = new Thread(new ConsumingTask(), toString()+"-handling thread");
+        runThread.setDaemon(true);
+        runThread.start();
+    }
+
+    /**
+     * Starts consuming the queue in a task passed to the given executor, which should run it without stop.
+     */
+    public void start(Executor executor) {
+        executor.execute(new ConsumingTask());
+    }
+
+    /**
+     * @return amount of times reading from the queue, or committing to it, failed in the consuming thread.
+     *      The thread keeps consuming after failures.
+     */
+    public long getIoFailureCount() {
+        return mIoFailureCount.sum();
+    }
+
+    /**
+     * @return the last failure to read from the queue or to commit to it, or <code>null</code> if none.
+     */
+    public IOException getLastIoFailure() {
+        return mLastIoFailure;
+    }
+
+    @Override
+    public void dispatch(Collection<Listener> listeners, Predicate<Listener> listenerFilter, Event event, BiConsumer<Listener, Event> listenerCall) {
+        Listener[] matching = listeners.stream()
+                .filter(listenerFilter)
+                .toArray(Listener[]::new);
+        if (matching.length == 0) {
+            return;
+        }
+
+        mDispatchLock.lock();
+        try {
+            long sequence = mQueue.add(event);
+            mPendingDispatches.put(sequence, new PendingDispatch(matching, listenerCall));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            mDispatchLock.unlock();
+        }
+    }
+
+    private void deliver(long sequence, Event event) {
+        if (sequence < mFirstLiveSequence) {
+            mRecoveredEventHandler.accept(event);
+            return;
+        }
+
+        PendingDispatch pendingDispatch = mPendingDispatches.remove(sequence);
+        if (pendingDispatch == null) {
+            // the event was added, but its dispatching is not stored yet. it is stored
+            // before the dispatching thread releases the lock.
+            mDispatchLock.lock();
+            try {
+                pendingDispatch = mPendingDispatches.remove(sequence);
+            } finally {
+                mDispatchLock.unlock();
+            }
+        }
+        if (pendingDispatch == null) {
+            // added to the queue directly, not through this dispatcher
+            mRecoveredEventHandler.accept(event);
+            return;
+        }
+
+        for (Listener listener : pendingDispatch.mListeners) {
+            try {
+                pendingDispatch.mListenerCall.accept(listener, event);
+            } catch (RuntimeException e) {
+                // ignore, to keep calling other listeners
+            }
+        }
+    }
+
+    private static class PendingDispatch {
+
+        private final Listener[] mListeners;
+        private final BiConsumer<Listener, Event> mListenerCall;
+
+        private PendingDispatch(Listener[] listeners, BiConsumer<Listener, Event> listenerCall) {
+            mListeners = listeners;
+            mListenerCall = listenerCall;
+        }
+    }
+
+    private class ConsumingTask implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                while (!Thread.interrupted()) {
+                    try {
+                        consumeNext();
+                    } catch (IOException e) {
+                        // kept for reporting, the queue is retried after a pause
+                        mIoFailureCount.increment();
+                        mLastIoFailure = e;
+                        Thread.sleep(IO_FAILURE_PAUSE_MS);
+                    }
+                }
+            } catch (InterruptedException e) {
+            }
+        }
+
+        private void consumeNext() throws IOException, InterruptedException {
+            long sequence = mQueue.getReadSequence();
+            Event event = mQueue.poll(1, TimeUnit.SECONDS);
+            if (event == null) {
+                return;
+            }
+
+            try {
+                deliver(sequence, event);
+            } catch (RuntimeException e) {
+                // ignore, to keep running other tasks
+            }
+
+            mQueue.commit();
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package com.notifier.journal;
+
+import com.notifier.Event;
+import com.notifier.EventController;
+import com.notifier.codec.EventCodec;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ *     An append-only journal of events, stored in memory-mapped segment files in a directory.
+ *     Events are converted to binary form by an {@link EventCodec}, and written directly into the mapped
+ *     memory, so appending costs about as much as encoding the event.
+ * </p>
+ * <p>
+ *     Each appended event is given a sequence number, starting at 0. When an event does not fit in the remaining
+ *     space of the current segment, a new segment is started. Segment files are named by the sequence number of
+ *     their first event, so that a journal can be reopened, and appending continues where it stopped.
+ * </p>
+ * <p>
+ *     Each event is written as its length followed by its encoded form. The length is written after the event,
+ *     so an event which was not written completely, is ignored when reading the journal.
+ *     When events are forced to the storage device is defined by the {@link FsyncPolicy}.
+ * </p>
+ */
+public class EventJournal implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+    private static final int LENGTH_SIZE = Integer.BYTES;
+
+    private final Path mDirectory;
+    private final EventCodec mCodec;
+    private final int mSegmentSize;
+    private final FsyncPolicy mFsyncPolicy;
+
+    private final ReentrantLock mLock;
+    private final Thread mFsyncThread;
+
+    private volatile Segment mSegment;
+    // written after the event, so reading it makes the event visible to other threads
+    private volatile long mNextSequence;
+    private volatile boolean mDirty;
+    private volatile boolean mClosed;
+
+    public EventJournal(Path directory, EventCodec codec, int segmentSize, FsyncPolicy fsyncPolicy) throws IOException {
+        if (segmentSize <= LENGTH_SIZE) {
+            throw new IllegalArgumentException("segment size too small");
+        }
+
+        mDirectory = directory;
+        mCodec = codec;
+        mSegmentSize = segmentSize;
+        mFsyncPolicy = fsyncPolicy;
+        mLock = new ReentrantLock();
+        mDirty = false;
+        mClosed = false;
+
+        Files.createDirectories(directory);
+        List<Path> segments = listSegments(directory);
+        if (segments.isEmpty()) {
+            mSegment = Segment.create(segmentPath(0), 0, segmentSize);
+        } else {
+            mSegment = Segment.recover(segments.get(segments.size() - 1));
+        }
+        mNextSequence = mSegment.mFirstSequence + mSegment.mCount;
+
+        if (fsyncPolicy.isPeriodic()) {
+            mFsyncThread = new Thread(new FsyncTask(), "notifier-journal-fsync");
+            mFsyncThread.setDaemon(true);
+            mFsyncThread.start();
+        } else {
+            mFsyncThread = null;
+        }
+    }
+
+    public EventJournal(Path directory, EventCodec codec) throws IOException {
+        this(directory, codec, DEFAULT_SEGMENT_SIZE, FsyncPolicy.never());
+    }
+
+    /**
+     * Appends an event to the journal.
+     *
+     * @param event event to append.
+     *
+     * @return sequence number of the event.
+     *
+     * @throws IOException if a new segment was needed, and could not be created.
+     * @throws IllegalArgumentException if the event is not supported by the codec, or does not fit in a segment.
+     */
+    public long append(Event event) throws IOException {
+        mLock.lock();
+        try {
+            if (mClosed) {
+                throw new IllegalStateException("journal closed");
+            }
+
+            if (!mSegment.tryAppend(mCodec, event)) {
+                roll();
+                if (!mSegment.tryAppend(mCodec, event)) {
+                    throw new IllegalArgumentException("event larger than segment size: " + event.getClass().getName());
+                }
+            }
+
+            if (mFsyncPolicy.isEveryAppend()) {
+                mSegment.mBuffer.force();
+            } else {
+                mDirty = true;
+            }
+
+            long sequence = mNextSequence;
+            mNextSequence = sequence + 1;
+            return sequence;
+        } finally {
+            mLock.unlock();
+        }
+    }
+
+    /**
+     * @return sequence number which will be given to the next appended event.
+     */
+    public long getNextSequence() {
+        return mNextSequence;
+    }
+
+    /**
+     * Reads the events of the journal, by order, starting at the given sequence number, up to the last
+     * event appended before the call.
+     *
+     * @param fromSequence sequence number of the first event to read.
+     * @param consumer consumer to pass the events to.
+     *
+     * @return sequence number following the last event read.
+     *
+     * @throws IOException if the segments could not be read.
+     */
+    public long replay(long fromSequence, Consumer<? super Event> consumer) throws IOException {
+        long endSequence = getNextSequence();
+
+        List<Path> segments = listSegments(mDirectory);
+        long sequence = fromSequence;
+        for (int i = 0; i < segments.size() && sequence < endSequence; i++) {
+            boolean hasNext = i + 1 < segments.size();
+            if (hasNext && firstSequenceOf(segments.get(i + 1)) <= sequence) {
+                continue;
+            }
+
+            sequence = replaySegment(segments.get(i), sequence, endSequence, consumer);
+        }
+
+        return sequence;
+    }
+
+    public long replay(Consumer<? super Event> consumer) throws IOException {
+        return replay(0, consumer);
+    }
+
+    /**
+     * Fires all the events of the journal to the subscribers of the given controller, by order.
+     * See {@link EventController#fire(Event, Class)}.
+     *
+     * @return sequence number following the last event fired.
+     */
+    @SuppressWarnings("unchecked")
+    public long replay(EventController controller) throws IOException {
+        return replay(0, (event)-> controller.fire(event, (Class<Event>) event.getClass()));
+    }
+
+    /**
+     * Forces all appended events to the storage device.
+     */
+    public void flush() {
+        mDirty = false;
+        mSegment.mBuffer.force();
+    }
+
+    @Override
+    public void close() {
+        mLock.lock();
+        try {
+            if (mClosed) {
+                return;
+            }
+            mClosed = true;
+        } finally {
+            mLock.unlock();
+        }
+
+        if (mFsyncThread != null) {
+            mFsyncThread.interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Creates a cursor for reading events one by one, starting at the given sequence number.
+     */
+    Cursor newCursor(long fromSequence) throws IOException {
+        Cursor cursor = new Cursor();
+        cursor.seek(fromSequence);
+
+        return cursor;
+    }
+
+    /**
+     * Deletes segments which only hold events before the given sequence number.
+     */
+    void deleteSegmentsBefore(long sequence) throws IOException {
+        List<Path> segments = listSegments(mDirectory);
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequenceOf(segments.get(i + 1)) > sequence) {
+                break;
+            }
+
+            Files.deleteIfExists(segments.get(i));
+        }
+    }
+
+    private void roll() throws IOException {
+        // lock must be held
+        mSegment.mBuffer.force();
+        mSegment = Segment.create(segmentPath(mNextSequence), mNextSequence, mSegmentSize);
+    }
+
+    private long replaySegment(Path path, long fromSequence, long endSequence, Consumer<? super Event> consumer) throws IOException {
+        long sequence = firstSequenceOf(path);
+        ByteBuffer buffer = Segment.map(path, FileChannel.MapMode.READ_ONLY);
+
+        int position = 0;
+        while (sequence < endSequence && position + LENGTH_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0) {
+                break;
+            }
+
+            if (sequence >= fromSequence) {
+                buffer.limit(position + LENGTH_SIZE + length);
+                buffer.position(position + LENGTH_SIZE);
+                consumer.accept(mCodec.decode(buffer));
+                buffer.limit(buffer.capacity());
+            }
+
+            position += LENGTH_SIZE + length;
+            sequence++;
+        }
+
+        return sequence;
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return mDirectory.resolve(String.format("%020d%s", firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths
+                    .filter((path)-> path.getFileName().toString().matches("\\d{20}\\" + SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    class Cursor {
+
+        private ByteBuffer mBuffer;
+        private long mSegmentFirstSequence;
+        private long mSequence;
+        private int mPosition;
+
+        /**
+         * @return the next event, or <code>null</code> if all appended events were read.
+         */
+        Event next() throws IOException {
+            if (mSequence >= mNextSequence) {
+                return null;
+            }
+
+            int length = mPosition + LENGTH_SIZE <= mBuffer.capacity() ? mBuffer.getInt(mPosition) : 0;
+            if (length <= 0) {
+                // the writer rolled to a segment starting at the next event
+                map(mSequence);
+                length = mBuffer.getInt(mPosition);
+            }
+
+            mBuffer.limit(mPosition + LENGTH_SIZE + length);
+            mBuffer.position(mPosition + LENGTH_SIZE);
+            Event event = mCodec.decode(mBuffer);
+            mBuffer.limit(mBuffer.capacity());
+
+            mPosition += LENGTH_SIZE + length;
+            mSequence++;
+
+            return event;
+        }
+
+        long getSequence() {
+            return mSequence;
+        }
+
+        long getSegmentFirstSequence() {
+            return mSegmentFirstSequence;
+        }
+
+        private void seek(long sequence) throws IOException {
+            List<Path> segments = listSegments(mDirectory);
+            Path segment = segments.get(0);
+            for (Path path : segments) {
+                if (firstSequenceOf(path) > sequence) {
+                    break;
+                }
+                segment = path;
+            }
+
+            map(firstSequenceOf(segment));
+            while (mSequence < sequence && mSequence < mNextSequence) {
+                int length = mBuffer.getInt(mPosition);
+                if (length <= 0) {
+                    map(mSequence);
+                    continue;
+                }
+
+                mPosition += LENGTH_SIZE + length;
+                mSequence++;
+            }
+        }
+
+        private void map(long segmentFirstSequence) throws IOException {
+            mBuffer = Segment.map(segmentPath(segmentFirstSequence), FileChannel.MapMode.READ_ONLY);
+            mSegmentFirstSequence = segmentFirstSequence;
+            mSequence = segmentFirstSequence;
+            mPosition = 0;
+        }
+    }
+
+    private class FsyncTask implements Runnable {
+
+        @Override
+        public void run() {
+            while (!mClosed && !Thread.interrupted()) {
+                LockSupport.parkNanos(this, mFsyncPolicy.getIntervalNanos());
+
+                if (mDirty) {
+                    flush();
+                }
+            }
+        }
+    }
+
+    private static class Segment {
+
+        private final long mFirstSequence;
+        private final MappedByteBuffer mBuffer;
+        private final ByteBuffer mWriteBuffer;
+        private int mPosition;
+        private int mCount;
+
+        private Segment(long firstSequence, MappedByteBuffer buffer, int position, int count) {
+            mFirstSequence = firstSequence;
+            mBuffer = buffer;
+            mWriteBuffer = buffer.duplicate();
+            mPosition = position;
+            mCount = count;
+        }
+
+        static Segment create(Path path, long firstSequence, int size) throws IOException {
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+                file.setLength(size);
+            }
+
+            return new Segment(firstSequence, map(path, FileChannel.MapMode.READ_WRITE), 0, 0);
+        }
+
+        static Segment recover(Path path) throws IOException {
+            MappedByteBuffer buffer = map(path, FileChannel.MapMode.READ_WRITE);
+
+            int position = 0;
+            int count = 0;
+            while (position + LENGTH_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + LENGTH_SIZE + length > buffer.capacity()) {
+                    break;
+                }
+
+                position += LENGTH_SIZE + length;
+                count++;
+            }
+
+            // clear whatever was partially written after the last complete event
+            clear(buffer, position, buffer.capacity());
+
+            return new Segment(firstSequenceOf(path), buffer, position, count);
+        }
+
+        static MappedByteBuffer map(Path path, FileChannel.MapMode mode) throws IOException {
+            // the mapping stays valid after the file is closed
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), mode == FileChannel.MapMode.READ_ONLY ? "r" : "rw")) {
+                return file.getChannel().map(mode, 0, file.length());
+            }
+        }
+
+        boolean tryAppend(EventCodec codec, Event event) {
+            int start = mPosition + LENGTH_SIZE;
+            if (start >= mWriteBuffer.capacity()) {
+                return false;
+            }
+
+            mWriteBuffer.limit(mWriteBuffer.capacity());
+            mWriteBuffer.position(start);
+            try {
+                codec.encode(event, mWriteBuffer);
+            } catch (RuntimeException e) {
+                // partially written data would be mistaken for the length of a following event
+                clear(mWriteBuffer, start, mWriteBuffer.position());
+                if (e instanceof BufferOverflowException) {
+                    return false;
+                }
+                throw e;
+            }
+
+            int length = mWriteBuffer.position() - start;
+            if (length == 0) {
+                throw new IllegalArgumentException("codec wrote no data for event: " + event.getClass().getName());
+            }
+
+            // the length marks the event as complete, so it is written last
+            mWriteBuffer.putInt(mPosition, length);
+            mPosition = start + length;
+            mCount++;
+
+            return true;
+        }
+
+        private static void clear(ByteBuffer buffer, int from, int to) {
+            for (int i = from; i < to; i++) {
+                // avoid dirtying pages which are already clear
+                if (buffer.get(i) != 0) {
+                    buffer.put(i, (byte) 0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.notifier.journal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Defines when journaled events are forced to the storage device. Until forced, appended events
+ *     survive a crash of the process, since they are written to memory shared with the operating system,
+ *     but not a crash of the operating system, or a loss of power.
+ * </p>
+ */
+public class FsyncPolicy {
+
+    private static final long NEVER = -1;
+    private static final long EVERY_APPEND = 0;
+
+    private final long mIntervalNanos;
+
+    private FsyncPolicy(long intervalNanos) {
+        mIntervalNanos = intervalNanos;
+    }
+
+    /**
+     * Events are only forced when segments are rolled, or the journal is closed or {@link EventJournal#flush() flushed}.
+     * The operating system writes them in the background as it sees fit.
+     */
+    public static FsyncPolicy never() {
+        return new FsyncPolicy(NEVER);
+    }
+
+    /**
+     * Each event is forced before the append returns. This is the most durable policy, and the slowest by far.
+     */
+    public static FsyncPolicy everyAppend() {
+        return new FsyncPolicy(EVERY_APPEND);
+    }
+
+    /**
+     * Events are forced by a background thread of the journal, every given interval, bounding the amount of events
+     * which may be lost, without slowing down appends.
+     */
+    public static FsyncPolicy periodic(long interval, TimeUnit unit) {
+        long intervalNanos = unit.toNanos(interval);
+        if (intervalNanos <= 0) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+
+        return new FsyncPolicy(intervalNanos);
+    }
+
+    boolean isEveryAppend() {
+        return mIntervalNanos == EVERY_APPEND;
+    }
+
+    boolean isPeriodic() {
+        return mIntervalNanos > 0;
+    }
+
+    long getIntervalNanos() {
+        return mIntervalNanos;
+    }
+}
@@ -0,0 +1,47 @@
+package com.notifier.journal;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.dispatchers.EventDispatcher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     An {@link EventDispatcher} which appends each dispatched event to an {@link EventJournal}, before
+ *     dispatching it with another dispatcher. Only events matching the given filter are appended.
+ * </p>
+ */
+public class JournalingDispatcher implements EventDispatcher {
+
+    private final EventJournal mJournal;
+    private final EventDispatcher mEventDispatcher;
+    private final Predicate<? super Event> mEventFilter;
+
+    public JournalingDispatcher(EventJournal journal, EventDispatcher eventDispatcher, Predicate<? super Event> eventFilter) {
+        mJournal = journal;
+        mEventDispatcher = eventDispatcher;
+        mEventFilter = eventFilter;
+    }
+
+    public JournalingDispatcher(EventJournal journal, EventDispatcher eventDispatcher) {
+        this(journal, eventDispatcher, (e)->true);
+    }
+
+    @Override
+    public void dispatch(Collection<Listener> listeners, Predicate<Listener> listenerFilter, Event event, BiConsumer<Listener, Event> listenerCall) {
+        if (mEventFilter.test(event)) {
+            try {
+                mJournal.append(event);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        mEventDispatcher.dispatch(listeners, listenerFilter, event, listenerCall);
+    }
+}
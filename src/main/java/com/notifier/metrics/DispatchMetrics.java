@@ -0,0 +1,27 @@
+package com.notifier.metrics;
+
+import com.notifier.Event;
+
+/**
+ * <p>
+ *     Receives the measurements of an {@link InstrumentingDispatcher}. {@link MetricsRegistry} keeps them in memory,
+ *     while other implementations may pass them on to an existing monitoring system.
+ * </p>
+ * <p>
+ *     Methods are called on the dispatching threads, for every fire and listener call, and should therefore
+ *     be fast and thread-safe.
+ * </p>
+ */
+public interface DispatchMetrics {
+
+    void onFire(Class<? extends Event> eventType);
+
+    /**
+     * @param eventType type of the event.
+     * @param listenerType class of the registered listener, or <code>null</code> if it is no longer known,
+     *      such as a weak listener which was collected.
+     * @param durationNanos time the call took.
+     * @param failed whether the call threw.
+     */
+    void onListenerCall(Class<? extends Event> eventType, Class<?> listenerType, long durationNanos, boolean failed);
+}
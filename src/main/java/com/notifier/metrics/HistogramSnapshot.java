@@ -0,0 +1,86 @@
+package com.notifier.metrics;
+
+/**
+ * <p>
+ *     The values of a {@link LatencyHistogram} at some point in time. Values are in nanoseconds.
+ * </p>
+ * <p>
+ *     Snapshots hold everything recorded since the histogram was created. The values of a period are
+ *     given by {@link #since(HistogramSnapshot)} the snapshot taken at its start.
+ * </p>
+ */
+public class HistogramSnapshot {
+
+    private final long[] mCounts;
+    private final long mCount;
+    private final long mSum;
+    private final long mMax;
+
+    HistogramSnapshot(long[] counts, long sum, long max) {
+        mCounts = counts;
+        mSum = sum;
+        mMax = max;
+
+        long count = 0;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        mCount = count;
+    }
+
+    public long getCount() {
+        return mCount;
+    }
+
+    public long getSum() {
+        return mSum;
+    }
+
+    public double getMean() {
+        return mCount == 0 ? 0 : (double) mSum / mCount;
+    }
+
+    /**
+     * @return the highest value recorded. For a snapshot given by {@link #since(HistogramSnapshot)},
+     *      the highest value ever recorded by the histogram.
+     */
+    public long getMax() {
+        return mMax;
+    }
+
+    /**
+     * @param percentile between 0 and 100.
+     *
+     * @return a value which is not below the given percentile of values, and is not more than about 6% above it.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (mCount == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * mCount));
+        long seen = 0;
+        for (int i = 0; i < mCounts.length; i++) {
+            seen += mCounts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValueOf(i), mMax);
+            }
+        }
+
+        return mMax;
+    }
+
+    /**
+     * @param earlier snapshot of the same histogram, taken before this one.
+     *
+     * @return a snapshot of the values recorded between the two snapshots.
+     */
+    public HistogramSnapshot since(HistogramSnapshot earlier) {
+        long[] counts = new long[mCounts.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = mCounts[i] - earlier.mCounts[i];
+        }
+
+        return new HistogramSnapshot(counts, mSum - earlier.mSum, mMax);
+    }
+}
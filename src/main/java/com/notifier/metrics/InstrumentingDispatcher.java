@@ -0,0 +1,81 @@
+package com.notifier.metrics;
+
+import com.notifier.DispatchingController;
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.dispatchers.EventDispatcher;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * <p>
+ *     An {@link EventDispatcher} which passes dispatching to another dispatcher, while reporting each fire,
+ *     and the duration and outcome of each listener call, to a {@link DispatchMetrics}.
+ * </p>
+ * <p>
+ *     Calls are timed where the wrapped dispatcher makes them, so time spent queued is not included.
+ *     A call is reported for every listener the wrapped dispatcher passes the event to, including listeners
+ *     whose predicate or type then reject the event.
+ * </p>
+ * <p>
+ *     While {@link #setEnabled(boolean) disabled}, events are passed to the wrapped dispatcher as they are,
+ *     with nothing recorded.
+ * </p>
+ */
+public class InstrumentingDispatcher implements EventDispatcher {
+
+    private final EventDispatcher mEventDispatcher;
+    private final DispatchMetrics mMetrics;
+    private volatile boolean mEnabled;
+
+    public InstrumentingDispatcher(EventDispatcher eventDispatcher, DispatchMetrics metrics) {
+        mEventDispatcher = eventDispatcher;
+        mMetrics = metrics;
+        mEnabled = true;
+    }
+
+    public void setEnabled(boolean enabled) {
+        mEnabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return mEnabled;
+    }
+
+    @Override
+    public void dispatch(Collection<Listener> listeners, Predicate<Listener> listenerFilter, Event event, BiConsumer<Listener, Event> listenerCall) {
+        if (!mEnabled) {
+            mEventDispatcher.dispatch(listeners, listenerFilter, event, listenerCall);
+            return;
+        }
+
+        mMetrics.onFire(event.getClass());
+        mEventDispatcher.dispatch(listeners, listenerFilter, event, new TimedCall(listenerCall, mMetrics));
+    }
+
+    private static class TimedCall implements BiConsumer<Listener, Event> {
+
+        private final BiConsumer<Listener, Event> mListenerCall;
+        private final DispatchMetrics mMetrics;
+
+        private TimedCall(BiConsumer<Listener, Event> listenerCall, DispatchMetrics metrics) {
+            mListenerCall = listenerCall;
+            mMetrics = metrics;
+        }
+
+        @Override
+        public void accept(Listener listener, Event event) {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                mListenerCall.accept(listener, event);
+                failed = false;
+            } finally {
+                mMetrics.onListenerCall(event.getClass(), DispatchingController.registeredClassOf(listener),
+                        System.nanoTime() - start, failed);
+            }
+        }
+    }
+}
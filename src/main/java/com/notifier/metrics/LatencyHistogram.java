@@ -0,0 +1,69 @@
+package com.notifier.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ *     A lock-free histogram of durations in nanoseconds.
+ * </p>
+ * <p>
+ *     Values are counted in buckets, 16 for each power of two, so each bucket is within about 6% of the values
+ *     it holds. Recording a value takes a few atomic additions, and never allocates.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray mCounts;
+    private final LongAdder mSum;
+    private final LongAccumulator mMax;
+
+    public LatencyHistogram() {
+        mCounts = new AtomicLongArray(BUCKETS);
+        mSum = new LongAdder();
+        mMax = new LongAccumulator(Math::max, 0);
+    }
+
+    public void record(long durationNanos) {
+        long value = Math.max(durationNanos, 0);
+
+        mCounts.incrementAndGet(bucketOf(value));
+        mSum.add(value);
+        mMax.accumulate(value);
+    }
+
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = mCounts.get(i);
+        }
+
+        return new HistogramSnapshot(counts, mSum.sum(), mMax.get());
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        // the highest bits of the value, after its leading one, select the bucket within its power of two
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int shift = bucket / SUB_BUCKETS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1L) << shift) - 1;
+    }
+}
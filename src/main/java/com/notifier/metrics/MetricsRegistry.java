@@ -0,0 +1,121 @@
+package com.notifier.metrics;
+
+import com.notifier.Event;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>
+ *     A {@link DispatchMetrics} which keeps, in memory, the amount of fires for each event type, and a count
+ *     of failures and a {@link LatencyHistogram} of listener calls for each event type and each listener class.
+ * </p>
+ * <p>
+ *     Gauges, such as {@link com.notifier.dispatchers.QueuedDispatcher#getPendingCount() queue depth},
+ *     may be registered to be read with each {@link #snapshot() snapshot}. Snapshots may be taken periodically
+ *     by {@link #report(ScheduledExecutorService, long, TimeUnit, Consumer)}.
+ * </p>
+ */
+public class MetricsRegistry implements DispatchMetrics {
+
+    private final Map<Class<? extends Event>, LongAdder> mFireCounts;
+    private final Map<Class<? extends Event>, CallRecorder> mEventTypeCalls;
+    private final Map<Class<?>, CallRecorder> mListenerTypeCalls;
+    private final Map<String, LongSupplier> mGauges;
+
+    public MetricsRegistry() {
+        mFireCounts = new ConcurrentHashMap<>();
+        mEventTypeCalls = new ConcurrentHashMap<>();
+        mListenerTypeCalls = new ConcurrentHashMap<>();
+        mGauges = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void onFire(Class<? extends Event> eventType) {
+        LongAdder count = mFireCounts.get(eventType);
+        if (count == null) {
+            count = mFireCounts.computeIfAbsent(eventType, (type)-> new LongAdder());
+        }
+
+        count.increment();
+    }
+
+    @Override
+    public void onListenerCall(Class<? extends Event> eventType, Class<?> listenerType, long durationNanos, boolean failed) {
+        recorderOf(mEventTypeCalls, eventType).record(durationNanos, failed);
+        if (listenerType != null) {
+            recorderOf(mListenerTypeCalls, listenerType).record(durationNanos, failed);
+        }
+    }
+
+    public void registerGauge(String name, LongSupplier gauge) {
+        mGauges.put(name, gauge);
+    }
+
+    public void unregisterGauge(String name) {
+        mGauges.remove(name);
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<Class<? extends Event>, Long> fireCounts = new HashMap<>();
+        mFireCounts.forEach((type, count)-> fireCounts.put(type, count.sum()));
+
+        Map<Class<? extends Event>, MetricsSnapshot.CallStats> eventTypeStats = new HashMap<>();
+        mEventTypeCalls.forEach((type, recorder)-> eventTypeStats.put(type, recorder.snapshot()));
+
+        Map<Class<?>, MetricsSnapshot.CallStats> listenerTypeStats = new HashMap<>();
+        mListenerTypeCalls.forEach((type, recorder)-> listenerTypeStats.put(type, recorder.snapshot()));
+
+        Map<String, Long> gauges = new HashMap<>();
+        mGauges.forEach((name, gauge)-> gauges.put(name, gauge.getAsLong()));
+
+        return new MetricsSnapshot(System.currentTimeMillis(), fireCounts, eventTypeStats, listenerTypeStats, gauges);
+    }
+
+    /**
+     * Passes a {@link #snapshot() snapshot} to the given reporter every period, until the returned
+     * future is cancelled.
+     */
+    public ScheduledFuture<?> report(ScheduledExecutorService executorService, long period, TimeUnit periodUnit,
+                                     Consumer<? super MetricsSnapshot> reporter) {
+        return executorService.scheduleAtFixedRate(()-> reporter.accept(snapshot()), period, period, periodUnit);
+    }
+
+    private static <K> CallRecorder recorderOf(Map<K, CallRecorder> recorders, K key) {
+        CallRecorder recorder = recorders.get(key);
+        if (recorder == null) {
+            recorder = recorders.computeIfAbsent(key, (k)-> new CallRecorder());
+        }
+
+        return recorder;
+    }
+
+    private static class CallRecorder {
+
+        private final LatencyHistogram mLatency;
+        private final LongAdder mFailureCount;
+
+        private CallRecorder() {
+            mLatency = new LatencyHistogram();
+            mFailureCount = new LongAdder();
+        }
+
+        void record(long durationNanos, boolean failed) {
+            mLatency.record(durationNanos);
+            if (failed) {
+                mFailureCount.increment();
+            }
+        }
+
+        MetricsSnapshot.CallStats snapshot() {
+            return new MetricsSnapshot.CallStats(mFailureCount.sum(), mLatency.snapshot());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.notifier.metrics;
+
+import com.notifier.Event;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * <p>
+ *     The values of a {@link MetricsRegistry} at some point in time.
+ * </p>
+ * <p>
+ *     Counts and histograms hold everything recorded since the registry was created, while gauges are read
+ *     when the snapshot is taken. Rates are given by comparing two snapshots.
+ * </p>
+ */
+public class MetricsSnapshot {
+
+    private final long mTimeMillis;
+    private final Map<Class<? extends Event>, Long> mFireCounts;
+    private final Map<Class<? extends Event>, CallStats> mEventTypeStats;
+    private final Map<Class<?>, CallStats> mListenerTypeStats;
+    private final Map<String, Long> mGauges;
+
+    MetricsSnapshot(long timeMillis, Map<Class<? extends Event>, Long> fireCounts,
+                    Map<Class<? extends Event>, CallStats> eventTypeStats,
+                    Map<Class<?>, CallStats> listenerTypeStats,
+                    Map<String, Long> gauges) {
+        mTimeMillis = timeMillis;
+        mFireCounts = Collections.unmodifiableMap(fireCounts);
+        mEventTypeStats = Collections.unmodifiableMap(eventTypeStats);
+        mListenerTypeStats = Collections.unmodifiableMap(listenerTypeStats);
+        mGauges = Collections.unmodifiableMap(gauges);
+    }
+
+    public long getTimeMillis() {
+        return mTimeMillis;
+    }
+
+    public long getFireCount(Class<? extends Event> eventType) {
+        return mFireCounts.getOrDefault(eventType, 0L);
+    }
+
+    public Map<Class<? extends Event>, Long> getFireCounts() {
+        return mFireCounts;
+    }
+
+    /**
+     * @return stats of listener calls, by the exact type of the event.
+     */
+    public Map<Class<? extends Event>, CallStats> getEventTypeStats() {
+        return mEventTypeStats;
+    }
+
+    /**
+     * @return stats of listener calls, by the class of the registered listener.
+     */
+    public Map<Class<?>, CallStats> getListenerTypeStats() {
+        return mListenerTypeStats;
+    }
+
+    public Map<String, Long> getGauges() {
+        return mGauges;
+    }
+
+    public static class CallStats {
+
+        private final long mFailureCount;
+        private final HistogramSnapshot mLatency;
+
+        CallStats(long failureCount, HistogramSnapshot latency) {
+            mFailureCount = failureCount;
+            mLatency = latency;
+        }
+
+        public long getCallCount() {
+            return mLatency.getCount();
+        }
+
+        public long getFailureCount() {
+            return mFailureCount;
+        }
+
+        public HistogramSnapshot getLatency() {
+            return mLatency;
+        }
+    }
+}
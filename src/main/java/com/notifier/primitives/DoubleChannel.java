@@ -0,0 +1,33 @@
+package com.notifier.primitives;
+
+import com.notifier.Listener;
+import com.notifier.RegisteredListener;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link PrimitiveChannel} of {@code double} payloads, which are carried by their raw bits.
+ */
+public class DoubleChannel extends PrimitiveChannel {
+
+    public DoubleChannel() {
+        super();
+    }
+
+    public DoubleChannel(Executor executor, int capacity) {
+        super(executor, capacity);
+    }
+
+    public RegisteredListener registerListener(DoubleListener listener) {
+        return addListener(listener);
+    }
+
+    public void fire(double value) {
+        fire0(0, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    void call(Listener listener, int key, long value) {
+        ((DoubleListener) listener).onEvent(Double.longBitsToDouble(value));
+    }
+}
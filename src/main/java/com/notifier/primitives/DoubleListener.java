@@ -0,0 +1,8 @@
+package com.notifier.primitives;
+
+import com.notifier.Listener;
+
+public interface DoubleListener extends Listener {
+
+    void onEvent(double value);
+}
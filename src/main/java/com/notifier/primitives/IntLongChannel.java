@@ -0,0 +1,33 @@
+package com.notifier.primitives;
+
+import com.notifier.Listener;
+import com.notifier.RegisteredListener;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link PrimitiveChannel} of {@code (int, long)} payloads, such as a counter id and its value.
+ */
+public class IntLongChannel extends PrimitiveChannel {
+
+    public IntLongChannel() {
+        super();
+    }
+
+    public IntLongChannel(Executor executor, int capacity) {
+        super(executor, capacity);
+    }
+
+    public RegisteredListener registerListener(IntLongListener listener) {
+        return addListener(listener);
+    }
+
+    public void fire(int key, long value) {
+        fire0(key, value);
+    }
+
+    @Override
+    void call(Listener listener, int key, long value) {
+        ((IntLongListener) listener).onEvent(key, value);
+    }
+}
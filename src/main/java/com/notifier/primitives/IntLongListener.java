@@ -0,0 +1,8 @@
+package com.notifier.primitives;
+
+import com.notifier.Listener;
+
+public interface IntLongListener extends Listener {
+
+    void onEvent(int key, long value);
+}
@@ -0,0 +1,33 @@
+package com.notifier.primitives;
+
+import com.notifier.Listener;
+import com.notifier.RegisteredListener;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link PrimitiveChannel} of {@code long} payloads.
+ */
+public class LongChannel extends PrimitiveChannel {
+
+    public LongChannel() {
+        super();
+    }
+
+    public LongChannel(Executor executor, int capacity) {
+        super(executor, capacity);
+    }
+
+    public RegisteredListener registerListener(LongListener listener) {
+        return addListener(listener);
+    }
+
+    public void fire(long value) {
+        fire0(0, value);
+    }
+
+    @Override
+    void call(Listener listener, int key, long value) {
+        ((LongListener) listener).onEvent(value);
+    }
+}
@@ -0,0 +1,8 @@
+package com.notifier.primitives;
+
+import com.notifier.Listener;
+
+public interface LongListener extends Listener {
+
+    void onEvent(long value);
+}
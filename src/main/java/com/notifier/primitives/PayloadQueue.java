@@ -0,0 +1,91 @@
+package com.notifier.primitives;
+
+/**
+ * A bounded ring of pending payloads, held in primitive arrays so queuing them allocates nothing.
+ * Producers wait while the ring is full. Payloads are taken by a single consumer, in batches.
+ */
+final class PayloadQueue {
+
+    private final int[] mKeys;
+    private final long[] mValues;
+    private final int mMask;
+
+    private long mHead;
+    private long mTail;
+    private boolean mConsumerWaiting;
+    private int mWaitingProducers;
+
+    PayloadQueue(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("capacity must be positive and at most 2^30: " + capacity);
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        mKeys = new int[size];
+        mValues = new long[size];
+        mMask = size - 1;
+        mHead = 0;
+        mTail = 0;
+        mConsumerWaiting = false;
+        mWaitingProducers = 0;
+    }
+
+    synchronized void put(int key, long value) throws InterruptedException {
+        while (mTail - mHead == mValues.length) {
+            mWaitingProducers++;
+            try {
+                wait();
+            } finally {
+                mWaitingProducers--;
+            }
+        }
+
+        int index = (int) (mTail & mMask);
+        mKeys[index] = key;
+        mValues[index] = value;
+        mTail++;
+
+        if (mConsumerWaiting) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Takes up to the length of the given arrays in payloads, waiting up to the given timeout
+     * if there are none.
+     *
+     * @return amount of payloads taken, which may be 0.
+     */
+    synchronized int drainTo(int[] keys, long[] values, long timeoutMs) throws InterruptedException {
+        if (mTail == mHead) {
+            mConsumerWaiting = true;
+            try {
+                wait(timeoutMs);
+            } finally {
+                mConsumerWaiting = false;
+            }
+        }
+
+        int count = (int) Math.min(mTail - mHead, values.length);
+        for (int i = 0; i < count; i++) {
+            int index = (int) ((mHead + i) & mMask);
+            keys[i] = mKeys[index];
+            values[i] = mValues[index];
+        }
+        mHead += count;
+
+        if (count > 0 && mWaitingProducers > 0) {
+            notifyAll();
+        }
+
+        return count;
+    }
+
+    synchronized int size() {
+        return (int) (mTail - mHead);
+    }
+}
@@ -0,0 +1,119 @@
+package com.notifier.primitives;
+
+import com.notifier.Listener;
+import com.notifier.RegisteredListener;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>
+ *     Base for channels of primitive payloads, which are delivered to listeners without being wrapped
+ *     in an {@link com.notifier.Event} or in a dispatching task, so that firing allocates nothing.
+ *     Payloads of all channels are carried as an {@code int} key and a {@code long} value.
+ * </p>
+ * <p>
+ *     A channel either calls its listeners synchronously, in the firing thread, or queues payloads in a
+ *     bounded ring of primitive arrays, which is drained by a single thread taken from an {@link Executor}.
+ *     Firing into a full ring waits for the dispatching thread to make room for it. Payloads fired by
+ *     a thread which is interrupted while waiting are discarded.
+ * </p>
+ */
+public abstract class PrimitiveChannel {
+
+    private static final Listener[] NO_LISTENERS = new Listener[0];
+    private static final int DRAIN_BATCH_SIZE = 256;
+
+    private final Object mListenersLock;
+    private final PayloadQueue mQueue;
+    private volatile Listener[] mListeners;
+
+    PrimitiveChannel() {
+        mListenersLock = new Object();
+        mQueue = null;
+        mListeners = NO_LISTENERS;
+    }
+
+    PrimitiveChannel(Executor executor, int capacity) {
+        mListenersLock = new Object();
+        mQueue = new PayloadQueue(capacity);
+        mListeners = NO_LISTENERS;
+
+        executor.execute(new DrainTask());
+    }
+
+    /**
+     * @return amount of payloads fired but not yet dispatched. Always 0 for synchronous channels.
+     */
+    public int getPendingCount() {
+        return mQueue == null ? 0 : mQueue.size();
+    }
+
+    abstract void call(Listener listener, int key, long value);
+
+    RegisteredListener addListener(Listener listener) {
+        synchronized (mListenersLock) {
+            Listener[] listeners = Arrays.copyOf(mListeners, mListeners.length + 1);
+            listeners[listeners.length - 1] = listener;
+            mListeners = listeners;
+        }
+
+        return ()-> removeListener(listener);
+    }
+
+    void fire0(int key, long value) {
+        if (mQueue == null) {
+            for (Listener listener : mListeners) {
+                call(listener, key, value);
+            }
+            return;
+        }
+
+        try {
+            mQueue.put(key, value);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void removeListener(Listener listener) {
+        synchronized (mListenersLock) {
+            Listener[] listeners = mListeners;
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i] == listener) {
+                    Listener[] newListeners = new Listener[listeners.length - 1];
+                    System.arraycopy(listeners, 0, newListeners, 0, i);
+                    System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                    mListeners = newListeners;
+                    return;
+                }
+            }
+        }
+    }
+
+    private class DrainTask implements Runnable {
+
+        @Override
+        public void run() {
+            int[] keys = new int[DRAIN_BATCH_SIZE];
+            long[] values = new long[DRAIN_BATCH_SIZE];
+
+            try {
+                while (!Thread.interrupted()) {
+                    int count = mQueue.drainTo(keys, values, 1000);
+
+                    for (int i = 0; i < count; i++) {
+                        for (Listener listener : mListeners) {
+                            try {
+                                call(listener, keys[i], values[i]);
+                            } catch (RuntimeException e) {
+                                // ignore, to keep dispatching to other listeners
+                            }
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+            }
+        }
+    }
+}
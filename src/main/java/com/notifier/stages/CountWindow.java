@@ -0,0 +1,81 @@
+package com.notifier.stages;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+class CountWindow implements Operator {
+
+    private final Operator mDownstream;
+    private final int mCount;
+    private final boolean mSliding;
+    private final Function<? super List<Event>, ? extends Event> mReducer;
+    private final Deque<PendingCall> mWindow;
+
+    private boolean mClosed;
+
+    CountWindow(Operator downstream, int count, boolean sliding, Function<? super List<Event>, ? extends Event> reducer) {
+        mDownstream = downstream;
+        mCount = count;
+        mSliding = sliding;
+        mReducer = reducer;
+        mWindow = new ArrayDeque<>(count + 1);
+        mClosed = false;
+    }
+
+    @Override
+    public void accept(Event event, Listener listener, BiConsumer<Listener, Event> listenerCall) {
+        PendingCall call = new PendingCall(event, listener, listenerCall);
+        PendingCall evicted = null;
+        List<PendingCall> window = null;
+
+        synchronized (this) {
+            if (mClosed) {
+                evicted = call;
+            } else {
+                mWindow.addLast(call);
+                if (mWindow.size() > mCount) {
+                    evicted = mWindow.removeFirst();
+                }
+
+                if (mWindow.size() == mCount) {
+                    window = new ArrayList<>(mWindow);
+                    if (mSliding) {
+                        // events remain in the window, so they are retained again for the reduction
+                        for (PendingCall windowCall : window) {
+                            windowCall.retain();
+                        }
+                    } else {
+                        mWindow.clear();
+                    }
+                }
+            }
+        }
+
+        if (evicted != null) {
+            evicted.discard();
+        }
+        if (window != null) {
+            Windows.reduceAndPass(window, mReducer, mDownstream);
+        }
+    }
+
+    @Override
+    public void close() {
+        List<PendingCall> discarded;
+        synchronized (this) {
+            mClosed = true;
+            discarded = new ArrayList<>(mWindow);
+            mWindow.clear();
+        }
+
+        Windows.discardAll(discarded);
+        mDownstream.close();
+    }
+}
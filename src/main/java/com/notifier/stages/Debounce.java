@@ -0,0 +1,97 @@
+package com.notifier.stages;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.ScheduledFire;
+import com.notifier.TimingWheel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+class Debounce implements Operator {
+
+    private final Operator mDownstream;
+    private final TimingWheel mTimingWheel;
+    private final long mQuietNanos;
+
+    private PendingCall mPending;
+    private long mDeadlineNanos;
+    private ScheduledFire mScheduled;
+    private boolean mClosed;
+
+    Debounce(Operator downstream, TimingWheel timingWheel, long quietNanos) {
+        mDownstream = downstream;
+        mTimingWheel = timingWheel;
+        mQuietNanos = quietNanos;
+        mPending = null;
+        mScheduled = null;
+        mClosed = false;
+    }
+
+    @Override
+    public void accept(Event event, Listener listener, BiConsumer<Listener, Event> listenerCall) {
+        PendingCall pending = new PendingCall(event, listener, listenerCall);
+        PendingCall replaced;
+
+        synchronized (this) {
+            if (mClosed) {
+                replaced = pending;
+            } else {
+                replaced = mPending;
+                mPending = pending;
+                mDeadlineNanos = System.nanoTime() + mQuietNanos;
+
+                // a burst is followed by a single timer, which is moved on while the burst goes on
+                if (mScheduled == null) {
+                    mScheduled = mTimingWheel.schedule(this::onTimer, mQuietNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        if (replaced != null) {
+            replaced.discard();
+        }
+    }
+
+    @Override
+    public void close() {
+        PendingCall pending;
+        synchronized (this) {
+            mClosed = true;
+            if (mScheduled != null) {
+                mScheduled.cancel();
+                mScheduled = null;
+            }
+            pending = mPending;
+            mPending = null;
+        }
+
+        if (pending != null) {
+            pending.discard();
+        }
+        mDownstream.close();
+    }
+
+    private void onTimer() {
+        PendingCall pending;
+        synchronized (this) {
+            if (mClosed) {
+                return;
+            }
+
+            long remainingNanos = mDeadlineNanos - System.nanoTime();
+            if (remainingNanos > 0) {
+                mScheduled = mTimingWheel.schedule(this::onTimer, remainingNanos, TimeUnit.NANOSECONDS);
+                return;
+            }
+
+            mScheduled = null;
+            pending = mPending;
+            mPending = null;
+        }
+
+        if (pending != null) {
+            pending.passTo(mDownstream);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.notifier.stages;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+class DistinctUntilChanged implements Operator {
+
+    private final Operator mDownstream;
+    private final Function<? super Event, ?> mKeyFunction;
+
+    private boolean mPassedAny;
+    private Object mLastKey;
+
+    DistinctUntilChanged(Operator downstream, Function<? super Event, ?> keyFunction) {
+        mDownstream = downstream;
+        mKeyFunction = keyFunction;
+        mPassedAny = false;
+        mLastKey = null;
+    }
+
+    @Override
+    public void accept(Event event, Listener listener, BiConsumer<Listener, Event> listenerCall) {
+        Object key = mKeyFunction.apply(event);
+
+        synchronized (this) {
+            if (mPassedAny && Objects.equals(mLastKey, key)) {
+                return;
+            }
+
+            mPassedAny = true;
+            mLastKey = key;
+        }
+
+        mDownstream.accept(event, listener, listenerCall);
+    }
+
+    @Override
+    public void close() {
+        mDownstream.close();
+    }
+}
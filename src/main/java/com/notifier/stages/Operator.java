@@ -0,0 +1,28 @@
+package com.notifier.stages;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ *     The state of a {@link Stage} for a single registered listener. Receives the calls of the listener,
+ *     and passes them on to the next operator, possibly later, reduced or not at all.
+ * </p>
+ * <p>
+ *     Calls are received with the listener call of the fire which made them, so that events passed on
+ *     later are delivered the same way. Events which replace received events, such as reductions of windows,
+ *     must therefore be of the same type as the received events.
+ * </p>
+ */
+public interface Operator {
+
+    void accept(Event event, Listener listener, BiConsumer<Listener, Event> listenerCall);
+
+    /**
+     * Called once the listener is unregistered, to discard pending calls.
+     */
+    default void close() {
+    }
+}
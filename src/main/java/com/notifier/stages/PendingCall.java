@@ -0,0 +1,42 @@
+package com.notifier.stages;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.PooledEvent;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A call kept by an operator, to be passed on later. Pooled events are retained until the call is
+ * passed on or discarded.
+ */
+final class PendingCall {
+
+    final Event mEvent;
+    final Listener mListener;
+    final BiConsumer<Listener, Event> mListenerCall;
+
+    PendingCall(Event event, Listener listener, BiConsumer<Listener, Event> listenerCall) {
+        mEvent = event;
+        mListener = listener;
+        mListenerCall = listenerCall;
+
+        PooledEvent.retainIfPooled(event);
+    }
+
+    void passTo(Operator downstream) {
+        try {
+            downstream.accept(mEvent, mListener, mListenerCall);
+        } finally {
+            discard();
+        }
+    }
+
+    void retain() {
+        PooledEvent.retainIfPooled(mEvent);
+    }
+
+    void discard() {
+        PooledEvent.releaseIfPooled(mEvent);
+    }
+}
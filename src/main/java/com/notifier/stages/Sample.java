@@ -0,0 +1,89 @@
+package com.notifier.stages;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.ScheduledFire;
+import com.notifier.TimingWheel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+class Sample implements Operator {
+
+    private final Operator mDownstream;
+    private final TimingWheel mTimingWheel;
+    private final long mPeriodNanos;
+
+    private PendingCall mPending;
+    private ScheduledFire mScheduled;
+    private boolean mClosed;
+
+    Sample(Operator downstream, TimingWheel timingWheel, long periodNanos) {
+        mDownstream = downstream;
+        mTimingWheel = timingWheel;
+        mPeriodNanos = periodNanos;
+        mPending = null;
+        mScheduled = null;
+        mClosed = false;
+    }
+
+    @Override
+    public void accept(Event event, Listener listener, BiConsumer<Listener, Event> listenerCall) {
+        PendingCall pending = new PendingCall(event, listener, listenerCall);
+        PendingCall replaced;
+
+        synchronized (this) {
+            if (mClosed) {
+                replaced = pending;
+            } else {
+                replaced = mPending;
+                mPending = pending;
+
+                // periods start with their first event, so no timer runs while there are no events
+                if (mScheduled == null) {
+                    mScheduled = mTimingWheel.schedule(this::onTimer, mPeriodNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        if (replaced != null) {
+            replaced.discard();
+        }
+    }
+
+    @Override
+    public void close() {
+        PendingCall pending;
+        synchronized (this) {
+            mClosed = true;
+            if (mScheduled != null) {
+                mScheduled.cancel();
+                mScheduled = null;
+            }
+            pending = mPending;
+            mPending = null;
+        }
+
+        if (pending != null) {
+            pending.discard();
+        }
+        mDownstream.close();
+    }
+
+    private void onTimer() {
+        PendingCall pending;
+        synchronized (this) {
+            if (mClosed) {
+                return;
+            }
+
+            mScheduled = null;
+            pending = mPending;
+            mPending = null;
+        }
+
+        if (pending != null) {
+            pending.passTo(mDownstream);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.notifier.stages;
+
+import com.notifier.TimingWheel;
+
+/**
+ * <p>
+ *     An operator on the calls of a listener, applied when the listener is registered, such as
+ *     {@link Stages#debounce(long, java.util.concurrent.TimeUnit) debounce} or
+ *     {@link Stages#tumblingWindow(int, java.util.function.Function) windows}. See {@link Stages}.
+ * </p>
+ * <p>
+ *     Stages are only descriptions, and may be used for any amount of registrations. Each registration
+ *     {@link #open(Operator, TimingWheel) opens} operators of its own.
+ * </p>
+ */
+public interface Stage {
+
+    /**
+     * @param downstream operator to pass calls on to.
+     * @param timingWheel timing wheel for operators which pass calls on later. Such calls are made
+     *                    in the thread of the timing wheel.
+     *
+     * @return a new operator of this stage.
+     */
+    Operator open(Operator downstream, TimingWheel timingWheel);
+
+    /**
+     * @return a stage which passes calls through this stage, and then through the given stage.
+     */
+    default Stage then(Stage next) {
+        return (downstream, timingWheel)-> open(next.open(downstream, timingWheel), timingWheel);
+    }
+}
@@ -0,0 +1,136 @@
+package com.notifier.stages;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *     Factory methods for {@link Stage}s, which reduce the calls of a listener before they reach it.
+ *     Stages are given when registering the listener, with
+ *     {@link com.notifier.EventController#registerListener(com.notifier.Listener, Stage)}, and may be
+ *     chained with {@link Stage#then(Stage)}.
+ * </p>
+ * <p>
+ *     Time based stages pass calls on from the thread of the {@link com.notifier.TimingWheel} of the controller,
+ *     so such listeners should be short. Stages which keep events for later retain
+ *     {@link com.notifier.PooledEvent pooled events} until they are passed on or discarded.
+ * </p>
+ */
+public class Stages {
+
+    private Stages() {}
+
+    /**
+     * @return a stage which passes on the last event of each burst, once no events were received for the
+     *      given quiet period.
+     */
+    public static Stage debounce(long quietPeriod, TimeUnit unit) {
+        long quietNanos = positiveNanos(quietPeriod, unit);
+        return (downstream, timingWheel)-> new Debounce(downstream, timingWheel, quietNanos);
+    }
+
+    /**
+     * @return a stage which passes on an event, and drops the events which follow it during the given interval.
+     */
+    public static Stage throttle(long interval, TimeUnit unit) {
+        long intervalNanos = positiveNanos(interval, unit);
+        return (downstream, timingWheel)-> new Throttle(downstream, intervalNanos);
+    }
+
+    /**
+     * @return a stage which passes on the latest event once per period, for periods in which events were received.
+     */
+    public static Stage sample(long period, TimeUnit unit) {
+        long periodNanos = positiveNanos(period, unit);
+        return (downstream, timingWheel)-> new Sample(downstream, timingWheel, periodNanos);
+    }
+
+    /**
+     * @return a stage which drops events equal to the event passed before them. The last event is kept for
+     *      comparison, so it should not be used with pooled events, which are reused once released.
+     */
+    public static Stage distinctUntilChanged() {
+        return distinctUntilChanged(Function.identity());
+    }
+
+    /**
+     * @return a stage which drops events whose key is equal to the key of the event passed before them.
+     */
+    public static Stage distinctUntilChanged(Function<? super Event, ?> keyFunction) {
+        return (downstream, timingWheel)-> new DistinctUntilChanged(downstream, keyFunction);
+    }
+
+    /**
+     * @return a stage which collects events into consecutive windows of the given size, and passes on
+     *      the reduction of each full window. Reductions which are <code>null</code> are dropped.
+     */
+    public static Stage tumblingWindow(int count, Function<? super List<Event>, ? extends Event> reducer) {
+        checkCount(count);
+        return (downstream, timingWheel)-> new CountWindow(downstream, count, false, reducer);
+    }
+
+    /**
+     * @return a stage which passes on, for every event starting from the given count, the reduction of
+     *      the last count events. Reductions which are <code>null</code> are dropped.
+     */
+    public static Stage slidingWindow(int count, Function<? super List<Event>, ? extends Event> reducer) {
+        checkCount(count);
+        return (downstream, timingWheel)-> new CountWindow(downstream, count, true, reducer);
+    }
+
+    /**
+     * @return a stage which collects events into windows of the given duration, starting with the first event
+     *      of each window, and passes on the reduction of each window once it ends. Reductions which are
+     *      <code>null</code> are dropped.
+     */
+    public static Stage tumblingWindow(long duration, TimeUnit unit, Function<? super List<Event>, ? extends Event> reducer) {
+        long durationNanos = positiveNanos(duration, unit);
+        return (downstream, timingWheel)-> new TimeWindow(downstream, timingWheel, durationNanos, false, reducer);
+    }
+
+    /**
+     * @return a stage which passes on, for every event, the reduction of the events received within
+     *      the given duration before it. Reductions which are <code>null</code> are dropped.
+     */
+    public static Stage slidingWindow(long duration, TimeUnit unit, Function<? super List<Event>, ? extends Event> reducer) {
+        long durationNanos = positiveNanos(duration, unit);
+        return (downstream, timingWheel)-> new TimeWindow(downstream, timingWheel, durationNanos, true, reducer);
+    }
+
+    /**
+     * @return the operator which ends each chain of operators, and calls the listener.
+     */
+    public static Operator deliver() {
+        return Deliver.INSTANCE;
+    }
+
+    private static long positiveNanos(long duration, TimeUnit unit) {
+        long nanos = unit.toNanos(duration);
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("duration must be positive");
+        }
+
+        return nanos;
+    }
+
+    private static void checkCount(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+    }
+
+    private static class Deliver implements Operator {
+
+        private static final Deliver INSTANCE = new Deliver();
+
+        @Override
+        public void accept(Event event, Listener listener, BiConsumer<Listener, Event> listenerCall) {
+            listenerCall.accept(listener, event);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.notifier.stages;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+
+import java.util.function.BiConsumer;
+
+class Throttle implements Operator {
+
+    private final Operator mDownstream;
+    private final long mIntervalNanos;
+
+    private boolean mPassedAny;
+    private long mLastPassedNanos;
+
+    Throttle(Operator downstream, long intervalNanos) {
+        mDownstream = downstream;
+        mIntervalNanos = intervalNanos;
+        mPassedAny = false;
+    }
+
+    @Override
+    public void accept(Event event, Listener listener, BiConsumer<Listener, Event> listenerCall) {
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            if (mPassedAny && now - mLastPassedNanos < mIntervalNanos) {
+                return;
+            }
+
+            mPassedAny = true;
+            mLastPassedNanos = now;
+        }
+
+        mDownstream.accept(event, listener, listenerCall);
+    }
+
+    @Override
+    public void close() {
+        mDownstream.close();
+    }
+}
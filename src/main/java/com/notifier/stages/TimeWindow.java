@@ -0,0 +1,129 @@
+package com.notifier.stages;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.ScheduledFire;
+import com.notifier.TimingWheel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+class TimeWindow implements Operator {
+
+    private final Operator mDownstream;
+    private final TimingWheel mTimingWheel;
+    private final long mDurationNanos;
+    private final boolean mSliding;
+    private final Function<? super List<Event>, ? extends Event> mReducer;
+    private final Deque<TimedCall> mWindow;
+
+    private ScheduledFire mScheduled;
+    private boolean mClosed;
+
+    TimeWindow(Operator downstream, TimingWheel timingWheel, long durationNanos, boolean sliding,
+               Function<? super List<Event>, ? extends Event> reducer) {
+        mDownstream = downstream;
+        mTimingWheel = timingWheel;
+        mDurationNanos = durationNanos;
+        mSliding = sliding;
+        mReducer = reducer;
+        mWindow = new ArrayDeque<>();
+        mScheduled = null;
+        mClosed = false;
+    }
+
+    @Override
+    public void accept(Event event, Listener listener, BiConsumer<Listener, Event> listenerCall) {
+        PendingCall call = new PendingCall(event, listener, listenerCall);
+        long now = System.nanoTime();
+        List<PendingCall> discarded = new ArrayList<>();
+        List<PendingCall> window = null;
+
+        synchronized (this) {
+            if (mClosed) {
+                discarded.add(call);
+            } else if (mSliding) {
+                mWindow.addLast(new TimedCall(call, now));
+                while (now - mWindow.peekFirst().mNanos >= mDurationNanos) {
+                    discarded.add(mWindow.removeFirst().mCall);
+                }
+
+                window = new ArrayList<>(mWindow.size());
+                for (TimedCall timedCall : mWindow) {
+                    // events remain in the window, so they are retained again for the reduction
+                    timedCall.mCall.retain();
+                    window.add(timedCall.mCall);
+                }
+            } else {
+                mWindow.addLast(new TimedCall(call, now));
+                if (mScheduled == null) {
+                    mScheduled = mTimingWheel.schedule(this::onTimer, mDurationNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        Windows.discardAll(discarded);
+        if (window != null) {
+            Windows.reduceAndPass(window, mReducer, mDownstream);
+        }
+    }
+
+    @Override
+    public void close() {
+        List<PendingCall> discarded;
+        synchronized (this) {
+            mClosed = true;
+            if (mScheduled != null) {
+                mScheduled.cancel();
+                mScheduled = null;
+            }
+            discarded = takeWindow();
+        }
+
+        Windows.discardAll(discarded);
+        mDownstream.close();
+    }
+
+    private void onTimer() {
+        List<PendingCall> window;
+        synchronized (this) {
+            if (mClosed) {
+                return;
+            }
+
+            mScheduled = null;
+            window = takeWindow();
+        }
+
+        if (!window.isEmpty()) {
+            Windows.reduceAndPass(window, mReducer, mDownstream);
+        }
+    }
+
+    private List<PendingCall> takeWindow() {
+        // lock must be held
+        List<PendingCall> window = new ArrayList<>(mWindow.size());
+        for (TimedCall timedCall : mWindow) {
+            window.add(timedCall.mCall);
+        }
+        mWindow.clear();
+
+        return window;
+    }
+
+    private static class TimedCall {
+
+        private final PendingCall mCall;
+        private final long mNanos;
+
+        private TimedCall(PendingCall call, long nanos) {
+            mCall = call;
+            mNanos = nanos;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.notifier.stages;
+
+import com.notifier.Event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+final class Windows {
+
+    private Windows() {}
+
+    /**
+     * Passes on the reduction of the given window, through the listener call of its last event.
+     * The calls of the window are discarded after.
+     */
+    static void reduceAndPass(List<PendingCall> window, Function<? super List<Event>, ? extends Event> reducer,
+                              Operator downstream) {
+        try {
+            List<Event> events = new ArrayList<>(window.size());
+            for (PendingCall call : window) {
+                events.add(call.mEvent);
+            }
+
+            Event reduced = reducer.apply(Collections.unmodifiableList(events));
+            if (reduced != null) {
+                PendingCall last = window.get(window.size() - 1);
+                downstream.accept(reduced, last.mListener, last.mListenerCall);
+            }
+        } finally {
+            discardAll(window);
+        }
+    }
+
+    static void discardAll(List<PendingCall> calls) {
+        for (PendingCall call : calls) {
+            call.discard();
+        }
+    }
+}
@@ -11,13 +11,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -40,6 +45,26 @@ public class DispatchingControllerTest {
         assertThat(listeners, contains(LISTENER));
     }
 
+    @Test
+    public void register_withPriority_storesListenerOrderedByPriority() throws Exception {
+        final Listener LOW_LISTENER = mock(Listener.class);
+        final Listener NORMAL_LISTENER = mock(Listener.class);
+        final Listener HIGH_LISTENER = mock(Listener.class);
+
+        Collection<Listener> listeners = new ArrayList<>();
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+
+        DispatchingController dispatchingController = new DispatchingController(eventDispatcher, listeners);
+        dispatchingController.registerListener(LOW_LISTENER, Priority.LOW);
+        dispatchingController.registerListener(NORMAL_LISTENER);
+        dispatchingController.registerListener(HIGH_LISTENER, Priority.HIGH);
+
+        assertThat(listeners, contains(
+                new PredicatedListenerMatcher(HIGH_LISTENER),
+                equalTo(NORMAL_LISTENER),
+                new PredicatedListenerMatcher(LOW_LISTENER)));
+    }
+
     @Test
     public void unregister_forRegisterListener_removesListener() throws Exception {
         final Listener LISTENER = mock(Listener.class);
@@ -142,6 +167,190 @@ public class DispatchingControllerTest {
         verify(listener, never()).call(eq(event));
     }
 
+    @Test
+    public void fireAfter_forListener_callsListenerAfterDelay() throws Exception {
+        FakeListener listener = mock(FakeListener.class);
+        Event event = mock(Event.class);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Collection<Listener> listeners = new ArrayList<>(Collections.singleton(listener));
+        EventDispatcher eventDispatcher = new FakeDispatching();
+
+        DispatchingController dispatchingController = new DispatchingController(eventDispatcher, listeners);
+        dispatchingController.fireAfter(event, Event.class, FakeListener.class, (l, e)-> {
+            l.call(e);
+            latch.countDown();
+        }, 10, TimeUnit.MILLISECONDS);
+
+        latch.await(1, TimeUnit.MINUTES);
+        verify(listener, times(1)).call(eq(event));
+    }
+
+    @Test
+    public void fire_forWeakListener_callsListener() throws Exception {
+        FakeListener listener = mock(FakeListener.class);
+        Event event = mock(Event.class);
+
+        Collection<Listener> listeners = new ArrayList<>();
+        EventDispatcher eventDispatcher = new FakeDispatching();
+
+        DispatchingController dispatchingController = new DispatchingController(eventDispatcher, listeners);
+        dispatchingController.registerWeakListener(listener);
+        dispatchingController.fire(event, Event.class, FakeListener.class, FakeListener::call);
+
+        verify(listener, times(1)).call(eq(event));
+    }
+
+    @Test
+    public void fire_forWeakPredicatedListenerWithWrongEvent_doesNotCallListener() throws Exception {
+        FakeListener listener = mock(FakeListener.class);
+        Event event = mock(Event.class);
+
+        Collection<Listener> listeners = new ArrayList<>();
+        EventDispatcher eventDispatcher = new FakeDispatching();
+
+        DispatchingController dispatchingController = new DispatchingController(eventDispatcher, listeners);
+        dispatchingController.registerWeakListener(listener, (e)->false);
+        dispatchingController.fire(event, Event.class, FakeListener.class, FakeListener::call);
+
+        verify(listener, never()).call(eq(event));
+    }
+
+    @Test
+    public void registerWeakListener_listenerCollected_removesListener() throws Exception {
+        Collection<Listener> listeners = new CopyOnWriteArrayList<>();
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+
+        DispatchingController dispatchingController = new DispatchingController(eventDispatcher, listeners);
+        dispatchingController.registerWeakListener(new Listener() {});
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(30);
+        while (!listeners.isEmpty() && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(listeners, hasSize(0));
+    }
+
+    @Test
+    public void registerSubscriber_forSubscriber_storesSubscriber() throws Exception {
+        final FakeSubscriber SUBSCRIBER = new FakeSubscriber();
+
+        Collection<Listener> listeners = new ArrayList<>();
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+
+        DispatchingController dispatchingController = new DispatchingController(eventDispatcher, listeners);
+        RegisteredListener registeredListener = dispatchingController.registerSubscriber(SUBSCRIBER);
+
+        assertThat(listeners, hasSize(1));
+        registeredListener.unregister();
+        assertThat(listeners, hasSize(0));
+    }
+
+    @Test
+    public void registerSubscriber_withoutSubscribeMethods_throwsIllegalArgumentException() throws Exception {
+        Collection<Listener> listeners = new ArrayList<>();
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+
+        DispatchingController dispatchingController = new DispatchingController(eventDispatcher, listeners);
+
+        assertThrows(IllegalArgumentException.class, ()-> dispatchingController.registerSubscriber(mock(Listener.class)));
+    }
+
+    @Test
+    public void fire_forSubscriberOfEvent_callsSubscribeMethod() throws Exception {
+        FakeSubscriber subscriber = new FakeSubscriber();
+        Event event = mock(Event.class);
+
+        Collection<Listener> listeners = new ArrayList<>();
+        EventDispatcher eventDispatcher = new FakeDispatching();
+
+        DispatchingController dispatchingController = new DispatchingController(eventDispatcher, listeners);
+        dispatchingController.registerSubscriber(subscriber);
+        dispatchingController.fire(event, Event.class);
+
+        assertThat(subscriber.mEvents, contains(event));
+    }
+
+    @Test
+    public void fire_forNonPublicSubscriberOfEvent_callsSubscribeMethod() throws Exception {
+        PrivateFakeSubscriber subscriber = new PrivateFakeSubscriber();
+        Event event = mock(Event.class);
+
+        Collection<Listener> listeners = new ArrayList<>();
+        EventDispatcher eventDispatcher = new FakeDispatching();
+
+        DispatchingController dispatchingController = new DispatchingController(eventDispatcher, listeners);
+        dispatchingController.registerSubscriber(subscriber);
+        dispatchingController.fire(event, Event.class);
+
+        assertThat(subscriber.mEvents, contains(event));
+    }
+
+    @Test
+    public void fire_forSubscriberOfOtherEvent_doesNotCallSubscribeMethod() throws Exception {
+        FakeSubscriber subscriber = new FakeSubscriber();
+        OtherEvent event = new OtherEvent();
+
+        Collection<Listener> listeners = new ArrayList<>();
+        EventDispatcher eventDispatcher = new FakeDispatching();
+
+        DispatchingController dispatchingController = new DispatchingController(eventDispatcher, listeners);
+        dispatchingController.registerSubscriber(subscriber);
+        dispatchingController.fire(event, OtherEvent.class);
+
+        assertThat(subscriber.mEvents, contains(event));
+        assertThat(subscriber.mFakeEvents, hasSize(0));
+    }
+
+    @Test
+    public void fire_withListenerCallForSubscriber_doesNotCallSubscribeMethod() throws Exception {
+        FakeSubscriber subscriber = new FakeSubscriber();
+        Event event = mock(Event.class);
+
+        Collection<Listener> listeners = new ArrayList<>();
+        EventDispatcher eventDispatcher = new FakeDispatching();
+
+        DispatchingController dispatchingController = new DispatchingController(eventDispatcher, listeners);
+        dispatchingController.registerSubscriber(subscriber);
+        dispatchingController.fire(event, Event.class, FakeListener.class, FakeListener::call);
+
+        assertThat(subscriber.mEvents, hasSize(0));
+    }
+
+    public static class FakeEvent implements Event {
+    }
+
+    public static class OtherEvent implements Event {
+    }
+
+    public static class FakeSubscriber implements Listener {
+
+        final Collection<Event> mEvents = new ArrayList<>();
+        final Collection<Event> mFakeEvents = new ArrayList<>();
+
+        @Subscribe
+        public void onEvent(Event event) {
+            mEvents.add(event);
+        }
+
+        @Subscribe
+        public void onFakeEvent(FakeEvent event) {
+            mFakeEvents.add(event);
+        }
+    }
+
+    private static class PrivateFakeSubscriber implements Listener {
+
+        final Collection<Event> mEvents = new ArrayList<>();
+
+        @Subscribe
+        void onEvent(Event event) {
+            mEvents.add(event);
+        }
+    }
+
     private interface FakeListener extends Listener {
         void call(Event event);
     }
@@ -0,0 +1,135 @@
+package com.notifier;
+
+import com.notifier.codec.EventCodec;
+import com.notifier.journal.DurableEventQueue;
+import com.notifier.journal.FsyncPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class DurableControllerTest {
+
+    @TempDir
+    Path mDirectory;
+
+    @Test
+    public void start_withEventsFromPreviousRun_passesToSubscribersOnce() throws Exception {
+        try (DurableEventQueue queue = newQueue()) {
+            for (int i = 0; i < 5; i++) {
+                queue.add(new ValueEvent(i));
+            }
+        }
+
+        try (DurableEventQueue queue = newQueue()) {
+            DurableController controller = Controllers.newDurableSingleThreadController(queue);
+            ValueSubscriber subscriber = new ValueSubscriber(6);
+            controller.registerSubscriber(subscriber);
+            controller.start();
+
+            controller.fire(new ValueEvent(5), ValueEvent.class);
+
+            assertThat(subscriber.mDelivered.await(5, TimeUnit.SECONDS), is(true));
+            Thread.sleep(50);
+            assertThat(subscriber.mValues, contains(0, 1, 2, 3, 4, 5));
+            assertThat(queue.size(), equalTo(0L));
+            assertThat(queue.getReadSequence(), equalTo(6L));
+        }
+    }
+
+    @Test
+    public void newDurableSingleThreadController_notStarted_keepsEventsFromPreviousRun() throws Exception {
+        try (DurableEventQueue queue = newQueue()) {
+            queue.add(new ValueEvent(1));
+        }
+
+        try (DurableEventQueue queue = newQueue()) {
+            DurableController controller = Controllers.newDurableSingleThreadController(queue);
+            ValueSubscriber subscriber = new ValueSubscriber(1);
+            controller.registerSubscriber(subscriber);
+            Thread.sleep(50);
+
+            assertThat(subscriber.mValues.isEmpty(), is(true));
+            assertThat(queue.size(), equalTo(1L));
+        }
+    }
+
+    @Test
+    public void start_subscriberThrows_callsOtherSubscribers() throws Exception {
+        try (DurableEventQueue queue = newQueue()) {
+            queue.add(new ValueEvent(1));
+        }
+
+        try (DurableEventQueue queue = newQueue()) {
+            DurableController controller = Controllers.newDurableSingleThreadController(queue);
+            controller.registerSubscriber(new FailingSubscriber());
+            ValueSubscriber subscriber = new ValueSubscriber(1);
+            controller.registerSubscriber(subscriber);
+            controller.start();
+
+            assertThat(subscriber.mDelivered.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(subscriber.mValues, contains(1));
+        }
+    }
+
+    private DurableEventQueue newQueue() throws Exception {
+        return new DurableEventQueue(mDirectory, new ValueEventCodec(), 1024, FsyncPolicy.never());
+    }
+
+    public static class ValueSubscriber implements Listener {
+
+        private final List<Integer> mValues;
+        private final CountDownLatch mDelivered;
+
+        ValueSubscriber(int expectedCount) {
+            mValues = new CopyOnWriteArrayList<>();
+            mDelivered = new CountDownLatch(expectedCount);
+        }
+
+        @Subscribe
+        public void onValue(ValueEvent event) {
+            mValues.add(event.mValue);
+            mDelivered.countDown();
+        }
+    }
+
+    public static class FailingSubscriber implements Listener {
+
+        @Subscribe
+        public void onValue(ValueEvent event) {
+            throw new IllegalStateException();
+        }
+    }
+
+    public static class ValueEvent implements Event {
+
+        private final int mValue;
+
+        ValueEvent(int value) {
+            mValue = value;
+        }
+    }
+
+    private static class ValueEventCodec implements EventCodec {
+
+        @Override
+        public void encode(Event event, ByteBuffer buffer) {
+            buffer.putInt(((ValueEvent) event).mValue);
+        }
+
+        @Override
+        public Event decode(ByteBuffer buffer) {
+            return new ValueEvent(buffer.getInt());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.notifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EventControllerTest {
+
+    @Test
+    public void registerSubscriber_minimalController_receivesSubscriberFires() throws Exception {
+        EventController controller = new MinimalController();
+        FakeSubscriber subscriber = new FakeSubscriber();
+        controller.registerSubscriber(subscriber);
+
+        FakeEvent event = new FakeEvent();
+        controller.fire(event, FakeEvent.class);
+        controller.fire(new OtherEvent(), OtherEvent.class);
+
+        assertThat(subscriber.mCount, equalTo(1));
+    }
+
+    @Test
+    public void fireAt_minimalController_firesToListener() throws Exception {
+        EventController controller = new MinimalController();
+        CountDownLatch called = new CountDownLatch(1);
+        controller.registerListener((FakeListener) (e)-> called.countDown());
+
+        controller.fireAt(new FakeEvent(), FakeEvent.class, FakeListener.class, FakeListener::onEvent,
+                System.currentTimeMillis() + 10);
+
+        assertThat(called.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void registerListener_minimalControllerWithPriority_throwsUnsupportedOperationException() throws Exception {
+        EventController controller = new MinimalController();
+
+        assertThrows(UnsupportedOperationException.class,
+                ()-> controller.registerListener((FakeListener) (e)-> {}, Priority.HIGH));
+    }
+
+    public interface FakeListener extends Listener {
+
+        void onEvent(FakeEvent event);
+    }
+
+    public static class FakeSubscriber implements Listener {
+
+        private int mCount;
+
+        @Subscribe
+        public void onEvent(FakeEvent event) {
+            mCount++;
+        }
+    }
+
+    public static class FakeEvent implements Event {
+    }
+
+    public static class OtherEvent implements Event {
+    }
+
+    private static class MinimalController implements EventController {
+
+        private final List<Listener> mListeners = new ArrayList<>();
+
+        @Override
+        public RegisteredListener registerListener(Listener listener) {
+            mListeners.add(listener);
+            return ()-> mListeners.remove(listener);
+        }
+
+        @Override
+        public RegisteredListener registerListener(Listener listener, Predicate<Event> predicate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <E extends Event> RegisteredListener registerListenerForEvent(Listener listener, Class<E> eventType,
+                                                                             Predicate<? super E> predicate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <E extends Event, L extends Listener> void fire(E event, Class<E> eventType, Class<L> listenerType,
+                                                               BiConsumer<L, E> listenerCall) {
+            for (Listener listener : mListeners) {
+                if (listenerType.isInstance(listener)) {
+                    listenerCall.accept(listenerType.cast(listener), event);
+                }
+            }
+        }
+    }
+}
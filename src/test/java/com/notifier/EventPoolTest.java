@@ -0,0 +1,120 @@
+package com.notifier;
+
+import com.notifier.dispatchers.QueuedDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Queue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EventPoolTest {
+
+    @Test
+    public void acquire_afterRelease_reusesResetEvent() throws Exception {
+        EventPool<FakeEvent> pool = new EventPool<>(FakeEvent::new);
+
+        FakeEvent event = pool.acquire();
+        event.setValue(5);
+        event.release();
+        FakeEvent reacquired = pool.acquire();
+
+        assertThat(reacquired, sameInstance(event));
+        assertThat(reacquired.getValue(), equalTo(0));
+        assertThat(reacquired.getReferenceCount(), equalTo(1));
+        assertThat(pool.getCreatedCount(), equalTo(1L));
+    }
+
+    @Test
+    public void release_moreThanRetained_throwsIllegalStateException() throws Exception {
+        EventPool<FakeEvent> pool = new EventPool<>(FakeEvent::new);
+
+        FakeEvent event = pool.acquire();
+        event.release();
+
+        assertThrows(IllegalStateException.class, event::release);
+    }
+
+    @Test
+    public void retain_afterRelease_throwsIllegalStateException() throws Exception {
+        EventPool<FakeEvent> pool = new EventPool<>(FakeEvent::new);
+
+        FakeEvent event = pool.acquire();
+        event.release();
+
+        assertThrows(IllegalStateException.class, event::retain);
+    }
+
+    @Test
+    public void access_afterReleaseInDebugMode_throwsWithReleaseSite() throws Exception {
+        EventPool<FakeEvent> pool = new EventPool<>(FakeEvent::new, 16, true);
+
+        FakeEvent event = pool.acquire();
+        event.release();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, event::getValue);
+        assertThat(exception.getCause(), notNullValue());
+    }
+
+    @Test
+    public void dispatch_queuedDispatcher_returnsEventAfterAllCallsRan() throws Exception {
+        EventPool<FakeEvent> pool = new EventPool<>(FakeEvent::new);
+        Queue<Runnable> queue = new LinkedList<>();
+        int[] calls = new int[1];
+
+        DispatchingController controller = new DispatchingController(new QueuedDispatcher(queue));
+        for (int i = 0; i < 3; i++) {
+            controller.registerListener(new FakeListener() {});
+        }
+
+        FakeEvent event = pool.acquire();
+        event.setValue(7);
+        controller.fire(event, FakeEvent.class, FakeListener.class, (l, e)-> {
+            assertThat(e.getValue(), equalTo(7));
+            calls[0]++;
+        });
+        event.release();
+
+        assertThat(pool.getFreeCount(), equalTo(0));
+        assertThat(event.getReferenceCount(), equalTo(3));
+
+        for (Runnable runnable : Arrays.asList(queue.poll(), queue.poll())) {
+            runnable.run();
+        }
+        assertThat(pool.getFreeCount(), equalTo(0));
+
+        queue.poll().run();
+        assertThat(calls[0], equalTo(3));
+        assertThat(pool.getFreeCount(), equalTo(1));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    public interface FakeListener extends Listener {
+    }
+
+    private static class FakeEvent extends PooledEvent {
+
+        private int mValue;
+
+        int getValue() {
+            checkAccessible();
+            return mValue;
+        }
+
+        void setValue(int value) {
+            checkAccessible();
+            mValue = value;
+        }
+
+        @Override
+        protected void reset() {
+            mValue = 0;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.notifier;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ScopedControllerTest {
+
+    @Test
+    public void fire_toScope_reachesScopeListenersThenParentListeners() throws Exception {
+        DispatchingController root = (DispatchingController) Controllers.newSyncExecutionController();
+        ScopedController scope = root.newScope();
+        FakeListener rootListener = mock(FakeListener.class);
+        FakeListener scopeListener = mock(FakeListener.class);
+        root.registerListener(rootListener);
+        scope.registerListener(scopeListener);
+
+        FakeEvent event = new FakeEvent();
+        fire(scope, event);
+
+        InOrder inOrder = inOrder(scopeListener, rootListener);
+        inOrder.verify(scopeListener, times(1)).onEvent(event);
+        inOrder.verify(rootListener, times(1)).onEvent(event);
+    }
+
+    @Test
+    public void fire_toParent_doesNotReachScopeListeners() throws Exception {
+        DispatchingController root = (DispatchingController) Controllers.newSyncExecutionController();
+        ScopedController scope = root.newScope();
+        FakeListener scopeListener = mock(FakeListener.class);
+        scope.registerListener(scopeListener);
+
+        fire(root, new FakeEvent());
+
+        verify(scopeListener, never()).onEvent(new FakeEvent());
+    }
+
+    @Test
+    public void fire_toNestedScope_bubblesThroughAllAncestorsOnce() throws Exception {
+        DispatchingController root = (DispatchingController) Controllers.newSyncExecutionController();
+        ScopedController scope = root.newScope();
+        ScopedController nested = scope.newScope();
+        ScopedController sibling = root.newScope();
+        FakeListener rootListener = mock(FakeListener.class);
+        FakeListener scopeListener = mock(FakeListener.class);
+        FakeListener nestedListener = mock(FakeListener.class);
+        FakeListener siblingListener = mock(FakeListener.class);
+        root.registerListener(rootListener);
+        scope.registerListener(scopeListener);
+        nested.registerListener(nestedListener);
+        sibling.registerListener(siblingListener);
+
+        FakeEvent event = new FakeEvent();
+        fire(nested, event);
+
+        verify(nestedListener, times(1)).onEvent(event);
+        verify(scopeListener, times(1)).onEvent(event);
+        verify(rootListener, times(1)).onEvent(event);
+        verify(siblingListener, never()).onEvent(event);
+    }
+
+    @Test
+    public void fire_toScopeForSubscribers_reachesParentSubscribers() throws Exception {
+        DispatchingController root = (DispatchingController) Controllers.newSyncExecutionController();
+        ScopedController scope = root.newScope();
+        FakeSubscriber subscriber = new FakeSubscriber();
+        root.registerSubscriber(subscriber);
+
+        FakeEvent event = new FakeEvent();
+        scope.fire(event, FakeEvent.class);
+
+        verify(subscriber.mListener, times(1)).onEvent(event);
+    }
+
+    @Test
+    public void fire_toScope_callsHigherPriorityParentListenersFirst() throws Exception {
+        DispatchingController root = (DispatchingController) Controllers.newSyncExecutionController();
+        ScopedController scope = root.newScope();
+        FakeListener rootListener = mock(FakeListener.class);
+        FakeListener scopeListener = mock(FakeListener.class);
+        root.registerListener(rootListener, Priority.HIGH);
+        scope.registerListener(scopeListener);
+
+        FakeEvent event = new FakeEvent();
+        fire(scope, event);
+
+        InOrder inOrder = inOrder(rootListener, scopeListener);
+        inOrder.verify(rootListener, times(1)).onEvent(event);
+        inOrder.verify(scopeListener, times(1)).onEvent(event);
+    }
+
+    @Test
+    public void fire_toNestedScope_dispatchesOnce() throws Exception {
+        List<Collection<Listener>> dispatched = new ArrayList<>();
+        DispatchingController root = new DispatchingController((listeners, filter, event, call)-> {
+            dispatched.add(new ArrayList<>(listeners));
+            listeners.stream().filter(filter).forEach((l)-> call.accept(l, event));
+        });
+        ScopedController scope = root.newScope();
+        ScopedController nested = scope.newScope();
+        FakeListener rootListener = mock(FakeListener.class);
+        FakeListener nestedListener = mock(FakeListener.class);
+        root.registerListener(rootListener);
+        nested.registerListener(nestedListener);
+
+        fire(nested, new FakeEvent());
+
+        assertThat(dispatched, hasSize(1));
+        assertThat(dispatched.get(0), contains((Listener) nestedListener, rootListener));
+    }
+
+    @Test
+    public void close_scopeWithListeners_unregistersThem() throws Exception {
+        DispatchingController root = (DispatchingController) Controllers.newSyncExecutionController();
+        ScopedController scope = root.newScope();
+        FakeListener scopeListener = mock(FakeListener.class);
+        scope.registerListener(scopeListener);
+
+        scope.close();
+        FakeEvent event = new FakeEvent();
+        fire(scope, event);
+
+        verify(scopeListener, never()).onEvent(event);
+    }
+
+    private static void fire(EventController controller, FakeEvent event) {
+        controller.fire(event, FakeEvent.class, FakeListener.class, FakeListener::onEvent);
+    }
+
+    public interface FakeListener extends Listener {
+
+        void onEvent(FakeEvent event);
+    }
+
+    public static class FakeSubscriber implements Listener {
+
+        private final FakeListener mListener = mock(FakeListener.class);
+
+        @Subscribe
+        public void onEvent(FakeEvent event) {
+            mListener.onEvent(event);
+        }
+    }
+
+    public static class FakeEvent implements Event {
+    }
+}
@@ -0,0 +1,101 @@
+package com.notifier;
+
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class SpecializingControllerTest {
+
+    @Test
+    public void fire_forRegisteredListener_callsListener() throws Exception {
+        FakeListener listener = mock(FakeListener.class);
+        Event event = mock(Event.class);
+
+        SpecializingController controller = new SpecializingController();
+        controller.registerListener(listener);
+        controller.fire(event, Event.class, FakeListener.class, FakeListener::call);
+
+        verify(listener, times(1)).call(eq(event));
+    }
+
+    @Test
+    public void fire_forListenerOfOtherType_doesNotCallListener() throws Exception {
+        OtherListener listener = mock(OtherListener.class);
+        Event event = mock(Event.class);
+
+        SpecializingController controller = new SpecializingController();
+        controller.registerListener(listener);
+        controller.fire(event, Event.class, FakeListener.class, FakeListener::call);
+
+        verify(listener, never()).call(eq(event));
+    }
+
+    @Test
+    public void fire_forPredicatedListeners_callsOnlyThoseMatchingPredicate() throws Exception {
+        FakeListener calledListener = mock(FakeListener.class);
+        FakeListener notCalledListener = mock(FakeListener.class);
+        Event event = mock(Event.class);
+
+        SpecializingController controller = new SpecializingController();
+        controller.registerListener(calledListener, (e)->true);
+        controller.registerListener(notCalledListener, (e)->false);
+        controller.fire(event, Event.class, FakeListener.class, FakeListener::call);
+
+        verify(calledListener, times(1)).call(eq(event));
+        verify(notCalledListener, never()).call(eq(event));
+    }
+
+    @Test
+    public void fire_forWeakListener_callsListener() throws Exception {
+        FakeListener listener = mock(FakeListener.class);
+        Event event = mock(Event.class);
+
+        SpecializingController controller = new SpecializingController();
+        controller.registerWeakListener(listener);
+        controller.fire(event, Event.class, FakeListener.class, FakeListener::call);
+
+        verify(listener, times(1)).call(eq(event));
+    }
+
+    @Test
+    public void fire_afterListenerRegistered_callsNewListener() throws Exception {
+        FakeListener listener = mock(FakeListener.class);
+        FakeListener newListener = mock(FakeListener.class);
+        Event event = mock(Event.class);
+
+        SpecializingController controller = new SpecializingController();
+        controller.registerListener(listener);
+        controller.fire(event, Event.class, FakeListener.class, FakeListener::call);
+        controller.registerListener(newListener);
+        controller.fire(event, Event.class, FakeListener.class, FakeListener::call);
+
+        verify(listener, times(2)).call(eq(event));
+        verify(newListener, times(1)).call(eq(event));
+    }
+
+    @Test
+    public void fire_afterListenerUnregistered_doesNotCallListener() throws Exception {
+        FakeListener listener = mock(FakeListener.class);
+        Event event = mock(Event.class);
+
+        SpecializingController controller = new SpecializingController();
+        RegisteredListener registeredListener = controller.registerListener(listener);
+        controller.fire(event, Event.class, FakeListener.class, FakeListener::call);
+        registeredListener.unregister();
+        controller.fire(event, Event.class, FakeListener.class, FakeListener::call);
+
+        verify(listener, times(1)).call(eq(event));
+    }
+
+    public interface FakeListener extends Listener {
+        void call(Event event);
+    }
+
+    public interface OtherListener extends Listener {
+        void call(Event event);
+    }
+}
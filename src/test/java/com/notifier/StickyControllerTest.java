@@ -0,0 +1,242 @@
+package com.notifier;
+
+import com.notifier.dispatchers.SyncrounousDispatcher;
+import com.notifier.stages.Stages;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class StickyControllerTest {
+
+    @Test
+    public void registerListenerForEvent_stickyEventFiredBefore_deliversLastEvent() throws Exception {
+        StickyController controller = new StickyController(Controllers.newSyncExecutionController(), 16);
+        controller.stick(StatusEvent.class);
+        StatusEvent first = new StatusEvent("a", 1);
+        StatusEvent last = new StatusEvent("a", 2);
+        fire(controller, first);
+        fire(controller, last);
+
+        StatusListener listener = mock(StatusListener.class);
+        controller.registerListenerForEvent(listener, StatusEvent.class);
+
+        verify(listener, never()).onStatus(first);
+        verify(listener, times(1)).onStatus(last);
+    }
+
+    @Test
+    public void registerListener_predicateRejectsEvent_doesNotDeliver() throws Exception {
+        StickyController controller = new StickyController(Controllers.newSyncExecutionController(), 16);
+        controller.stick(StatusEvent.class);
+        fire(controller, new StatusEvent("a", 1));
+
+        StatusListener listener = mock(StatusListener.class);
+        controller.registerListener(listener, (e)-> false);
+
+        verify(listener, never()).onStatus(any());
+    }
+
+    @Test
+    public void registerListener_eventTypeNotSticky_doesNotDeliver() throws Exception {
+        StickyController controller = new StickyController(Controllers.newSyncExecutionController(), 16);
+        fire(controller, new StatusEvent("a", 1));
+
+        StatusListener listener = mock(StatusListener.class);
+        controller.registerListener(listener);
+
+        verify(listener, never()).onStatus(any());
+    }
+
+    @Test
+    public void registerListener_stickyPerKey_deliversLastEventOfEachKey() throws Exception {
+        StickyController controller = new StickyController(Controllers.newSyncExecutionController(), 16);
+        controller.stick(StatusEvent.class, (e)-> e.mSource);
+        StatusEvent a = new StatusEvent("a", 2);
+        StatusEvent b = new StatusEvent("b", 1);
+        fire(controller, new StatusEvent("a", 1));
+        fire(controller, a);
+        fire(controller, b);
+
+        StatusListener listener = mock(StatusListener.class);
+        controller.registerListener(listener);
+
+        verify(listener, times(1)).onStatus(a);
+        verify(listener, times(1)).onStatus(b);
+        verify(listener, times(2)).onStatus(any());
+    }
+
+    @Test
+    public void fire_moreKeysThanMaxEntries_evictsLeastRecentlyFired() throws Exception {
+        StickyController controller = new StickyController(Controllers.newSyncExecutionController(), 2);
+        controller.stick(StatusEvent.class, (e)-> e.mSource);
+        StatusEvent a = new StatusEvent("a", 1);
+        StatusEvent b = new StatusEvent("b", 1);
+        StatusEvent c = new StatusEvent("c", 1);
+        fire(controller, a);
+        fire(controller, b);
+        fire(controller, a);
+        fire(controller, c);
+
+        StatusListener listener = mock(StatusListener.class);
+        controller.registerListener(listener);
+
+        verify(listener, never()).onStatus(b);
+        assertThat(controller.getStickyCount(), equalTo(2));
+        assertThat(controller.getEvictedCount(), equalTo(1L));
+    }
+
+    @Test
+    public void registerSubscriber_stickyEventFiredToSubscribers_deliversLastEvent() throws Exception {
+        StickyController controller = new StickyController(Controllers.newSyncExecutionController(), 16);
+        controller.stick(StatusEvent.class);
+        StatusEvent event = new StatusEvent("a", 1);
+        controller.fire(event, StatusEvent.class);
+
+        StatusSubscriber subscriber = new StatusSubscriber();
+        controller.registerSubscriber(subscriber);
+
+        assertThat(subscriber.mReceived, equalTo(event));
+    }
+
+    @Test
+    public void unstick_keptEvents_discardsThem() throws Exception {
+        StickyController controller = new StickyController(Controllers.newSyncExecutionController(), 16);
+        controller.stick(StatusEvent.class);
+        fire(controller, new StatusEvent("a", 1));
+        controller.unstick(StatusEvent.class);
+
+        StatusListener listener = mock(StatusListener.class);
+        controller.registerListener(listener);
+
+        verify(listener, never()).onStatus(any());
+        assertThat(controller.getStickyCount(), equalTo(0));
+    }
+
+    @Test
+    public void registerListener_newerEventFiredWhileReplaying_doesNotDeliverOlderEventAfter() throws Exception {
+        StickyController controller = new StickyController(Controllers.newSyncExecutionController(), 16);
+        controller.stick(StatusEvent.class);
+        StatusEvent older = new StatusEvent("a", 1);
+        StatusEvent newer = new StatusEvent("a", 2);
+        fire(controller, older);
+
+        List<StatusEvent> received = new ArrayList<>();
+        boolean[] firedNewer = new boolean[1];
+        controller.registerListener((StatusListener) received::add, (e)-> {
+            // fired between the snapshot of kept events and their replay
+            if (!firedNewer[0]) {
+                firedNewer[0] = true;
+                fire(controller, newer);
+            }
+            return true;
+        });
+
+        assertThat(received, contains(newer));
+    }
+
+    @Test
+    public void fireAfter_pooledEventReleasedByCaller_keepsEventUntilFired() throws Exception {
+        StickyController controller = new StickyController(Controllers.newSyncExecutionController(), 16);
+        controller.stick(PooledStatusEvent.class);
+        CountDownLatch called = new CountDownLatch(1);
+        int[] referenceCount = new int[1];
+        controller.registerListener((PooledStatusListener) (e)-> {
+            referenceCount[0] = e.getReferenceCount();
+            called.countDown();
+        });
+
+        PooledStatusEvent event = new PooledStatusEvent();
+        controller.fireAfter(event, PooledStatusEvent.class, PooledStatusListener.class,
+                PooledStatusListener::onStatus, 10, TimeUnit.MILLISECONDS);
+        event.release();
+
+        assertThat(called.await(5, TimeUnit.SECONDS), is(true));
+        // held by the scheduled fire, and by the kept event
+        assertThat(referenceCount[0], equalTo(2));
+    }
+
+    @Test
+    public void registerListener_withStage_replaysThroughStage() throws Exception {
+        StickyController controller = new StickyController(Controllers.newSyncExecutionController(), 16);
+        controller.stick(StatusEvent.class);
+        StatusEvent kept = new StatusEvent("a", 1);
+        fire(controller, kept);
+
+        StatusListener listener = mock(StatusListener.class);
+        controller.registerListener(listener, Stages.throttle(1, TimeUnit.MINUTES));
+        StatusEvent throttled = new StatusEvent("a", 2);
+        fire(controller, throttled);
+
+        verify(listener, times(1)).onStatus(kept);
+        verify(listener, never()).onStatus(throttled);
+    }
+
+    @Test
+    public void fireAfter_wrappedControllerWithTimingWheel_schedulesOnIt() throws Exception {
+        TimingWheel timingWheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+        StickyController controller = new StickyController(
+                new DispatchingController(new SyncrounousDispatcher(), timingWheel), 16);
+        timingWheel.close();
+
+        assertThat(controller.getTimingWheel(), sameInstance(timingWheel));
+        assertThrows(IllegalStateException.class, ()-> controller.fireAfter(new StatusEvent("a", 1),
+                StatusEvent.class, StatusListener.class, StatusListener::onStatus, 10, TimeUnit.MILLISECONDS));
+    }
+
+    private static void fire(EventController controller, StatusEvent event) {
+        controller.fire(event, StatusEvent.class, StatusListener.class, StatusListener::onStatus);
+    }
+
+    public interface StatusListener extends Listener {
+
+        void onStatus(StatusEvent event);
+    }
+
+    public static class StatusSubscriber implements Listener {
+
+        private StatusEvent mReceived;
+
+        @Subscribe
+        public void onStatus(StatusEvent event) {
+            mReceived = event;
+        }
+    }
+
+    public interface PooledStatusListener extends Listener {
+
+        void onStatus(PooledStatusEvent event);
+    }
+
+    public static class PooledStatusEvent extends PooledEvent {
+
+        @Override
+        protected void reset() {
+        }
+    }
+
+    public static class StatusEvent implements Event {
+
+        private final String mSource;
+        private final int mValue;
+
+        StatusEvent(String source, int value) {
+            mSource = source;
+            mValue = value;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.notifier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+public class TimingWheelTest {
+
+    private TimingWheel mTimingWheel;
+
+    @BeforeEach
+    public void setUp() {
+        mTimingWheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mTimingWheel.close();
+    }
+
+    @Test
+    public void schedule_forDelaysAcrossLevels_runsEachAfterItsDelay() throws Exception {
+        final long[] DELAYS_MS = {0, 1, 10, 63, 64, 65, 200, 4100};
+
+        Collection<Long> elapsedOverDelay = new ConcurrentLinkedQueue<>();
+        CountDownLatch latch = new CountDownLatch(DELAYS_MS.length);
+
+        long start = System.nanoTime();
+        for (long delay : DELAYS_MS) {
+            mTimingWheel.schedule(()-> {
+                long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                elapsedOverDelay.add(elapsedMs - delay);
+                latch.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(latch.await(1, TimeUnit.MINUTES), is(true));
+        assertThat(elapsedOverDelay, hasSize(DELAYS_MS.length));
+        assertThat(elapsedOverDelay, everyItem(greaterThanOrEqualTo(0L)));
+    }
+
+    @Test
+    public void cancel_beforeDeadline_doesNotRunTask() throws Exception {
+        CountDownLatch cancelledLatch = new CountDownLatch(1);
+        CountDownLatch laterLatch = new CountDownLatch(1);
+
+        ScheduledFire scheduledFire = mTimingWheel.schedule(cancelledLatch::countDown, 50, TimeUnit.MILLISECONDS);
+        mTimingWheel.schedule(laterLatch::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertThat(scheduledFire.cancel(), is(true));
+        assertThat(laterLatch.await(1, TimeUnit.MINUTES), is(true));
+        assertThat(cancelledLatch.getCount(), is(1L));
+        assertThat(scheduledFire.isDone(), is(true));
+    }
+
+    @Test
+    public void cancel_afterRun_returnsFalse() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        ScheduledFire scheduledFire = mTimingWheel.schedule(latch::countDown, 1, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(1, TimeUnit.MINUTES), is(true));
+        assertThat(scheduledFire.cancel(), is(false));
+    }
+
+    @Test
+    public void schedule_taskThrowsError_runsLaterTasks() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        mTimingWheel.schedule(()-> {
+            throw new AssertionError();
+        }, 1, TimeUnit.MILLISECONDS);
+        mTimingWheel.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(1, TimeUnit.MINUTES), is(true));
+    }
+
+    @Test
+    public void schedule_afterIdle_runsAfterDelay() throws Exception {
+        CountDownLatch firstLatch = new CountDownLatch(1);
+        mTimingWheel.schedule(firstLatch::countDown, 1, TimeUnit.MILLISECONDS);
+        assertThat(firstLatch.await(1, TimeUnit.MINUTES), is(true));
+        Thread.sleep(100);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        mTimingWheel.schedule(latch::countDown, 10, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(1, TimeUnit.MINUTES), is(true));
+        // deadlines are rounded to the tick, so it may run up to a tick early
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), greaterThanOrEqualTo(9L));
+    }
+
+    @Test
+    public void schedule_earlierThanPendingTask_runsBeforeIt() throws Exception {
+        CountDownLatch laterLatch = new CountDownLatch(1);
+        CountDownLatch earlierLatch = new CountDownLatch(1);
+
+        mTimingWheel.schedule(laterLatch::countDown, 10, TimeUnit.SECONDS);
+        Thread.sleep(20);
+        mTimingWheel.schedule(earlierLatch::countDown, 10, TimeUnit.MILLISECONDS);
+
+        assertThat(earlierLatch.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(laterLatch.getCount(), is(1L));
+    }
+}
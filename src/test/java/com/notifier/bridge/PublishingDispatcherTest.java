@@ -0,0 +1,50 @@
+package com.notifier.bridge;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.dispatchers.EventDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class PublishingDispatcherTest {
+
+    @Test
+    public void dispatch_eventMatchingFilter_publishesAndDelegates() throws Exception {
+        Consumer<Event> publisher = mock(Consumer.class);
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+        Collection<Listener> listeners = Collections.singleton(mock(Listener.class));
+        Predicate<Listener> listenerFilter = (l)->true;
+        Event event = mock(Event.class);
+        BiConsumer<Listener, Event> caller = mock(BiConsumer.class);
+
+        PublishingDispatcher dispatcher = new PublishingDispatcher(publisher, eventDispatcher);
+        dispatcher.dispatch(listeners, listenerFilter, event, caller);
+
+        verify(publisher).accept(event);
+        verify(eventDispatcher).dispatch(listeners, listenerFilter, event, caller);
+    }
+
+    @Test
+    public void dispatch_eventNotMatchingFilter_onlyDelegates() throws Exception {
+        Consumer<Event> publisher = mock(Consumer.class);
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+        Event event = mock(Event.class);
+
+        PublishingDispatcher dispatcher = new PublishingDispatcher(publisher, eventDispatcher, (e)->false);
+        dispatcher.dispatch(Collections.emptyList(), (l)->true, event, mock(BiConsumer.class));
+
+        verify(publisher, never()).accept(event);
+        verify(eventDispatcher).dispatch(any(), any(), eq(event), any());
+    }
+}
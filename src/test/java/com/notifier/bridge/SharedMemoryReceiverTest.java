@@ -0,0 +1,145 @@
+package com.notifier.bridge;
+
+import com.notifier.Event;
+import com.notifier.codec.EventCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SharedMemoryReceiverTest {
+
+    private static final int CAPACITY = 1024;
+
+    @TempDir
+    Path mDirectory;
+
+    @Test
+    public void poll_afterPublish_receivesEventsByOrder() throws Exception {
+        Path path = mDirectory.resolve("ring");
+        try (SharedMemoryPublisher publisher = new SharedMemoryPublisher(path, CAPACITY, new FakeEventCodec());
+             SharedMemoryReceiver receiver = new SharedMemoryReceiver(path, new FakeEventCodec())) {
+            publisher.publish(new FakeEvent(1));
+            publisher.publish(new FakeEvent(2));
+
+            assertThat(pollValues(receiver), contains(1, 2));
+            assertThat(pollValues(receiver), empty());
+        }
+    }
+
+    @Test
+    public void poll_severalReceivers_eachReceivesAllEvents() throws Exception {
+        Path path = mDirectory.resolve("ring");
+        try (SharedMemoryPublisher publisher = new SharedMemoryPublisher(path, CAPACITY, new FakeEventCodec());
+             SharedMemoryReceiver receiver1 = new SharedMemoryReceiver(path, new FakeEventCodec());
+             SharedMemoryReceiver receiver2 = new SharedMemoryReceiver(path, new FakeEventCodec())) {
+            publisher.publish(new FakeEvent(1));
+
+            assertThat(pollValues(receiver1), contains(1));
+            assertThat(pollValues(receiver2), contains(1));
+        }
+    }
+
+    @Test
+    public void poll_eventsWrappingAroundRing_receivesAll() throws Exception {
+        Path path = mDirectory.resolve("ring");
+        try (SharedMemoryPublisher publisher = new SharedMemoryPublisher(path, CAPACITY, new FakeEventCodec());
+             SharedMemoryReceiver receiver = new SharedMemoryReceiver(path, new FakeEventCodec())) {
+            List<Integer> received = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                publisher.publish(new FakeEvent(i));
+                receiver.poll((e)-> received.add(((FakeEvent) e).mValue));
+            }
+
+            assertThat(received.size(), equalTo(500));
+            assertThat(received.get(499), equalTo(499));
+            assertThat(receiver.getOverrunCount(), equalTo(0L));
+        }
+    }
+
+    @Test
+    public void poll_receiverFellBehind_skipsAndCountsOverrun() throws Exception {
+        Path path = mDirectory.resolve("ring");
+        try (SharedMemoryPublisher publisher = new SharedMemoryPublisher(path, CAPACITY, new FakeEventCodec());
+             SharedMemoryReceiver receiver = new SharedMemoryReceiver(path, new FakeEventCodec())) {
+            for (int i = 0; i < 500; i++) {
+                publisher.publish(new FakeEvent(i));
+            }
+
+            assertThat(pollValues(receiver), empty());
+            assertThat(receiver.getOverrunCount(), equalTo(1L));
+
+            publisher.publish(new FakeEvent(1000));
+            assertThat(pollValues(receiver), contains(1000));
+        }
+    }
+
+    @Test
+    public void start_withPublisherInOtherThread_receivesEvents() throws Exception {
+        Path path = mDirectory.resolve("ring");
+        try (SharedMemoryPublisher publisher = new SharedMemoryPublisher(path, CAPACITY, new FakeEventCodec());
+             SharedMemoryReceiver receiver = new SharedMemoryReceiver(path, new FakeEventCodec())) {
+            CountDownLatch received = new CountDownLatch(100);
+            receiver.start((e)-> received.countDown());
+
+            Thread thread = new Thread(()-> {
+                for (int i = 0; i < 100; i++) {
+                    publisher.publish(new FakeEvent(i));
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+                }
+            });
+            thread.start();
+
+            assertThat(received.await(5, TimeUnit.SECONDS), is(true));
+            thread.join();
+        }
+    }
+
+    @Test
+    public void new_receiverWithoutPublisher_throwsIllegalStateException() throws Exception {
+        assertThrows(IllegalStateException.class,
+                ()-> new SharedMemoryReceiver(mDirectory.resolve("ring"), new FakeEventCodec()));
+    }
+
+    private static List<Integer> pollValues(SharedMemoryReceiver receiver) {
+        List<Integer> values = new ArrayList<>();
+        receiver.poll((e)-> values.add(((FakeEvent) e).mValue));
+
+        return values;
+    }
+
+    private static class FakeEvent implements Event {
+
+        private final int mValue;
+
+        private FakeEvent(int value) {
+            mValue = value;
+        }
+    }
+
+    private static class FakeEventCodec implements EventCodec {
+
+        @Override
+        public void encode(Event event, ByteBuffer buffer) {
+            buffer.putInt(((FakeEvent) event).mValue);
+        }
+
+        @Override
+        public Event decode(ByteBuffer buffer) {
+            return new FakeEvent(buffer.getInt());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.notifier.codec;
+
+import com.notifier.Event;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FlyweightEventCodecTest {
+
+    @Test
+    public void decode_afterEncode_viewsBufferWithoutCopying() throws Exception {
+        FlyweightEventCodec<PriceEvent> codec = new FlyweightEventCodec<>(PriceEvent.class, PriceEvent::new);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.position(4);
+        codec.encode(PriceEvent.create(5, 1.5), buffer);
+        buffer.flip();
+        buffer.position(4);
+
+        PriceEvent decoded = (PriceEvent) codec.decode(buffer);
+
+        assertThat(decoded.buffer(), sameInstance(buffer));
+        assertThat(decoded.instrument(), equalTo(5L));
+        assertThat(decoded.price(), equalTo(1.5));
+        assertThat(buffer.position(), equalTo(4 + PriceEvent.SIZE));
+
+        buffer.putDouble(4 + 8, 2.5);
+        assertThat(decoded.price(), equalTo(2.5));
+    }
+
+    @Test
+    public void detach_afterBufferReused_keepsValues() throws Exception {
+        FlyweightEventCodec<PriceEvent> codec = new FlyweightEventCodec<>(PriceEvent.class, PriceEvent::new);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        codec.encode(PriceEvent.create(5, 1.5), buffer);
+        buffer.flip();
+
+        PriceEvent decoded = (PriceEvent) codec.decode(buffer);
+        decoded.detach();
+        buffer.putLong(0, 9);
+
+        assertThat(decoded.instrument(), equalTo(5L));
+    }
+
+    @Test
+    public void encode_bufferTooSmall_throwsBufferOverflowException() throws Exception {
+        FlyweightEventCodec<PriceEvent> codec = new FlyweightEventCodec<>(PriceEvent.class, PriceEvent::new);
+
+        assertThrows(BufferOverflowException.class, ()-> codec.encode(PriceEvent.create(5, 1.5), ByteBuffer.allocate(8)));
+    }
+
+    @Test
+    public void encode_otherEventType_throwsIllegalArgumentException() throws Exception {
+        FlyweightEventCodec<PriceEvent> codec = new FlyweightEventCodec<>(PriceEvent.class, PriceEvent::new);
+
+        assertThrows(IllegalArgumentException.class, ()-> codec.encode(new Event() {}, ByteBuffer.allocate(64)));
+    }
+
+    static class PriceEvent extends FlyweightEvent {
+
+        static final int SIZE = 16;
+
+        static PriceEvent create(long instrument, double price) {
+            PriceEvent event = new PriceEvent();
+            event.allocate();
+            event.putLong(0, instrument);
+            event.putDouble(8, price);
+
+            return event;
+        }
+
+        @Override
+        public int size() {
+            return SIZE;
+        }
+
+        long instrument() {
+            return getLong(0);
+        }
+
+        double price() {
+            return getDouble(8);
+        }
+    }
+}
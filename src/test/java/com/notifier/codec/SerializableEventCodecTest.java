@@ -0,0 +1,111 @@
+package com.notifier.codec;
+
+import com.notifier.Event;
+import org.junit.jupiter.api.Test;
+
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SerializableEventCodecTest {
+
+    @Test
+    public void decode_afterEncode_returnsEventWithSameValues() throws Exception {
+        SerializableEventCodec codec = new SerializableEventCodec(Collections.singleton(Side.class));
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        codec.encode(new OrderEvent("ACME", Side.BUY, new long[] {1, 2}), buffer);
+        buffer.flip();
+
+        OrderEvent decoded = (OrderEvent) codec.decode(buffer);
+
+        assertThat(decoded.mInstrument, equalTo("ACME"));
+        assertThat(decoded.mSide, equalTo(Side.BUY));
+        assertThat(decoded.mQuantities[1], equalTo(2L));
+    }
+
+    @Test
+    public void decode_eventHoldingClassNotAllowed_throwsIllegalArgumentException() throws Exception {
+        SerializableEventCodec codec = new SerializableEventCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        codec.encode(new OrderEvent("ACME", Side.BUY, new long[0]), buffer);
+        buffer.flip();
+
+        assertThrows(IllegalArgumentException.class, ()-> codec.decode(buffer));
+    }
+
+    @Test
+    public void decode_eventHoldingAllowedCollection_returnsEvent() throws Exception {
+        SerializableEventCodec codec = new SerializableEventCodec(Collections.singleton(ArrayList.class));
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        List<String> tags = new ArrayList<>();
+        tags.add("a");
+        codec.encode(new TaggedEvent(tags), buffer);
+        buffer.flip();
+
+        TaggedEvent decoded = (TaggedEvent) codec.decode(buffer);
+
+        assertThat(decoded.mTags, contains("a"));
+    }
+
+    @Test
+    public void decode_objectNotEvent_throwsIllegalArgumentException() throws Exception {
+        SerializableEventCodec codec = new SerializableEventCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(new ByteBufferOutputStream(buffer))) {
+            outputStream.writeObject(new HashMap<String, String>());
+        }
+        buffer.flip();
+
+        assertThrows(IllegalArgumentException.class, ()-> codec.decode(buffer));
+    }
+
+    enum Side {
+        BUY, SELL
+    }
+
+    static class OrderEvent implements Event, Serializable {
+
+        private final String mInstrument;
+        private final Side mSide;
+        private final long[] mQuantities;
+
+        OrderEvent(String instrument, Side side, long[] quantities) {
+            mInstrument = instrument;
+            mSide = side;
+            mQuantities = quantities;
+        }
+    }
+
+    static class TaggedEvent implements Event, Serializable {
+
+        private final List<String> mTags;
+
+        TaggedEvent(List<String> tags) {
+            mTags = tags;
+        }
+    }
+
+    private static class ByteBufferOutputStream extends OutputStream {
+
+        private final ByteBuffer mBuffer;
+
+        private ByteBufferOutputStream(ByteBuffer buffer) {
+            mBuffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            mBuffer.put((byte) b);
+        }
+    }
+}
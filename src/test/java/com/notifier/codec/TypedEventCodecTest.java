@@ -0,0 +1,83 @@
+package com.notifier.codec;
+
+import com.notifier.Event;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TypedEventCodecTest {
+
+    @Test
+    public void decode_afterEncodeOfSeveralTypes_usesCodecOfEachType() throws Exception {
+        TypedEventCodec codec = new TypedEventCodec();
+        codec.register((short) 1, FlyweightEventCodecTest.PriceEvent.class,
+                new FlyweightEventCodec<>(FlyweightEventCodecTest.PriceEvent.class, FlyweightEventCodecTest.PriceEvent::new));
+        codec.register((short) 2, CountEvent.class, new CountEventCodec());
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        codec.encode(new CountEvent(3), buffer);
+        codec.encode(FlyweightEventCodecTest.PriceEvent.create(5, 1.5), buffer);
+        buffer.flip();
+
+        Event first = codec.decode(buffer);
+        Event second = codec.decode(buffer);
+
+        assertThat(((CountEvent) first).mCount, equalTo(3));
+        assertThat(second, instanceOf(FlyweightEventCodecTest.PriceEvent.class));
+        assertThat(((FlyweightEventCodecTest.PriceEvent) second).instrument(), equalTo(5L));
+    }
+
+    @Test
+    public void encode_subtypeOfRegisteredType_usesCodecOfType() throws Exception {
+        TypedEventCodec codec = new TypedEventCodec();
+        codec.register((short) 2, CountEvent.class, new CountEventCodec());
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        codec.encode(new CountEvent(3) {}, buffer);
+        buffer.flip();
+
+        assertThat(((CountEvent) codec.decode(buffer)).mCount, equalTo(3));
+    }
+
+    @Test
+    public void encode_unregisteredType_throwsIllegalArgumentException() throws Exception {
+        TypedEventCodec codec = new TypedEventCodec();
+
+        assertThrows(IllegalArgumentException.class, ()-> codec.encode(new CountEvent(1), ByteBuffer.allocate(64)));
+    }
+
+    @Test
+    public void register_sameIdTwice_throwsIllegalArgumentException() throws Exception {
+        TypedEventCodec codec = new TypedEventCodec();
+        codec.register((short) 2, CountEvent.class, new CountEventCodec());
+
+        assertThrows(IllegalArgumentException.class, ()-> codec.register((short) 2, Event.class, new CountEventCodec()));
+    }
+
+    private static class CountEvent implements Event {
+
+        private final int mCount;
+
+        private CountEvent(int count) {
+            mCount = count;
+        }
+    }
+
+    private static class CountEventCodec implements EventCodec {
+
+        @Override
+        public void encode(Event event, ByteBuffer buffer) {
+            buffer.putInt(((CountEvent) event).mCount);
+        }
+
+        @Override
+        public Event decode(ByteBuffer buffer) {
+            return new CountEvent(buffer.getInt());
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.util.function.Predicate;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -108,6 +109,45 @@ public class BlockingDispatcherTest {
         assertThat(conditions, everyItem(equalTo(true)));
     }
 
+    @Test
+    public void dispatch_withTimeout_countsTimedOutCalls() throws Exception {
+        final Listener[] LISTENERS = {
+                mock(Listener.class),
+                mock(Listener.class)
+        };
+        final Event EVENT = mock(Event.class);
+
+        CountDownLatch doneLatch = new CountDownLatch(LISTENERS.length);
+        BiConsumer<Listener, Event> caller = delayedCaller((c)->{}, ()-> true, doneLatch::countDown);
+
+        BlockingDispatcher eventDispatcher = new BlockingDispatcher(sExecutorService, 10, TimeUnit.MILLISECONDS);
+        eventDispatcher.dispatch(Arrays.asList(LISTENERS), truePredicate(), EVENT, caller);
+
+        doneLatch.await(1, TimeUnit.MINUTES);
+
+        assertThat(eventDispatcher.getTimeoutCount(), greaterThanOrEqualTo(1L));
+        assertThat(eventDispatcher.getFailureCount(), equalTo(0L));
+    }
+
+    @Test
+    public void dispatch_callThrows_countsFailedCalls() throws Exception {
+        final Listener[] LISTENERS = {
+                mock(Listener.class),
+                mock(Listener.class)
+        };
+        final Event EVENT = mock(Event.class);
+
+        BiConsumer<Listener, Event> caller = (l, e)-> {
+            throw new IllegalStateException();
+        };
+
+        BlockingDispatcher eventDispatcher = new BlockingDispatcher(sExecutorService, -1, TimeUnit.MILLISECONDS);
+        eventDispatcher.dispatch(Arrays.asList(LISTENERS), truePredicate(), EVENT, caller);
+
+        assertThat(eventDispatcher.getFailureCount(), equalTo(2L));
+        assertThat(eventDispatcher.getTimeoutCount(), equalTo(0L));
+    }
+
     private Predicate<Listener> truePredicate() {
         Predicate<Listener> predicate = mock(Predicate.class);
         when(predicate.test(any(Listener.class))).thenReturn(true);
@@ -0,0 +1,108 @@
+package com.notifier.dispatchers;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+public class ElasticQueuedDispatcherTest {
+
+    private ExecutorService mExecutorService;
+
+    @BeforeEach
+    public void setUp() {
+        mExecutorService = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mExecutorService.shutdownNow();
+    }
+
+    @Test
+    public void new_always_startsMinWorkers() throws Exception {
+        ElasticQueuedDispatcher dispatcher = new ElasticQueuedDispatcher(mExecutorService, 2, 4, 1, 1, TimeUnit.MINUTES);
+
+        assertThat(dispatcher.getWorkerCount(), equalTo(2));
+        assertThat(dispatcher.getScaleUpCount(), equalTo(0L));
+    }
+
+    @Test
+    public void dispatch_backlogAboveWatermark_scalesUpToMaxWorkers() throws Exception {
+        ElasticQueuedDispatcher dispatcher = new ElasticQueuedDispatcher(mExecutorService, 1, 3, 1, 1, TimeUnit.MINUTES);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < 10; i++) {
+            dispatch(dispatcher, release);
+        }
+
+        assertThat(dispatcher.getWorkerCount(), equalTo(3));
+        assertThat(dispatcher.getPeakWorkerCount(), equalTo(3));
+        assertThat(dispatcher.getScaleUpCount(), equalTo(2L));
+
+        release.countDown();
+    }
+
+    @Test
+    public void dispatch_workersIdle_scalesDownToMinWorkers() throws Exception {
+        ElasticQueuedDispatcher dispatcher = new ElasticQueuedDispatcher(mExecutorService, 1, 3, 1, 20, TimeUnit.MILLISECONDS);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < 10; i++) {
+            dispatch(dispatcher, release);
+        }
+        release.countDown();
+
+        assertThat(waitFor(()-> dispatcher.getWorkerCount() == 1), is(true));
+        assertThat(dispatcher.getScaleDownCount(), equalTo(2L));
+    }
+
+    @Test
+    public void dispatch_listenerThrows_keepsWorker() throws Exception {
+        ElasticQueuedDispatcher dispatcher = new ElasticQueuedDispatcher(mExecutorService, 1, 1, 1, 1, TimeUnit.MINUTES);
+        CountDownLatch called = new CountDownLatch(1);
+
+        dispatcher.dispatch(Collections.singleton(mock(Listener.class)), (l)->true, mock(Event.class), (l, e)-> {
+            throw new IllegalStateException();
+        });
+        dispatcher.dispatch(Collections.singleton(mock(Listener.class)), (l)->true, mock(Event.class), (l, e)-> called.countDown());
+
+        assertThat(called.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(dispatcher.getWorkerCount(), equalTo(1));
+    }
+
+    private static void dispatch(QueuedDispatcher dispatcher, CountDownLatch release) {
+        dispatcher.dispatch(Collections.singleton(mock(Listener.class)), (l)->true, mock(Event.class), (l, e)-> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+
+        return true;
+    }
+}
@@ -14,6 +14,7 @@ import org.mockito.stubbing.Answer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -144,10 +145,16 @@ public class EventDispatcherTest {
                         ExecutorBasedDispatcher.class, "immediate"),
                 Arguments.of(new ExecutorBasedDispatcher(sExecutorService),
                         ExecutorBasedDispatcher.class, "executorService"),
+                Arguments.of(new ExecutorBasedDispatcher(sExecutorService, 2),
+                        ExecutorBasedDispatcher.class, "executorService-chunked"),
                 Arguments.of(new BlockingDispatcher(sExecutorService, -1, TimeUnit.MICROSECONDS),
                         ExecutorBasedDispatcher.class, "executorService-noTimeout"),
                 Arguments.of(QueuedDispatcher.withBlockingHandler(sExecutorService),
-                        QueuedDispatcher.class, "queueBased-blocking-task")
+                        QueuedDispatcher.class, "queueBased-blocking-task"),
+                Arguments.of(QueuedDispatcher.withPriorityBlockingHandler(sExecutorService, Collections.emptyMap()),
+                        QueuedDispatcher.class, "queueBased-priority-blocking-task"),
+                Arguments.of(QueuedDispatcher.withBlockingHandler(sExecutorService, new ProducerLanesQueue()),
+                        QueuedDispatcher.class, "queueBased-producer-lanes-blocking-task")
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.notifier.dispatchers;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.PooledEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ExecutorBasedDispatcherTest {
+
+    @Test
+    public void dispatch_withChunks_submitsTaskPerChunk() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        Executor executor = tasks::add;
+        BiConsumer<Listener, Event> caller = mock(BiConsumer.class);
+
+        ExecutorBasedDispatcher dispatcher = new ExecutorBasedDispatcher(executor, 3);
+        dispatcher.dispatch(listeners(10), (l)->true, mock(Event.class), caller);
+
+        assertThat(tasks.size(), equalTo(3));
+        tasks.forEach(Runnable::run);
+        verify(caller, times(10)).accept(any(Listener.class), any(Event.class));
+    }
+
+    @Test
+    public void dispatch_withoutChunks_submitsTaskPerListener() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        Executor executor = tasks::add;
+
+        ExecutorBasedDispatcher dispatcher = new ExecutorBasedDispatcher(executor);
+        dispatcher.dispatch(listeners(10), (l)->true, mock(Event.class), mock(BiConsumer.class));
+
+        assertThat(tasks.size(), equalTo(10));
+    }
+
+    @Test
+    public void dispatch_chunkListenerThrows_callsRestOfChunkAndRethrows() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        Executor executor = tasks::add;
+        List<Listener> listeners = listeners(3);
+        List<Listener> called = new ArrayList<>();
+
+        ExecutorBasedDispatcher dispatcher = new ExecutorBasedDispatcher(executor, 1);
+        dispatcher.dispatch(listeners, (l)->true, mock(Event.class), (l, e)-> {
+            called.add(l);
+            if (l == listeners.get(0)) {
+                throw new IllegalStateException();
+            }
+        });
+
+        assertThat(tasks.size(), equalTo(1));
+        assertThrows(IllegalStateException.class, ()-> tasks.get(0).run());
+        assertThat(called, equalTo(listeners));
+    }
+
+    @Test
+    public void dispatch_chunkListenerThrowsError_releasesPooledEvent() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        Executor executor = tasks::add;
+        FakePooledEvent event = new FakePooledEvent();
+
+        ExecutorBasedDispatcher dispatcher = new ExecutorBasedDispatcher(executor, 1);
+        dispatcher.dispatch(listeners(2), (l)->true, event, (l, e)-> {
+            throw new AssertionError();
+        });
+        event.release();
+
+        assertThat(tasks.size(), equalTo(1));
+        assertThrows(AssertionError.class, ()-> tasks.get(0).run());
+        assertThat(event.getReferenceCount(), equalTo(0));
+    }
+
+    private static List<Listener> listeners(int count) {
+        return IntStream.range(0, count)
+                .mapToObj((i)-> mock(Listener.class))
+                .collect(Collectors.toList());
+    }
+
+    private static class FakePooledEvent extends PooledEvent {
+
+        @Override
+        protected void reset() {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.notifier.dispatchers;
+
+import com.notifier.Prioritized;
+import com.notifier.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class PriorityLanesQueueTest {
+
+    @Test
+    public void poll_withTasksOfDifferentPriorities_returnsHigherPriorityFirst() throws Exception {
+        PriorityLanesQueue queue = new PriorityLanesQueue();
+        queue.offer(new FakeTask(Priority.LOW));
+        queue.offer(new FakeTask(Priority.NORMAL));
+        queue.offer(new FakeTask(Priority.HIGH));
+
+        assertThat(pollPriorities(queue, 3), contains(Priority.HIGH, Priority.NORMAL, Priority.LOW));
+    }
+
+    @Test
+    public void poll_withNotPrioritizedTask_treatsAsNormalPriority() throws Exception {
+        PriorityLanesQueue queue = new PriorityLanesQueue();
+        queue.offer(()->{});
+
+        assertThat(queue.size(Priority.NORMAL), equalTo(1));
+    }
+
+    @Test
+    public void poll_withFloodOfHigherPriority_drainsLowerPriorityByWeight() throws Exception {
+        Map<Priority, Integer> weights = new EnumMap<>(Priority.class);
+        weights.put(Priority.HIGH, 3);
+        weights.put(Priority.LOW, 1);
+
+        PriorityLanesQueue queue = new PriorityLanesQueue(weights);
+        for (int i = 0; i < 6; i++) {
+            queue.offer(new FakeTask(Priority.HIGH));
+        }
+        queue.offer(new FakeTask(Priority.LOW));
+        queue.offer(new FakeTask(Priority.LOW));
+
+        assertThat(pollPriorities(queue, 8), contains(
+                Priority.HIGH, Priority.HIGH, Priority.HIGH, Priority.LOW,
+                Priority.HIGH, Priority.HIGH, Priority.HIGH, Priority.LOW));
+    }
+
+    @Test
+    public void poll_emptyWithTimeout_returnsNull() throws Exception {
+        PriorityLanesQueue queue = new PriorityLanesQueue();
+
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS), nullValue());
+    }
+
+    @Test
+    public void remove_queuedTask_removesFromQueue() throws Exception {
+        PriorityLanesQueue queue = new PriorityLanesQueue();
+        FakeTask task = new FakeTask(Priority.HIGH);
+        FakeTask otherTask = new FakeTask(Priority.LOW);
+        queue.offer(task);
+        queue.offer(otherTask);
+
+        assertThat(queue.remove(task), equalTo(true));
+        assertThat(queue.size(), equalTo(1));
+        assertThat(queue.size(Priority.HIGH), equalTo(0));
+        assertThat(queue.poll(), equalTo(otherTask));
+    }
+
+    @Test
+    public void removeAll_queuedTasks_removesFromQueue() throws Exception {
+        PriorityLanesQueue queue = new PriorityLanesQueue();
+        FakeTask task = new FakeTask(Priority.NORMAL);
+        FakeTask otherTask = new FakeTask(Priority.LOW);
+        queue.offer(task);
+        queue.offer(otherTask);
+
+        assertThat(queue.removeAll(Collections.singleton(otherTask)), equalTo(true));
+        assertThat(queue.size(), equalTo(1));
+        assertThat(queue.poll(), equalTo(task));
+        assertThat(queue.poll(), nullValue());
+    }
+
+    private List<Priority> pollPriorities(PriorityLanesQueue queue, int count) {
+        List<Priority> priorities = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            priorities.add(Prioritized.priorityOf(queue.poll()));
+        }
+
+        return priorities;
+    }
+
+    private static class FakeTask implements Runnable, Prioritized {
+
+        private final Priority mPriority;
+
+        private FakeTask(Priority priority) {
+            mPriority = priority;
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public Priority getPriority() {
+            return mPriority;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.notifier.dispatchers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ProducerLanesQueueTest {
+
+    @Test
+    public void poll_withTasksFromSameThread_returnsByOrder() throws Exception {
+        ProducerLanesQueue queue = new ProducerLanesQueue();
+        Runnable first = ()->{};
+        Runnable second = ()->{};
+        queue.offer(first);
+        queue.offer(second);
+
+        assertThat(queue.size(), equalTo(2));
+        assertThat(queue.poll(), equalTo(first));
+        assertThat(queue.poll(), equalTo(second));
+        assertThat(queue.poll(), nullValue());
+    }
+
+    @Test
+    public void poll_withTasksFromSeveralThreads_takesFromLanesInTurns() throws Exception {
+        ProducerLanesQueue queue = new ProducerLanesQueue();
+        Runnable local1 = ()->{};
+        Runnable local2 = ()->{};
+        Runnable other1 = ()->{};
+        Runnable other2 = ()->{};
+        queue.offer(local1);
+        queue.offer(local2);
+        runInThread(()-> {
+            queue.offer(other1);
+            queue.offer(other2);
+        });
+
+        assertThat(queue, contains(local1, local2, other1, other2));
+        assertThat(new Object[] {queue.poll(), queue.poll(), queue.poll(), queue.poll()},
+                equalTo(new Object[] {local1, other1, local2, other2}));
+    }
+
+    @Test
+    public void take_withTaskOfferedLater_returnsTask() throws Exception {
+        ProducerLanesQueue queue = new ProducerLanesQueue();
+        Runnable runnable = ()->{};
+        CountDownLatch taking = new CountDownLatch(1);
+
+        Thread thread = new Thread(()-> {
+            try {
+                taking.await();
+                Thread.sleep(50);
+                queue.offer(runnable);
+            } catch (InterruptedException e) {
+            }
+        });
+        thread.start();
+        taking.countDown();
+
+        assertThat(queue.poll(5, TimeUnit.SECONDS), equalTo(runnable));
+        thread.join();
+    }
+
+    @Test
+    public void poll_emptyWithTimeout_returnsNull() throws Exception {
+        ProducerLanesQueue queue = new ProducerLanesQueue();
+
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS), nullValue());
+    }
+
+    @Test
+    public void poll_afterProducerTerminatedAndLaneDrained_discardsLane() throws Exception {
+        ProducerLanesQueue queue = new ProducerLanesQueue();
+        Runnable runnable = ()->{};
+        runInThread(()-> queue.offer(runnable));
+
+        assertThat(queue.getLaneCount(), equalTo(1));
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS), equalTo(runnable));
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS), nullValue());
+        assertThat(queue.getLaneCount(), equalTo(0));
+    }
+
+    @Test
+    public void offer_fromNewThreadWhileConsumerNeverIdle_discardsDrainedLanesOfTerminatedThreads() throws Exception {
+        ProducerLanesQueue queue = new ProducerLanesQueue();
+        for (int i = 0; i < 10; i++) {
+            Runnable runnable = ()->{};
+            runInThread(()-> queue.offer(runnable));
+            assertThat(queue.poll(), equalTo(runnable));
+        }
+
+        runInThread(()-> queue.offer(()->{}));
+
+        assertThat(queue.getLaneCount(), equalTo(1));
+    }
+
+    @Test
+    public void remove_queuedTask_isNotTaken() throws Exception {
+        ProducerLanesQueue queue = new ProducerLanesQueue();
+        Runnable first = ()->{};
+        Runnable second = ()->{};
+        queue.offer(first);
+        queue.offer(second);
+
+        assertThat(queue.remove(first), equalTo(true));
+        assertThat(queue.remove(first), equalTo(false));
+        assertThat(queue.size(), equalTo(1));
+        assertThat(queue.peek(), equalTo(second));
+        assertThat(queue.poll(), equalTo(second));
+        assertThat(queue.poll(), nullValue());
+    }
+
+    @Test
+    public void retainAll_queuedTasks_removesOthers() throws Exception {
+        ProducerLanesQueue queue = new ProducerLanesQueue();
+        Runnable first = ()->{};
+        Runnable second = ()->{};
+        queue.offer(first);
+        queue.offer(second);
+
+        assertThat(queue.retainAll(Collections.singleton(second)), equalTo(true));
+        assertThat(queue.poll(), equalTo(second));
+        assertThat(queue.poll(), nullValue());
+    }
+
+    private static void runInThread(Runnable runnable) throws InterruptedException {
+        Thread thread = new Thread(runnable);
+        thread.start();
+        thread.join();
+    }
+}
@@ -0,0 +1,95 @@
+package com.notifier.dispatchers;
+
+import com.notifier.Event;
+import com.notifier.Expiring;
+import com.notifier.Listener;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class QueuedDispatcherTest {
+
+    @Test
+    public void dispatch_eventExpiredWhileQueued_discardsCall() throws Exception {
+        Queue<Runnable> queue = new LinkedList<>();
+        ExpirationPolicy expirationPolicy = new ExpirationPolicy(
+                Collections.singletonMap(FakeEvent.class, 1L), ExpirationPolicy.NO_EXPIRATION);
+        BiConsumer<Listener, Event> caller = mock(BiConsumer.class);
+
+        QueuedDispatcher dispatcher = new QueuedDispatcher(queue, expirationPolicy);
+        dispatcher.dispatch(Collections.singleton(mock(Listener.class)), (l)->true, new FakeEvent(), caller);
+
+        Thread.sleep(10);
+        runAll(queue);
+
+        verify(caller, never()).accept(any(Listener.class), any(Event.class));
+        assertThat(dispatcher.getExpiredCount(), equalTo(1L));
+        assertThat(dispatcher.getExpiredCount(FakeEvent.class), equalTo(1L));
+    }
+
+    @Test
+    public void dispatch_eventNotExpired_callsListener() throws Exception {
+        Queue<Runnable> queue = new LinkedList<>();
+        ExpirationPolicy expirationPolicy = new ExpirationPolicy(TimeUnit.MINUTES.toMillis(1));
+        BiConsumer<Listener, Event> caller = mock(BiConsumer.class);
+
+        QueuedDispatcher dispatcher = new QueuedDispatcher(queue, expirationPolicy);
+        dispatcher.dispatch(Collections.singleton(mock(Listener.class)), (l)->true, new FakeEvent(), caller);
+
+        runAll(queue);
+
+        verify(caller, times(1)).accept(any(Listener.class), any(Event.class));
+        assertThat(dispatcher.getExpiredCount(), equalTo(0L));
+    }
+
+    @Test
+    public void dispatch_expiringEventPastDeadline_discardsCall() throws Exception {
+        Queue<Runnable> queue = new LinkedList<>();
+        BiConsumer<Listener, Event> caller = mock(BiConsumer.class);
+
+        QueuedDispatcher dispatcher = new QueuedDispatcher(queue, ExpirationPolicy.eventDeadlinesOnly());
+        dispatcher.dispatch(Collections.singleton(mock(Listener.class)), (l)->true,
+                new FakeExpiringEvent(System.nanoTime() - 1), caller);
+
+        runAll(queue);
+
+        verify(caller, never()).accept(any(Listener.class), any(Event.class));
+        assertThat(dispatcher.getExpiredCount(FakeExpiringEvent.class), equalTo(1L));
+    }
+
+    private void runAll(Queue<Runnable> queue) {
+        Runnable runnable;
+        while ((runnable = queue.poll()) != null) {
+            runnable.run();
+        }
+    }
+
+    private static class FakeEvent implements Event {
+    }
+
+    private static class FakeExpiringEvent implements Event, Expiring {
+
+        private final long mDeadlineNanos;
+
+        private FakeExpiringEvent(long deadlineNanos) {
+            mDeadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public long getDeadlineNanos() {
+            return mDeadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.notifier.dispatchers;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class WeightedFairQueueTest {
+
+    @Test
+    public void poll_withBurstFromOneSource_alternatesBetweenSources() throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue((e)-> ((FakeEvent) e).mSource);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(newTask("a"));
+        }
+        queue.offer(newTask("b"));
+        queue.offer(newTask("b"));
+
+        assertThat(pollSources(queue, 6), contains("a", "b", "a", "b", "a", "a"));
+    }
+
+    @Test
+    public void poll_withWeightedSource_takesUpToWeightPerTurn() throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue((e)-> ((FakeEvent) e).mSource,
+                Collections.singletonMap("a", 3), 1);
+        for (int i = 0; i < 6; i++) {
+            queue.offer(newTask("a"));
+        }
+        queue.offer(newTask("b"));
+        queue.offer(newTask("b"));
+
+        assertThat(pollSources(queue, 8), contains("a", "a", "a", "b", "a", "a", "a", "b"));
+    }
+
+    @Test
+    public void poll_withNotDispatchingTask_usesDefaultSource() throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue((e)-> ((FakeEvent) e).mSource);
+        Runnable runnable = ()->{};
+        queue.offer(runnable);
+
+        assertThat(queue.poll(), equalTo(runnable));
+    }
+
+    @Test
+    public void getSourceStats_afterPoll_returnsDepthAndCounts() throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue((e)-> ((FakeEvent) e).mSource);
+        queue.offer(newTask("a"));
+        queue.offer(newTask("a"));
+        queue.offer(newTask("b"));
+        queue.poll();
+
+        Map<Object, WeightedFairQueue.SourceStats> stats = queue.getSourceStats();
+        assertThat(stats.get("a").getDepth(), equalTo(1));
+        assertThat(stats.get("a").getEnqueuedCount(), equalTo(2L));
+        assertThat(stats.get("a").getDequeuedCount(), equalTo(1L));
+        assertThat(stats.get("b").getDepth(), equalTo(1));
+        assertThat(stats.get("b").getDequeuedCount(), equalTo(0L));
+    }
+
+    @Test
+    public void offer_afterSourceIdleTimeout_forgetsIdleSource() throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue((e)-> ((FakeEvent) e).mSource,
+                Collections.emptyMap(), 1, 0, TimeUnit.NANOSECONDS);
+        queue.offer(newTask("a"));
+        queue.poll();
+        queue.offer(newTask("b"));
+
+        Map<Object, WeightedFairQueue.SourceStats> stats = queue.getSourceStats();
+        assertThat(stats.containsKey("a"), equalTo(false));
+        assertThat(stats.get("b").getDepth(), equalTo(1));
+    }
+
+    @Test
+    public void offer_withinSourceIdleTimeout_keepsIdleSource() throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue((e)-> ((FakeEvent) e).mSource,
+                Collections.emptyMap(), 1, 1, TimeUnit.HOURS);
+        queue.offer(newTask("a"));
+        queue.poll();
+        queue.offer(newTask("b"));
+
+        assertThat(queue.getSourceStats().get("a").getDequeuedCount(), equalTo(1L));
+    }
+
+    @Test
+    public void remove_lastTaskOfSource_keepsOtherSourcesServed() throws Exception {
+        WeightedFairQueue queue = new WeightedFairQueue((e)-> ((FakeEvent) e).mSource);
+        DispatchingTask task = newTask("a");
+        queue.offer(task);
+        queue.offer(newTask("b"));
+
+        assertThat(queue.remove(task), equalTo(true));
+        assertThat(queue.size(), equalTo(1));
+        assertThat(pollSources(queue, 1), contains("b"));
+        assertThat(queue.poll(), nullValue());
+    }
+
+    private List<Object> pollSources(WeightedFairQueue queue, int count) {
+        List<Object> sources = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            sources.add(((FakeEvent) ((DispatchingTask) queue.poll()).getEvent()).mSource);
+        }
+
+        return sources;
+    }
+
+    private static DispatchingTask newTask(String source) {
+        return new DispatchingTask(new Listener() {}, new FakeEvent(source), (l, e)->{});
+    }
+
+    private static class FakeEvent implements Event {
+
+        private final String mSource;
+
+        private FakeEvent(String source) {
+            mSource = source;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.notifier.journal;
+
+import com.notifier.Event;
+import com.notifier.codec.EventCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class DurableEventQueueTest {
+
+    private static final int RECORD_SIZE = Integer.BYTES * 2;
+
+    @TempDir
+    Path mDirectory;
+
+    @Test
+    public void poll_afterAdd_returnsEventsByOrder() throws Exception {
+        try (DurableEventQueue queue = newQueue()) {
+            queue.add(new FakeEvent(1));
+            queue.add(new FakeEvent(2));
+
+            assertThat(queue.size(), equalTo(2L));
+            assertThat(valueOf(queue.poll()), equalTo(1));
+            assertThat(valueOf(queue.poll()), equalTo(2));
+            assertThat(queue.poll(), nullValue());
+        }
+    }
+
+    @Test
+    public void poll_emptyWithTimeout_returnsNull() throws Exception {
+        try (DurableEventQueue queue = newQueue()) {
+            assertThat(queue.poll(10, TimeUnit.MILLISECONDS), nullValue());
+        }
+    }
+
+    @Test
+    public void new_afterCommit_continuesFromCommittedPosition() throws Exception {
+        try (DurableEventQueue queue = newQueue()) {
+            for (int i = 0; i < 5; i++) {
+                queue.add(new FakeEvent(i));
+            }
+            queue.poll();
+            queue.poll();
+            queue.commit();
+            queue.poll();
+        }
+
+        try (DurableEventQueue queue = newQueue()) {
+            assertThat(queue.getReadSequence(), equalTo(2L));
+            assertThat(valueOf(queue.poll()), equalTo(2));
+            assertThat(queue.size(), equalTo(2L));
+        }
+    }
+
+    @Test
+    public void commit_pastSegments_deletesSegments() throws Exception {
+        try (DurableEventQueue queue = newQueue()) {
+            for (int i = 0; i < 6; i++) {
+                queue.add(new FakeEvent(i));
+            }
+            assertThat(countSegments(), equalTo(3L));
+
+            for (int i = 0; i < 5; i++) {
+                queue.poll();
+            }
+            queue.commit();
+
+            assertThat(countSegments(), equalTo(1L));
+        }
+    }
+
+    private DurableEventQueue newQueue() throws Exception {
+        return new DurableEventQueue(mDirectory, new FakeEventCodec(), RECORD_SIZE * 2, FsyncPolicy.never());
+    }
+
+    private long countSegments() throws Exception {
+        try (Stream<Path> paths = Files.list(mDirectory)) {
+            return paths.filter((path)-> path.toString().endsWith(".segment")).count();
+        }
+    }
+
+    private static int valueOf(Event event) {
+        return ((FakeEvent) event).mValue;
+    }
+
+    private static class FakeEvent implements Event {
+
+        private final int mValue;
+
+        private FakeEvent(int value) {
+            mValue = value;
+        }
+    }
+
+    private static class FakeEventCodec implements EventCodec {
+
+        @Override
+        public void encode(Event event, ByteBuffer buffer) {
+            buffer.putInt(((FakeEvent) event).mValue);
+        }
+
+        @Override
+        public Event decode(ByteBuffer buffer) {
+            return new FakeEvent(buffer.getInt());
+        }
+    }
+}
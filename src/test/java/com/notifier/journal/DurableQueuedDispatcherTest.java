@@ -0,0 +1,133 @@
+package com.notifier.journal;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.codec.EventCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class DurableQueuedDispatcherTest {
+
+    @TempDir
+    Path mDirectory;
+
+    @Test
+    public void dispatch_withMatchingListener_callsListenerAndCommits() throws Exception {
+        try (DurableEventQueue queue = newQueue()) {
+            DurableQueuedDispatcher dispatcher = new DurableQueuedDispatcher(queue, (e)-> {});
+            dispatcher.start();
+
+            Listener listener = new Listener() {};
+            FakeEvent event = new FakeEvent(5);
+            CountDownLatch called = new CountDownLatch(1);
+            int[] value = new int[1];
+            BiConsumer<Listener, Event> caller = (l, e)-> {
+                value[0] = ((FakeEvent) e).mValue;
+                called.countDown();
+            };
+
+            dispatcher.dispatch(Collections.singleton(listener), (l)->true, event, caller);
+
+            assertThat(called.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(value[0], equalTo(5));
+        }
+    }
+
+    @Test
+    public void dispatch_listenerThrows_callsOtherListeners() throws Exception {
+        try (DurableEventQueue queue = newQueue()) {
+            DurableQueuedDispatcher dispatcher = new DurableQueuedDispatcher(queue, (e)-> {});
+            dispatcher.start();
+
+            Listener failing = new Listener() {};
+            Listener listener = new Listener() {};
+            CountDownLatch called = new CountDownLatch(1);
+            BiConsumer<Listener, Event> caller = (l, e)-> {
+                if (l == failing) {
+                    throw new IllegalStateException();
+                }
+                called.countDown();
+            };
+
+            dispatcher.dispatch(Arrays.asList(failing, listener), (l)->true, new FakeEvent(5), caller);
+
+            assertThat(called.await(5, TimeUnit.SECONDS), is(true));
+        }
+    }
+
+    @Test
+    public void start_withEventsFromPreviousRun_passesToRecoveredEventHandler() throws Exception {
+        try (DurableEventQueue queue = newQueue()) {
+            queue.add(new FakeEvent(7));
+        }
+
+        try (DurableEventQueue queue = newQueue()) {
+            CountDownLatch recovered = new CountDownLatch(1);
+            int[] value = new int[1];
+            DurableQueuedDispatcher dispatcher = new DurableQueuedDispatcher(queue, (e)-> {
+                value[0] = ((FakeEvent) e).mValue;
+                recovered.countDown();
+            });
+            dispatcher.start();
+
+            assertThat(recovered.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(value[0], equalTo(7));
+        }
+    }
+
+    @Test
+    public void start_eventAddedToQueueDirectly_passesToRecoveredEventHandler() throws Exception {
+        try (DurableEventQueue queue = newQueue()) {
+            CountDownLatch recovered = new CountDownLatch(1);
+            int[] value = new int[1];
+            DurableQueuedDispatcher dispatcher = new DurableQueuedDispatcher(queue, (e)-> {
+                value[0] = ((FakeEvent) e).mValue;
+                recovered.countDown();
+            });
+            dispatcher.start();
+
+            queue.add(new FakeEvent(9));
+
+            assertThat(recovered.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(value[0], equalTo(9));
+        }
+    }
+
+    private DurableEventQueue newQueue() throws Exception {
+        return new DurableEventQueue(mDirectory, new FakeEventCodec(), 1024, FsyncPolicy.never());
+    }
+
+    private static class FakeEvent implements Event {
+
+        private final int mValue;
+
+        private FakeEvent(int value) {
+            mValue = value;
+        }
+    }
+
+    private static class FakeEventCodec implements EventCodec {
+
+        @Override
+        public void encode(Event event, ByteBuffer buffer) {
+            buffer.putInt(((FakeEvent) event).mValue);
+        }
+
+        @Override
+        public Event decode(ByteBuffer buffer) {
+            return new FakeEvent(buffer.getInt());
+        }
+    }
+}
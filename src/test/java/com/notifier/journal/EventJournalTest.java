@@ -0,0 +1,137 @@
+package com.notifier.journal;
+
+import com.notifier.Event;
+import com.notifier.codec.EventCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EventJournalTest {
+
+    private static final int RECORD_SIZE = Integer.BYTES * 2;
+
+    @TempDir
+    Path mDirectory;
+
+    @Test
+    public void replay_afterAppend_readsEventsByOrder() throws Exception {
+        try (EventJournal journal = newJournal(1024)) {
+            assertThat(journal.append(new FakeEvent(1)), equalTo(0L));
+            assertThat(journal.append(new FakeEvent(2)), equalTo(1L));
+
+            assertThat(replayValues(journal, 0), contains(1, 2));
+        }
+    }
+
+    @Test
+    public void append_eventNotFittingInSegment_rollsSegment() throws Exception {
+        try (EventJournal journal = newJournal(RECORD_SIZE * 2)) {
+            for (int i = 0; i < 5; i++) {
+                journal.append(new FakeEvent(i));
+            }
+
+            assertThat(countSegments(), equalTo(3L));
+            assertThat(replayValues(journal, 0), contains(0, 1, 2, 3, 4));
+        }
+    }
+
+    @Test
+    public void replay_fromSequence_skipsEarlierEvents() throws Exception {
+        try (EventJournal journal = newJournal(RECORD_SIZE * 2)) {
+            for (int i = 0; i < 5; i++) {
+                journal.append(new FakeEvent(i));
+            }
+
+            assertThat(replayValues(journal, 3), contains(3, 4));
+        }
+    }
+
+    @Test
+    public void new_withExistingJournal_continuesAppending() throws Exception {
+        try (EventJournal journal = newJournal(RECORD_SIZE * 2)) {
+            journal.append(new FakeEvent(1));
+            journal.append(new FakeEvent(2));
+            journal.append(new FakeEvent(3));
+        }
+
+        try (EventJournal journal = newJournal(RECORD_SIZE * 2)) {
+            assertThat(journal.getNextSequence(), equalTo(3L));
+            journal.append(new FakeEvent(4));
+
+            assertThat(replayValues(journal, 0), contains(1, 2, 3, 4));
+        }
+    }
+
+    @Test
+    public void append_eventLargerThanSegment_throwsIllegalArgumentException() throws Exception {
+        try (EventJournal journal = newJournal(RECORD_SIZE - 1)) {
+            assertThrows(IllegalArgumentException.class, ()-> journal.append(new FakeEvent(1)));
+        }
+    }
+
+    @Test
+    public void append_codecFailsMidWrite_doesNotCorruptJournal() throws Exception {
+        try (EventJournal journal = newJournal(1024)) {
+            assertThrows(IllegalArgumentException.class, ()-> journal.append(new FakeEvent(-1)));
+            journal.append(new FakeEvent(1));
+
+            assertThat(replayValues(journal, 0), contains(1));
+        }
+    }
+
+    private EventJournal newJournal(int segmentSize) throws Exception {
+        return new EventJournal(mDirectory, new FakeEventCodec(), segmentSize, FsyncPolicy.never());
+    }
+
+    private long countSegments() throws Exception {
+        try (Stream<Path> paths = Files.list(mDirectory)) {
+            return paths.count();
+        }
+    }
+
+    private static List<Integer> replayValues(EventJournal journal, long fromSequence) throws Exception {
+        List<Integer> values = new ArrayList<>();
+        journal.replay(fromSequence, (e)-> values.add(((FakeEvent) e).mValue));
+
+        return values;
+    }
+
+    private static class FakeEvent implements Event {
+
+        private final int mValue;
+
+        private FakeEvent(int value) {
+            mValue = value;
+        }
+    }
+
+    private static class FakeEventCodec implements EventCodec {
+
+        @Override
+        public void encode(Event event, ByteBuffer buffer) {
+            int value = ((FakeEvent) event).mValue;
+            if (value < 0) {
+                buffer.putLong(Long.MAX_VALUE);
+                throw new IllegalArgumentException("negative value");
+            }
+
+            buffer.putInt(value);
+        }
+
+        @Override
+        public Event decode(ByteBuffer buffer) {
+            return new FakeEvent(buffer.getInt());
+        }
+    }
+}
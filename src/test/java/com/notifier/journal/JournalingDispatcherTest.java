@@ -0,0 +1,49 @@
+package com.notifier.journal;
+
+import com.notifier.Event;
+import com.notifier.Listener;
+import com.notifier.dispatchers.EventDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class JournalingDispatcherTest {
+
+    @Test
+    public void dispatch_eventMatchingFilter_appendsAndDelegates() throws Exception {
+        EventJournal journal = mock(EventJournal.class);
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+        Collection<Listener> listeners = Collections.singleton(mock(Listener.class));
+        Predicate<Listener> listenerFilter = (l)->true;
+        Event event = mock(Event.class);
+        BiConsumer<Listener, Event> caller = mock(BiConsumer.class);
+
+        JournalingDispatcher dispatcher = new JournalingDispatcher(journal, eventDispatcher);
+        dispatcher.dispatch(listeners, listenerFilter, event, caller);
+
+        verify(journal).append(event);
+        verify(eventDispatcher).dispatch(listeners, listenerFilter, event, caller);
+    }
+
+    @Test
+    public void dispatch_eventNotMatchingFilter_onlyDelegates() throws Exception {
+        EventJournal journal = mock(EventJournal.class);
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+        Event event = mock(Event.class);
+
+        JournalingDispatcher dispatcher = new JournalingDispatcher(journal, eventDispatcher, (e)->false);
+        dispatcher.dispatch(Collections.emptyList(), (l)->true, event, mock(BiConsumer.class));
+
+        verify(journal, never()).append(event);
+        verify(eventDispatcher).dispatch(any(), any(), eq(event), any());
+    }
+}
@@ -0,0 +1,131 @@
+package com.notifier.metrics;
+
+import com.notifier.DispatchingController;
+import com.notifier.Event;
+import com.notifier.EventController;
+import com.notifier.Listener;
+import com.notifier.dispatchers.QueuedDispatcher;
+import com.notifier.dispatchers.SyncrounousDispatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InstrumentingDispatcherTest {
+
+    @Test
+    public void fire_withListeners_recordsFiresAndCallsByEventAndListenerType() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        EventController controller = new DispatchingController(
+                new InstrumentingDispatcher(new SyncrounousDispatcher(), registry));
+        controller.registerListener(new SlowListener());
+        controller.registerListener(new SlowListener(), (e)-> true);
+
+        fire(controller, new FakeEvent());
+        fire(controller, new FakeEvent());
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertThat(snapshot.getFireCount(FakeEvent.class), equalTo(2L));
+        assertThat(snapshot.getEventTypeStats().get(FakeEvent.class).getCallCount(), equalTo(4L));
+
+        MetricsSnapshot.CallStats listenerStats = snapshot.getListenerTypeStats().get(SlowListener.class);
+        assertThat(listenerStats, notNullValue());
+        assertThat(listenerStats.getCallCount(), equalTo(4L));
+        assertThat(listenerStats.getLatency().getValueAtPercentile(50), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    @Test
+    public void fire_listenerThrows_recordsFailure() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        EventController controller = new DispatchingController(
+                new InstrumentingDispatcher(new SyncrounousDispatcher(), registry));
+        controller.registerListener((FakeListener) (e)-> {
+            throw new IllegalStateException();
+        });
+
+        assertThrows(IllegalStateException.class, ()-> fire(controller, new FakeEvent()));
+
+        assertThat(registry.snapshot().getEventTypeStats().get(FakeEvent.class).getFailureCount(), equalTo(1L));
+    }
+
+    @Test
+    public void fire_whileDisabled_recordsNothing() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        InstrumentingDispatcher dispatcher = new InstrumentingDispatcher(new SyncrounousDispatcher(), registry);
+        EventController controller = new DispatchingController(dispatcher);
+        controller.registerListener(new SlowListener());
+
+        dispatcher.setEnabled(false);
+        fire(controller, new FakeEvent());
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertThat(snapshot.getFireCounts(), not(hasKey(FakeEvent.class)));
+        assertThat(snapshot.getEventTypeStats(), not(hasKey(FakeEvent.class)));
+    }
+
+    @Test
+    public void snapshot_withQueueGauge_readsPendingCount() throws Exception {
+        Queue<Runnable> queue = new LinkedList<>();
+        QueuedDispatcher queuedDispatcher = new QueuedDispatcher(queue);
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.registerGauge("queue.depth", queuedDispatcher::getPendingCount);
+        EventController controller = new DispatchingController(new InstrumentingDispatcher(queuedDispatcher, registry));
+        controller.registerListener(new SlowListener());
+
+        fire(controller, new FakeEvent());
+        fire(controller, new FakeEvent());
+
+        assertThat(registry.snapshot().getGauges().get("queue.depth"), equalTo(2L));
+    }
+
+    @Test
+    public void report_everyPeriod_passesSnapshots() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        SynchronousQueue<MetricsSnapshot> snapshots = new SynchronousQueue<>();
+        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+        try {
+            ScheduledFuture<?> future = registry.report(executorService, 10, TimeUnit.MILLISECONDS, snapshots::offer);
+
+            assertThat(snapshots.poll(1, TimeUnit.MINUTES), notNullValue());
+            future.cancel(false);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static void fire(EventController controller, FakeEvent event) {
+        controller.fire(event, FakeEvent.class, FakeListener.class, FakeListener::onEvent);
+    }
+
+    public static class FakeEvent implements Event {
+    }
+
+    public interface FakeListener extends Listener {
+        void onEvent(FakeEvent event);
+    }
+
+    public static class SlowListener implements FakeListener {
+
+        @Override
+        public void onEvent(FakeEvent event) {
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.notifier.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketOf_forAnyValue_isWithinBucketRange() throws Exception {
+        long[] values = {0, 1, 15, 16, 17, 31, 32, 1000, 123456789, Long.MAX_VALUE};
+
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucketOf(value);
+
+            assertThat(bucket, lessThanOrEqualTo(LatencyHistogram.BUCKETS - 1));
+            assertThat(LatencyHistogram.highestValueOf(bucket), greaterThanOrEqualTo(value));
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.highestValueOf(bucket - 1), lessThanOrEqualTo(value - 1));
+            }
+        }
+    }
+
+    @Test
+    public void snapshot_ofUniformValues_givesPercentilesWithinPrecision() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount(), equalTo(10000L));
+        assertThat(snapshot.getMax(), equalTo(10000L * 1000));
+        assertThat(snapshot.getMean(), closeTo(5000.5 * 1000, 1));
+        assertThat((double) snapshot.getValueAtPercentile(50), closeTo(5000 * 1000, 5000 * 1000 * 0.07));
+        assertThat((double) snapshot.getValueAtPercentile(99), closeTo(9900 * 1000, 9900 * 1000 * 0.07));
+        assertThat(snapshot.getValueAtPercentile(100), equalTo(10000L * 1000));
+    }
+
+    @Test
+    public void since_earlierSnapshot_givesValuesRecordedBetween() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        HistogramSnapshot earlier = histogram.snapshot();
+        histogram.record(1000);
+        histogram.record(1000);
+
+        HistogramSnapshot period = histogram.snapshot().since(earlier);
+
+        assertThat(period.getCount(), equalTo(2L));
+        assertThat(period.getSum(), equalTo(2000L));
+        assertThat((double) period.getValueAtPercentile(0), closeTo(1000, 1000 * 0.07));
+    }
+}
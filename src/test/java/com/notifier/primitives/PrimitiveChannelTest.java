@@ -0,0 +1,149 @@
+package com.notifier.primitives;
+
+import com.notifier.RegisteredListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class PrimitiveChannelTest {
+
+    @Test
+    public void fire_synchronousChannel_callsListenersWithPayload() throws Exception {
+        IntLongListener first = mock(IntLongListener.class);
+        IntLongListener second = mock(IntLongListener.class);
+
+        IntLongChannel channel = new IntLongChannel();
+        channel.registerListener(first);
+        channel.registerListener(second);
+        channel.fire(3, 42L);
+
+        verify(first).onEvent(3, 42L);
+        verify(second).onEvent(3, 42L);
+    }
+
+    @Test
+    public void fire_doubleChannel_keepsExactValue() throws Exception {
+        DoubleListener listener = mock(DoubleListener.class);
+
+        DoubleChannel channel = new DoubleChannel();
+        channel.registerListener(listener);
+        channel.fire(-0.1);
+
+        verify(listener).onEvent(-0.1);
+    }
+
+    @Test
+    public void fire_afterUnregister_doesNotCallListener() throws Exception {
+        LongListener listener = mock(LongListener.class);
+
+        LongChannel channel = new LongChannel();
+        RegisteredListener registeredListener = channel.registerListener(listener);
+        registeredListener.unregister();
+        channel.fire(1L);
+
+        verify(listener, never()).onEvent(anyLong());
+    }
+
+    @Test
+    public void fire_queuedChannel_callsListenersInOrderOnDispatchingThread() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            List<Long> values = Collections.synchronizedList(new ArrayList<>());
+            List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch latch = new CountDownLatch(1000);
+
+            LongChannel channel = new LongChannel(executorService, 16);
+            channel.registerListener((value)-> {
+                values.add(value);
+                threads.add(Thread.currentThread());
+                latch.countDown();
+            });
+            for (long i = 0; i < 1000; i++) {
+                channel.fire(i);
+            }
+
+            assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+            for (int i = 0; i < 1000; i++) {
+                assertThat(values.get(i), equalTo((long) i));
+            }
+            assertThat(threads.contains(Thread.currentThread()), is(false));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void fire_queuedChannelListenerThrows_keepsCallingOtherListeners() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            List<Long> values = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch latch = new CountDownLatch(2);
+
+            LongChannel channel = new LongChannel(executorService, 16);
+            channel.registerListener((value)-> {
+                throw new IllegalStateException();
+            });
+            channel.registerListener((value)-> {
+                values.add(value);
+                latch.countDown();
+            });
+            channel.fire(1L);
+            channel.fire(2L);
+
+            assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(values, contains(1L, 2L));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void fire_queuedChannelFull_waitsForDispatchingThread() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch fired = new CountDownLatch(1);
+
+            LongChannel channel = new LongChannel(executorService, 2);
+            channel.registerListener((value)-> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            Thread producer = new Thread(()-> {
+                for (long i = 0; i < 5; i++) {
+                    channel.fire(i);
+                }
+                fired.countDown();
+            });
+            producer.start();
+
+            // at most a ring of payloads is taken by the blocked dispatching thread, and a ring is pending
+            assertThat(fired.await(200, TimeUnit.MILLISECONDS), is(false));
+            assertThat(channel.getPendingCount(), equalTo(2));
+
+            release.countDown();
+            assertThat(fired.await(5, TimeUnit.SECONDS), is(true));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
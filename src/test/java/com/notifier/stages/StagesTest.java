@@ -0,0 +1,238 @@
+package com.notifier.stages;
+
+import com.notifier.DispatchingController;
+import com.notifier.Event;
+import com.notifier.EventController;
+import com.notifier.Listener;
+import com.notifier.RegisteredListener;
+import com.notifier.SpecializingController;
+import com.notifier.TimingWheel;
+import com.notifier.dispatchers.SyncrounousDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class StagesTest {
+
+    private static final Function<List<Event>, Event> SUM = (events)->
+            new FakeEvent(events.stream().mapToInt((e)-> ((FakeEvent) e).mValue).sum());
+
+    private TimingWheel mTimingWheel;
+    private EventController mController;
+    private List<Integer> mReceived;
+
+    @BeforeEach
+    public void setUp() {
+        mTimingWheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+        mController = new DispatchingController(new SyncrounousDispatcher(), mTimingWheel);
+        mReceived = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mTimingWheel.close();
+    }
+
+    @Test
+    public void throttle_burstOfEvents_passesFirstOnly() throws Exception {
+        mController.registerListener((FakeListener) (e)-> mReceived.add(e.mValue), Stages.throttle(1, TimeUnit.MINUTES));
+
+        fireAll(mController, 1, 2, 3);
+
+        assertThat(mReceived, contains(1));
+    }
+
+    @Test
+    public void distinctUntilChanged_repeatedKeys_dropsRepeats() throws Exception {
+        mController.registerListener((FakeListener) (e)-> mReceived.add(e.mValue),
+                Stages.distinctUntilChanged((e)-> ((FakeEvent) e).mValue));
+
+        fireAll(mController, 1, 1, 2, 2, 1);
+
+        assertThat(mReceived, contains(1, 2, 1));
+    }
+
+    @Test
+    public void tumblingWindow_byCount_passesReductionOfEachWindow() throws Exception {
+        mController.registerListener((FakeListener) (e)-> mReceived.add(e.mValue), Stages.tumblingWindow(2, SUM));
+
+        fireAll(mController, 1, 2, 3, 4, 5);
+
+        assertThat(mReceived, contains(3, 7));
+    }
+
+    @Test
+    public void slidingWindow_byCount_passesReductionOfLastEvents() throws Exception {
+        mController.registerListener((FakeListener) (e)-> mReceived.add(e.mValue), Stages.slidingWindow(2, SUM));
+
+        fireAll(mController, 1, 2, 3, 4);
+
+        assertThat(mReceived, contains(3, 5, 7));
+    }
+
+    @Test
+    public void slidingWindow_byTime_passesReductionOfRecentEvents() throws Exception {
+        mController.registerListener((FakeListener) (e)-> mReceived.add(e.mValue),
+                Stages.slidingWindow(1, TimeUnit.MINUTES, SUM));
+
+        fireAll(mController, 1, 2, 3);
+
+        assertThat(mReceived, contains(1, 3, 6));
+    }
+
+    @Test
+    public void then_distinctAndTumblingWindow_appliesBothInOrder() throws Exception {
+        mController.registerListener((FakeListener) (e)-> mReceived.add(e.mValue),
+                Stages.distinctUntilChanged().then(Stages.tumblingWindow(2, SUM)));
+
+        FakeEvent event = new FakeEvent(1);
+        fire(mController, event);
+        fire(mController, event);
+        fireAll(mController, 2);
+
+        assertThat(mReceived, contains(3));
+    }
+
+    @Test
+    public void debounce_burstOfEvents_passesLastAfterQuietPeriod() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        mController.registerListener((FakeListener) (e)-> {
+            mReceived.add(e.mValue);
+            latch.countDown();
+        }, Stages.debounce(50, TimeUnit.MILLISECONDS));
+
+        fireAll(mController, 1, 2, 3);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        Thread.sleep(100);
+        assertThat(mReceived, contains(3));
+    }
+
+    @Test
+    public void sample_burstOfEvents_passesLatestOncePerPeriod() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        mController.registerListener((FakeListener) (e)-> {
+            mReceived.add(e.mValue);
+            latch.countDown();
+        }, Stages.sample(50, TimeUnit.MILLISECONDS));
+
+        fireAll(mController, 1, 2, 3);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        Thread.sleep(100);
+        assertThat(mReceived, contains(3));
+    }
+
+    @Test
+    public void tumblingWindow_byTime_passesReductionOnceWindowEnds() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        mController.registerListener((FakeListener) (e)-> {
+            mReceived.add(e.mValue);
+            latch.countDown();
+        }, Stages.tumblingWindow(50, TimeUnit.MILLISECONDS, SUM));
+
+        fireAll(mController, 1, 2, 3);
+        assertThat(mReceived, empty());
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(mReceived, contains(6));
+    }
+
+    @Test
+    public void unregister_pendingDebounce_discardsCall() throws Exception {
+        RegisteredListener registeredListener = mController.registerListener(
+                (FakeListener) (e)-> mReceived.add(e.mValue), Stages.debounce(20, TimeUnit.MILLISECONDS));
+
+        fireAll(mController, 1);
+        registeredListener.unregister();
+
+        Thread.sleep(100);
+        assertThat(mReceived, empty());
+    }
+
+    @Test
+    public void registerListener_specializingController_appliesStage() throws Exception {
+        EventController controller = new SpecializingController();
+        controller.registerListener((FakeListener) (e)-> mReceived.add(e.mValue), Stages.tumblingWindow(3, SUM));
+
+        fireAll(controller, 1, 2, 3);
+
+        assertThat(mReceived, contains(6));
+    }
+
+    @Test
+    public void registerListenerForEvent_otherEventTypes_notSeenByStage() throws Exception {
+        mController.registerListenerForEvent((FakeListener) (e)-> mReceived.add(e.mValue), MarkedFakeEvent.class,
+                Stages.throttle(1, TimeUnit.MINUTES));
+
+        fire(mController, new FakeEvent(1));
+        fire(mController, new MarkedFakeEvent(2));
+        fire(mController, new MarkedFakeEvent(3));
+
+        assertThat(mReceived, contains(2));
+    }
+
+    @Test
+    public void registerListenerForEvent_withPredicate_filtersBeforeStage() throws Exception {
+        mController.registerListenerForEvent((FakeListener) (e)-> mReceived.add(e.mValue), FakeEvent.class,
+                (e)-> e.mValue > 0, Stages.tumblingWindow(2, SUM));
+
+        fireAll(mController, 1, -1, 2, -2, 3, 4);
+
+        assertThat(mReceived, contains(3, 7));
+    }
+
+    @Test
+    public void registerListenerForEvent_specializingController_filtersBeforeStage() throws Exception {
+        EventController controller = new SpecializingController();
+        controller.registerListenerForEvent((FakeListener) (e)-> mReceived.add(e.mValue), FakeEvent.class,
+                (e)-> e.mValue > 0, Stages.tumblingWindow(2, SUM));
+
+        fireAll(controller, -1, 1, -2, 2);
+
+        assertThat(mReceived, contains(3));
+    }
+
+    private static void fireAll(EventController controller, int... values) {
+        for (int value : values) {
+            fire(controller, new FakeEvent(value));
+        }
+    }
+
+    private static void fire(EventController controller, FakeEvent event) {
+        controller.fire(event, FakeEvent.class, FakeListener.class, FakeListener::onEvent);
+    }
+
+    public interface FakeListener extends Listener {
+
+        void onEvent(FakeEvent event);
+    }
+
+    public static class FakeEvent implements Event {
+
+        private final int mValue;
+
+        FakeEvent(int value) {
+            mValue = value;
+        }
+    }
+
+    public static class MarkedFakeEvent extends FakeEvent {
+
+        MarkedFakeEvent(int value) {
+            super(value);
+        }
+    }
+}